@@ -0,0 +1,92 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the scalar and the vectorised {@link SimpleUnpacker} on a whole ICON-EU field (720729
+ * values) and decoding the test file with either of them. Run with {@code gradle jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimpleUnpackerBenchmark {
+
+  private static final int VALUES = 1097 * 657;
+
+  @Param({"scalar", "vector"})
+  public String unpacker;
+
+  /** bits per value, 16 is used by ICON-EU */
+  @Param({"16", "12"})
+  public int bits;
+
+  private SimpleUnpacker simpleUnpacker;
+  private JavaGribDecoder decoder;
+  private ByteBuffer packed;
+  private double[] values;
+  private File gribFile;
+
+  @Setup
+  public void setUp() {
+    simpleUnpacker =
+        "scalar".equals(unpacker) ? new ScalarSimpleUnpacker() : SimpleUnpacker.create();
+    if ("vector".equals(unpacker) && !(simpleUnpacker instanceof VectorSimpleUnpacker))
+      throw new IllegalStateException("The Vector API is not available");
+    decoder = new JavaGribDecoder(simpleUnpacker);
+    byte[] bytes = new byte[(int) ((long) VALUES * bits / 8) + 8];
+    new Random(42).nextBytes(bytes);
+    packed = ByteBuffer.wrap(bytes);
+    values = new double[VALUES];
+    gribFile =
+        new File(
+            System.getProperty("user.dir")
+                + File.separator
+                + "src"
+                + File.separator
+                + "test"
+                + File.separator
+                + "resources"
+                + File.separator
+                + "testFiles"
+                + File.separator
+                + "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2");
+  }
+
+  @Benchmark
+  public double[] unpackField() {
+    simpleUnpacker.unpack(
+        packed,
+        0,
+        bits,
+        VALUES,
+        JavaGribDecoder.power(-7, 2),
+        -271.3f,
+        JavaGribDecoder.power(-2, 10),
+        values,
+        0);
+    return values;
+  }
+
+  @Benchmark
+  public GribField decodeTestFile() throws IOException {
+    return decoder.decode(gribFile).get(0);
+  }
+}
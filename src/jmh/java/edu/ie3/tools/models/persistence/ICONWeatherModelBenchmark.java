@@ -0,0 +1,68 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models.persistence;
+
+import edu.ie3.tools.utils.enums.Parameter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Interpolates and averages entities with all parameters, about a quarter of the values is null.
+ * Compare the results with the ones of a previous revision to measure changes of the entity
+ * storage. Run with {@code gradle jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ICONWeatherModelBenchmark {
+
+  private static final int ENTITIES = 1024;
+
+  private final ICONWeatherModel[] entities = new ICONWeatherModel[ENTITIES];
+  private final ICONWeatherModel[] previousEntities = new ICONWeatherModel[ENTITIES];
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < ENTITIES; i++) {
+      entities[i] = randomEntity(random);
+      previousEntities[i] = randomEntity(random);
+    }
+  }
+
+  private static ICONWeatherModel randomEntity(Random random) {
+    ICONWeatherModel entity = new ICONWeatherModel();
+    for (Parameter parameter : Parameter.values())
+      if (random.nextInt(4) > 0) entity.setParameter(parameter, random.nextGaussian() * 10);
+    return entity;
+  }
+
+  /** time per entity, the values of the entities drift towards each other between invocations */
+  @Benchmark
+  @OperationsPerInvocation(ENTITIES)
+  public ICONWeatherModel[] interpolateValues() {
+    for (int i = 0; i < ENTITIES; i++) previousEntities[i].interpolateValues(entities[i], 0.3);
+    return previousEntities;
+  }
+
+  /** time per entity */
+  @Benchmark
+  @OperationsPerInvocation(ENTITIES)
+  public void getInterpolatedEntity(Blackhole blackhole) {
+    for (int i = 0; i < ENTITIES; i++)
+      blackhole.consume(ICONWeatherModel.getInterpolatedEntity(entities[i], previousEntities[i]));
+  }
+}
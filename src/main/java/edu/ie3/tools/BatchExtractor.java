@@ -0,0 +1,141 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools;
+
+import edu.ie3.tools.grib.EccodesProcessDecoder;
+import edu.ie3.tools.grib.GribField;
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.ExtractorResult;
+import edu.ie3.tools.models.FramePool;
+import edu.ie3.tools.models.persistence.FileModel;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Extracts several files (e.g. all parameters of a timestep) with a single grib_get_data call
+ * instead of spawning one process per file, see {@link EccodesProcessDecoder#decode(List,
+ * edu.ie3.tools.grib.BoundingBox)}. If the batched call fails, the files are extracted one by one
+ * by {@link Extractor Extractors}. Batching only applies to the eccodes decoder, with the
+ * in-process decoders the files are always extracted one by one.
+ */
+public class BatchExtractor implements Callable<List<ExtractorResult>> {
+  private static final Logger logger = LogManager.getLogger(BatchExtractor.class);
+
+  /** estimated process startup time saved by batching since the last {@link #drainSavings()} */
+  private static final LongAdder savedStartupNanos = new LongAdder();
+
+  private static final LongAdder savedProcesses = new LongAdder();
+
+  private final String formattedTimestep;
+  private final String eccodesLocation;
+  private final CoordinateIndex coordinates;
+  private final List<Extractor> extractors;
+
+  public BatchExtractor(
+      String path, List<FileModel> files, CoordinateIndex coordinates, String ecCodesLocation) {
+    this(path, files, coordinates, ecCodesLocation, null);
+  }
+
+  /** @param pool pool to take the value buffers of the results from or null */
+  public BatchExtractor(
+      String path,
+      List<FileModel> files,
+      CoordinateIndex coordinates,
+      String ecCodesLocation,
+      FramePool pool) {
+    logger.setLevel(Main.debug ? Level.ALL : Level.INFO);
+    this.eccodesLocation = ecCodesLocation;
+    this.coordinates = coordinates;
+    this.extractors = new ArrayList<>(files.size());
+    for (FileModel file : files)
+      extractors.add(new Extractor(path, file, coordinates, ecCodesLocation, pool));
+    formattedTimestep = files.isEmpty() ? "" : Converter.getFormattedTimestep(files.get(0));
+  }
+
+  /**
+   * @return a summary of the process startup time saved by batched extraction since the last call
+   *     or null, if nothing has been batched
+   */
+  public static String drainSavings() {
+    long processes = savedProcesses.sumThenReset();
+    long nanos = savedStartupNanos.sumThenReset();
+    if (processes == 0) return null;
+    return "Batched extraction saved "
+        + processes
+        + " grib_get_data processes (~"
+        + TimeUnit.NANOSECONDS.toMillis(nanos)
+        + "ms of process startup, ~"
+        + TimeUnit.NANOSECONDS.toMillis(nanos / processes)
+        + "ms per file)";
+  }
+
+  @Override
+  public List<ExtractorResult> call() throws IOException {
+    if (coordinates == null || coordinates.isEmpty())
+      throw new IOException("Provided coordinates are not allowed to be null or empty!");
+    if (extractors.size() == 1 || !Extractor.usesProcessDecoder()) return extractOneByOne();
+
+    List<File> gribFiles = new ArrayList<>(extractors.size());
+    try {
+      for (Extractor extractor : extractors) gribFiles.add(extractor.findGribFile());
+    } catch (IOException e) {
+      logger.warn(formattedTimestep + "Could not prepare batched extraction (" + e + ")");
+      return extractOneByOne();
+    }
+
+    try {
+      return extractBatch(gribFiles);
+    } catch (IOException e) {
+      logger.warn(
+          formattedTimestep
+              + "Batched extraction failed, extracting files one by one ("
+              + e.getMessage()
+              + ")");
+      return extractOneByOne();
+    }
+  }
+
+  private List<ExtractorResult> extractOneByOne() throws IOException {
+    List<ExtractorResult> results = new ArrayList<>(extractors.size());
+    for (Extractor extractor : extractors) results.add(extractor.call());
+    return results;
+  }
+
+  private List<ExtractorResult> extractBatch(List<File> gribFiles) throws IOException {
+    EccodesProcessDecoder decoder = new EccodesProcessDecoder(eccodesLocation, Main.missingValue);
+    long start = System.nanoTime();
+    List<List<GribField>> fields = decoder.decode(gribFiles, coordinates.getBoundingBox());
+    long elapsed = System.nanoTime() - start;
+    long startup = Math.max(decoder.getStartupNanos(), 0);
+
+    // each file extracted by this call would have needed its own process otherwise
+    savedProcesses.add(extractors.size() - 1L);
+    savedStartupNanos.add(startup * (extractors.size() - 1));
+    logger.debug(
+        formattedTimestep
+            + "Extracted "
+            + extractors.size()
+            + " files with one grib_get_data call in "
+            + TimeUnit.NANOSECONDS.toMillis(elapsed)
+            + "ms (process startup "
+            + TimeUnit.NANOSECONDS.toMillis(startup)
+            + "ms)");
+
+    List<ExtractorResult> results = new ArrayList<>(extractors.size());
+    for (int i = 0; i < extractors.size(); i++)
+      results.add(extractors.get(i).result(fields.get(i)));
+    return results;
+  }
+}
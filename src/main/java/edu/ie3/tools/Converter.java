@@ -8,20 +8,27 @@ package edu.ie3.tools;
 
 import static edu.ie3.tools.utils.ConfigurationParameters.*;
 
+import edu.ie3.tools.grib.GribDecoder;
+import edu.ie3.tools.models.CoordinateIndex;
 import edu.ie3.tools.models.ExtractorResult;
+import edu.ie3.tools.models.FramePool;
+import edu.ie3.tools.models.OffHeapArena;
+import edu.ie3.tools.models.WeatherFrame;
 import edu.ie3.tools.models.persistence.CoordinateModel;
 import edu.ie3.tools.models.persistence.FileModel;
-import edu.ie3.tools.models.persistence.ICONWeatherModel;
 import edu.ie3.tools.utils.DatabaseController;
+import edu.ie3.tools.utils.DecodedFieldCache;
 import edu.ie3.tools.utils.FileEraser;
 import edu.ie3.tools.utils.LockMechanism;
+import edu.ie3.tools.utils.MemoryGovernor;
+import edu.ie3.tools.utils.MemoryStatistics;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.io.File;
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import javax.management.JMException;
 import org.apache.log4j.Level;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -39,9 +46,16 @@ public class Converter implements Runnable {
   public static final Logger fileStatusLogger = LogManager.getLogger("FileStatus");
 
   private FileEraser fileEraser;
-  private Collection<CoordinateModel> coordinates;
+  private CoordinateIndex coordinates;
   private DatabaseController dbController;
   private EnumMap<Parameter, FileModel> parameterLevelToFile;
+  private DecodedFieldCache fieldCache;
+  private OffHeapArena arena;
+  private FramePool framePool;
+  private MemoryGovernor memoryGovernor;
+  private MemoryStatistics runStart;
+  private final Map<Parameter, ExtractorResult> cachedResults = new ConcurrentHashMap<>();
+  private final Map<Parameter, String> cacheKeys = new ConcurrentHashMap<>();
   private final int noOfProcessors = Runtime.getRuntime().availableProcessors();
   private final ExecutorService decompressionExecutor =
       Executors.newFixedThreadPool((int) Math.ceil(noOfProcessors / 3d));
@@ -49,6 +63,23 @@ public class Converter implements Runnable {
       Executors.newFixedThreadPool((int) Math.ceil(noOfProcessors / 2d));
   private final ExecutorService fileEraserExecutor =
       Executors.newFixedThreadPool((int) Math.ceil(noOfProcessors / 3d));
+  // a single thread, timesteps are written in the order they have been extracted
+  private final ExecutorService persistenceExecutor = Executors.newSingleThreadExecutor();
+  private final Deque<PendingTimestep> pendingTimesteps = new ArrayDeque<>();
+
+  /** A timestep, whose weather is being persisted by the {@link #persistenceExecutor} */
+  private static class PendingTimestep {
+    private final String formattedTimeStep;
+    private final EnumMap<Parameter, FileModel> files;
+    private final Future<Boolean> written;
+
+    private PendingTimestep(
+        String formattedTimeStep, EnumMap<Parameter, FileModel> files, Future<Boolean> written) {
+      this.formattedTimeStep = formattedTimeStep;
+      this.files = files;
+      this.written = written;
+    }
+  }
 
   /**
    * @return timestamp for logging output (e.g "MR 09.10.2018 18:00 - TS 01 | ")
@@ -81,6 +112,7 @@ public class Converter implements Runnable {
       fileStatusLogger.setLevel(Main.filestatus ? Level.ALL : Level.OFF);
       logger.setLevel(Main.debug ? Level.ALL : Level.INFO);
       printInit();
+      runStart = MemoryStatistics.snapshot();
       validateConnectionProperties();
       convert();
     } else logger.info("Converter is already running.");
@@ -114,6 +146,40 @@ public class Converter implements Runnable {
     logger.info("Converter started");
     logger.trace("Program arguments:");
     Main.printProgramArguments().forEach(s -> logger.trace("   " + s));
+    try {
+      logger.info("Decoding GRIB2 files with " + Extractor.createDecoder(Main.eccodes).getName());
+    } catch (IllegalArgumentException e) {
+      logger.error(e.getMessage() + ", falling back to " + GribDecoder.ECCODES);
+      Main.gribDecoder = GribDecoder.ECCODES;
+    }
+    if (Main.streamArchives && !Extractor.usesStreaming())
+      logger.warn(
+          "Streaming of archives requires an in-process decoder (-decoder java|ffm), ignoring it");
+    if (!Main.fieldCache.isEmpty()) {
+      try {
+        fieldCache = new DecodedFieldCache(Main.fieldCache, Main.fieldCacheSize * 1024 * 1024);
+        logger.info("Caching decoded fields in " + Main.fieldCache);
+      } catch (IOException e) {
+        logger.error("Could not create the field cache " + Main.fieldCache + ", disabling it", e);
+      }
+    }
+    if (!DatabaseController.UPSERT_METHODS.contains(Main.upsertMethod)) {
+      logger.error(
+          "Unknown upsert method \""
+              + Main.upsertMethod
+              + "\", falling back to "
+              + DatabaseController.UPSERT_INSERT);
+      Main.upsertMethod = DatabaseController.UPSERT_INSERT;
+    }
+    if (Main.offHeapFrames) {
+      try {
+        arena = new OffHeapArena();
+        logger.info("Keeping the weather of timesteps off-heap");
+      } catch (LinkageError e) {
+        logger.warn(
+            "Off-heap frames require --add-modules jdk.incubator.foreign, keeping them on the heap");
+      }
+    }
   }
 
   private void convert() {
@@ -135,7 +201,20 @@ public class Converter implements Runnable {
                   FileModel.OldestModelrunWithUnprocessedFiles, Collections.emptyList());
 
       if (currentModelrun != null) {
-        coordinates = getCoordinates();
+        coordinates = new CoordinateIndex(getCoordinates());
+        // a timestep is extracted while the previous ones are being persisted
+        framePool =
+            new FramePool(
+                coordinates,
+                Main.singlePrecision,
+                arena,
+                Main.noFramePool ? 0 : 1 + Math.max(0, Main.writeBehindTimesteps));
+        memoryGovernor = createMemoryGovernor();
+        try {
+          memoryGovernor.registerMBean();
+        } catch (JMException e) {
+          logger.warn("Could not register the memory governor as MBean", e);
+        }
         while (currentModelrun.isBefore(newestPossibleModelrun)
             || currentModelrun.isEqual(newestPossibleModelrun)) {
           logger.info(
@@ -146,13 +225,16 @@ public class Converter implements Runnable {
           long tic;
           long toc;
           tic = System.currentTimeMillis();
+          MemoryStatistics modelrunStart = MemoryStatistics.snapshot();
           for (int timestep = 0; timestep < edu.ie3.tools.Main.timesteps; timestep++) {
             handleTimestep(currentModelrun, timestep);
             dbController.flush();
           }
+          completePersistence(0);
 
           toc = System.currentTimeMillis();
           logger.debug(formattedModelrun + "This modelrun took " + (toc - tic) / 60000 + "m \n");
+          logger.debug(formattedModelrun + MemoryStatistics.snapshot().since(modelrunStart));
           currentModelrun = currentModelrun.plusHours(3); // increment modelrun
         }
       }
@@ -167,6 +249,8 @@ public class Converter implements Runnable {
   private void handleTimestep(ZonedDateTime currentModelrun, int timestep) {
     String formattedTimestep = getFormattedTimestep(currentModelrun, timestep);
     parameterLevelToFile = new EnumMap<>(Parameter.class);
+    cachedResults.clear();
+    cacheKeys.clear();
 
     logger.info(formattedTimestep + "Opening of archive files started");
     long tic, toc;
@@ -189,6 +273,9 @@ public class Converter implements Runnable {
             + File.separator;
     List<Decompressor> tasks = new ArrayList<>();
     List<FileModel> files = new ArrayList<>();
+    List<FileModel> unopenedFiles = new ArrayList<>();
+    List<FileModel> cacheCandidates = new ArrayList<>();
+    List<FileModel> streamedFiles = new ArrayList<>();
     for (Parameter param : Parameter.values()) {
       FileModel file =
           dbController.find(
@@ -196,8 +283,9 @@ public class Converter implements Runnable {
       if (file != null) {
         files.add(file);
         if (file.isSufficient_size() && (file.isValid_file() == null || file.isValid_file())) {
-          if (!file.isPersisted() && !file.isArchivefile_deleted() && !file.isDecompressed()) {
-            tasks.add(new Decompressor(file, folderpath));
+          if (!file.isPersisted() && !file.isArchivefile_deleted()) {
+            cacheCandidates.add(file);
+            if (!file.isDecompressed()) unopenedFiles.add(file);
           }
         } else if (file.getDownload_fails() > 3
             || file.getModelrun().isBefore(ZonedDateTime.now().minusDays(1))) {
@@ -217,6 +305,15 @@ public class Converter implements Runnable {
       }
     }
 
+    lookupCachedFields(cacheCandidates, folderpath);
+    for (FileModel file : unopenedFiles) {
+      // cached fields neither have to be decompressed nor decoded
+      if (cachedResults.containsKey(file.getParameter())) continue;
+      // when streaming, the Extractor decompresses the archive into memory
+      if (Extractor.usesStreaming()) streamedFiles.add(file);
+      else tasks.add(new Decompressor(file, folderpath));
+    }
+
     try {
       decompressionExecutor.invokeAll(tasks);
     } catch (InterruptedException e) {
@@ -224,7 +321,10 @@ public class Converter implements Runnable {
     }
     files.forEach(
         file -> {
-          if (file.isDecompressed() && (file.isValid_file() == null || file.isValid_file()))
+          if ((file.isDecompressed()
+                  || streamedFiles.contains(file)
+                  || cachedResults.containsKey(file.getParameter()))
+              && (file.isValid_file() == null || file.isValid_file()))
             parameterLevelToFile.put(file.getParameter(), file);
           else {
             file.setValid_file(false);
@@ -234,11 +334,44 @@ public class Converter implements Runnable {
         });
   }
 
+  /**
+   * Looks the given files up in the {@link DecodedFieldCache}, if it is enabled. Hits are stored in
+   * {@link #cachedResults}, the keys of all files in {@link #cacheKeys} to store their values after
+   * the extraction.
+   */
+  private void lookupCachedFields(List<FileModel> files, String folderpath) {
+    if (fieldCache == null || files.isEmpty()) return;
+    List<Callable<Void>> lookups = new ArrayList<>(files.size());
+    for (FileModel file : files) {
+      lookups.add(
+          () -> {
+            String key;
+            try {
+              key = fieldCache.key(file, folderpath);
+            } catch (IOException e) {
+              logger.warn("Could not hash archive of " + file.getName() + " (" + e + ")");
+              return null;
+            }
+            if (key == null) return null;
+            cacheKeys.put(file.getParameter(), key);
+            ExtractorResult result = fieldCache.load(key, file, coordinates);
+            if (result != null) cachedResults.put(file.getParameter(), result);
+            return null;
+          });
+    }
+    try {
+      decompressionExecutor.invokeAll(lookups);
+    } catch (InterruptedException e) {
+      logger.error("Interrupted while looking up cached fields", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * Calls {@link Converter#convertTimeStep(ZonedDateTime, int, String)} with default folderpath
    * <br>
-   * Extracts values from the previously decompressed archive files into {@link ICONWeatherModel
-   * WeatherPreparationModels} and persists them. <br>
+   * Extracts values from the previously decompressed archive files into a {@link WeatherFrame} and
+   * persists them. <br>
    * Marks status as persisted, if more than 50% of values could be extracted. <br>
    * Deletes files using {@link FileEraser#eraseCallable(FileModel)} after completion.
    */
@@ -249,9 +382,10 @@ public class Converter implements Runnable {
   }
 
   /**
-   * Extracts values from the previously decompressed archive files into {@link ICONWeatherModel
-   * WeatherPreparationModels} and persists them. <br>
-   * Marks status as persisted, if more than 50% of values could be extracted. <br>
+   * Extracts values from the previously decompressed archive files into a {@link WeatherFrame} and
+   * hands it over to the {@link #persistenceExecutor}. <br>
+   * Once the weather has been written, marks status as persisted, if more than 50% of values could
+   * be extracted. <br>
    * Deletes files using {@link FileEraser#eraseCallable(FileModel)} after completion.
    */
   public void convertTimeStep(ZonedDateTime modelRun, int timeStep, String folderPath) {
@@ -269,94 +403,206 @@ public class Converter implements Runnable {
     long tic, toc;
     tic = System.currentTimeMillis();
 
-    List<ICONWeatherModel> entities = new ArrayList<>(coordinates.size());
-    for (CoordinateModel coordinate : coordinates) {
-      entities.add(new ICONWeatherModel(date, coordinate));
-    }
+    // the frame is aligned to the slots of the coordinate index, just like the extracted values
+    WeatherFrame frame = framePool.frame(date);
 
-    AtomicBoolean newValues = new AtomicBoolean(false);
-    CompletionService<ExtractorResult> completionService =
+    boolean newValues = false;
+    CompletionService<List<ExtractorResult>> completionService =
         new ExecutorCompletionService<>(parsingExecutor);
 
+    List<FileModel> files = new ArrayList<>(parameterLevelToFile.size());
+    for (FileModel file : parameterLevelToFile.values())
+      if (!cachedResults.containsKey(file.getParameter())) files.add(file);
+
+    // one extraction task per batch of files, see BatchExtractor, admitted by the memory governor
+    int gridPoints = coordinates.getGridPoints();
+    long bytesPerFile =
+        MemoryGovernor.estimateBytesPerFile(
+            gridPoints > 0 ? gridPoints : MemoryGovernor.ICON_EU_GRID_POINTS,
+            coordinates.size(),
+            Extractor.usesStreaming());
+    int batchSize = Math.max(1, Main.extractionBatchSize);
+    int submitted = 0;
+    for (int i = 0; i < files.size(); i += batchSize) {
+      List<FileModel> batch = files.subList(i, Math.min(i + batchSize, files.size()));
+      BatchExtractor extractor =
+          new BatchExtractor(folderPath, batch, coordinates, Main.eccodes, framePool);
+      long bytes = batch.size() * bytesPerFile;
+      completionService.submit(() -> memoryGovernor.admit(bytes, extractor));
+      submitted++;
+    }
+
+    // results are merged into the frame while the remaining files are still being extracted
     for (FileModel file : parameterLevelToFile.values()) {
-      completionService.submit(new Extractor(folderPath, file, coordinates, Main.eccodes));
+      ExtractorResult cachedResult = cachedResults.get(file.getParameter());
+      if (cachedResult == null) continue;
+      file.setValid_file(true);
+      fileStatusLogger.trace(file.getName() + "  |  vft  |  valid_file = true  | Field cache");
+      newValues |= merge(frame, cachedResult);
     }
 
     int received = 0;
     boolean errors = false;
-    Collection<ExtractorResult> extractionResults = new ArrayList<>(parameterLevelToFile.size());
-    while (received < parameterLevelToFile.size() && !errors) {
+    while (received < submitted && !errors) {
       try {
-        Future<ExtractorResult> resultFuture =
+        Future<List<ExtractorResult>> resultFuture =
             completionService.take(); // blocks if nothing is available
 
         // if we reached this point, we received something
         received++;
 
-        // get the result from the received future
-        ExtractorResult extractorResult = resultFuture.get();
-
-        // add the extraction result to the result collection for further processing
-        extractionResults.add(extractorResult);
-
-        // update the file model information about the validity of the extractor result
-        FileModel file = parameterLevelToFile.get(extractorResult.getParameter());
-        file.setValid_file(extractorResult.isValidFile());
-        fileStatusLogger.trace(
-            file.getName()
-                + (Boolean.TRUE.equals(file.isValid_file())
-                    ? "  |  vft  |  valid_file = true  | Extraction"
-                    : "  |  vff  |  valid_file = false  | Extraction"));
+        // get the results from the received future
+        for (ExtractorResult extractorResult : resultFuture.get()) {
+          // update the file model information about the validity of the extractor result
+          FileModel file = parameterLevelToFile.get(extractorResult.getParameter());
+          file.setValid_file(extractorResult.isValidFile());
+          fileStatusLogger.trace(
+              file.getName()
+                  + (Boolean.TRUE.equals(file.isValid_file())
+                      ? "  |  vft  |  valid_file = true  | Extraction"
+                      : "  |  vff  |  valid_file = false  | Extraction"));
+          if (fieldCache != null)
+            fieldCache.store(
+                cacheKeys.get(extractorResult.getParameter()), file, extractorResult, coordinates);
+          newValues |= merge(frame, extractorResult);
+        }
 
-      } catch (InterruptedException | ExecutionException e) {
+      } catch (InterruptedException e) {
         errors = true;
         logger.error("An error occurred during parameter extraction!", e);
         Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        errors = true;
+        logger.error("An error occurred during parameter extraction!", e);
       }
     }
-
-    // update the entities with the extraction results
-    entities.parallelStream()
-        .forEach(
-            entity ->
-                // get each parameter from the extraction results and update the entity accordingly
-                extractionResults.stream()
-                    .filter(extractorResult -> extractorResult.getCoordinatesToValues() != null)
-                    .forEach(
-                        extractorResult -> {
-                          entity.setParameter(
-                              extractorResult.getParameter(),
-                              extractorResult.getCoordinatesToValues().get(entity.getCoordinate()));
-                          newValues.set(true);
-                        }));
+    String batchingSavings = BatchExtractor.drainSavings();
+    if (batchingSavings != null) logger.debug(formattedTimeStep + batchingSavings);
+    String cacheStatistics = fieldCache != null ? fieldCache.drainStatistics() : null;
+    if (cacheStatistics != null) logger.debug(formattedTimeStep + cacheStatistics);
+    String governorStatistics = memoryGovernor.drainStatistics();
+    if (governorStatistics != null) logger.info(formattedTimeStep + governorStatistics);
 
     toc = System.currentTimeMillis();
     logger.info(formattedTimeStep + "Parsing completed (" + (toc - tic) / 1000 + "s)");
 
-    if (!newValues.get() || errors) {
+    if (!newValues || errors) {
       logger.warn(
           formattedTimeStep
               + "Could not parse any new values or an error occurred during parsing (maybe the files are missing?). Skipped.");
+      frame.release();
       dbController.renewManager();
       return;
     }
 
-    logger.info(formattedTimeStep + "Checking for previous entries ...");
-    tic = System.currentTimeMillis();
-    entities = checkForPreviousEntries(entities);
-    toc = System.currentTimeMillis();
-    logger.info(formattedTimeStep + "Checking done (" + (toc - tic) / 1000 + "s)");
-    logger.info(formattedTimeStep + "Persisting entities ...");
-    tic = System.currentTimeMillis();
-    dbController.jdbcUpsert(entities);
-    toc = System.currentTimeMillis();
-    logger.info(formattedTimeStep + "Persisted all entities (" + (toc - tic) / 1000 + "s)");
+    // the entity manager is not thread-safe, hence the files are validated by this thread
+    Future<Boolean> written = persistenceExecutor.submit(() -> persist(frame, formattedTimeStep));
+    pendingTimesteps.add(
+        new PendingTimestep(formattedTimeStep, new EnumMap<>(parameterLevelToFile), written));
+    completePersistence(Math.max(0, Main.writeBehindTimesteps));
+  }
 
-    logger.info(formattedTimeStep + "Starting validation ...");
-    tic = System.currentTimeMillis();
-    validation();
-    toc = System.currentTimeMillis();
-    logger.info(formattedTimeStep + "Validation complete (" + (toc - tic) / 1000 + "s)");
+  /**
+   * Waits for the weather of the given timestep to be written, even if this thread is interrupted:
+   * giving up early would leave a timestep that is written after all to be converted and
+   * interpolated once again. The interrupt is restored afterwards.
+   *
+   * @return true, if the weather has been written
+   */
+  private boolean awaitPersistence(PendingTimestep pending) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return pending.written.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } catch (ExecutionException e) {
+      logger.error(
+          pending.formattedTimeStep + "An error occurred while persisting entities!", e.getCause());
+      return false;
+    } finally {
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Interpolates the given frame with the previously persisted weather and upserts it, called by
+   * the {@link #persistenceExecutor}. Reading the previous weather of a timestep after the upserts
+   * of all timesteps extracted before keeps the interpolation of consecutive model runs intact.
+   *
+   * @return true, if the weather has been written
+   */
+  private boolean persist(WeatherFrame frame, String formattedTimeStep) {
+    try {
+      long tic, toc;
+      if (!Main.serverSideInterpolation) {
+        logger.info(formattedTimeStep + "Checking for previous entries ...");
+        tic = System.currentTimeMillis();
+        checkForPreviousEntries(frame);
+        toc = System.currentTimeMillis();
+        logger.info(formattedTimeStep + "Checking done (" + (toc - tic) / 1000 + "s)");
+      }
+      logger.info(formattedTimeStep + "Persisting entities ...");
+      tic = System.currentTimeMillis();
+      if (Main.partitionedWeather) dbController.ensureWeatherPartitions(frame.getDate());
+      boolean written = dbController.jdbcUpsert(frame);
+      toc = System.currentTimeMillis();
+      if (written)
+        logger.info(formattedTimeStep + "Persisted all entities (" + (toc - tic) / 1000 + "s)");
+      String connectionStatistics = dbController.drainStatistics();
+      if (connectionStatistics != null) logger.debug(formattedTimeStep + connectionStatistics);
+      return written;
+    } finally {
+      frame.release();
+    }
+  }
+
+  /**
+   * Completes the oldest pending timesteps until at most the given number of them is left. Further
+   * ones are completed as well, if their weather has already been written.
+   */
+  private void completePersistence(int writeBehindTimesteps) {
+    while (!pendingTimesteps.isEmpty()
+        && (pendingTimesteps.size() > writeBehindTimesteps
+            || pendingTimesteps.peek().written.isDone()))
+      completePersistence(pendingTimesteps.poll());
+  }
+
+  /**
+   * Waits for the weather of the given timestep to be written, validates its files only then and
+   * renews the database connection
+   */
+  private void completePersistence(PendingTimestep pending) {
+    String formattedTimeStep = pending.formattedTimeStep;
+    boolean written = awaitPersistence(pending);
+
+    long tic, toc;
+    if (written) {
+      logger.info(formattedTimeStep + "Starting validation ...");
+      tic = System.currentTimeMillis();
+      validation(pending.files);
+      toc = System.currentTimeMillis();
+      logger.info(formattedTimeStep + "Validation complete (" + (toc - tic) / 1000 + "s)");
+    } else {
+      logger.warn(
+          formattedTimeStep
+              + "Could not persist all entities, the files are kept to be converted again");
+    }
+    // the manager may have been renewed while the timestep was pending
+    pending.files.values().forEach(dbController::merge);
+    String poolStatistics = framePool.drainStatistics();
+    if (poolStatistics != null) logger.debug(formattedTimeStep + poolStatistics);
+    if (arena != null)
+      logger.debug(
+          formattedTimeStep
+              + "Off-heap frames: "
+              + arena.getAllocatedBytes() / (1024 * 1024)
+              + " MB allocated, "
+              + arena.getReusedSegments()
+              + " columns reused");
 
     logger.info(formattedTimeStep + "Renewing database connection ...");
     tic = System.currentTimeMillis();
@@ -369,8 +615,48 @@ public class Converter implements Runnable {
             + "s)");
   }
 
+  /**
+   * Creates the governor of the extraction tasks. Its budget is {@link Main#memoryBudget} or half
+   * of the maximum heap size, minus the frames of the timesteps in flight, if they are kept on the
+   * heap.
+   */
+  private MemoryGovernor createMemoryGovernor() {
+    long budget =
+        Main.memoryBudget > 0
+            ? Main.memoryBudget * 1024 * 1024
+            : Runtime.getRuntime().maxMemory() / 2;
+    if (arena == null)
+      budget -=
+          (1 + Math.max(0, Main.writeBehindTimesteps))
+              * MemoryGovernor.estimateFrameBytes(coordinates.size(), Main.singlePrecision);
+    long bytesPerFile =
+        MemoryGovernor.estimateBytesPerFile(
+            MemoryGovernor.ICON_EU_GRID_POINTS, coordinates.size(), Extractor.usesStreaming());
+    logger.info(
+        "Memory budget for extraction: "
+            + Math.max(0, budget) / (1024 * 1024)
+            + " MB, about "
+            + Math.max(1, budget / bytesPerFile)
+            + " files at once");
+    return new MemoryGovernor(Math.max(0, budget));
+  }
+
+  /**
+   * Copies the values of the given result into the column of its parameter and recycles its
+   * buffer, the result must not be used afterwards
+   *
+   * @return true, if the result held any values
+   */
+  private boolean merge(WeatherFrame frame, ExtractorResult extractorResult) {
+    double[] values = extractorResult.getValues();
+    if (values == null) return false;
+    frame.set(extractorResult.getParameter(), values);
+    framePool.recycle(values);
+    return true;
+  }
+
   /** Validate files by number of extracted coordinates, delete Files afterwards */
-  private void validation() {
+  private void validation(Map<Parameter, FileModel> parameterLevelToFile) {
     List<Callable<Void>> deletionList = new ArrayList<>(parameterLevelToFile.size());
     String formattedTimestep =
         getFormattedTimestep(parameterLevelToFile.values().iterator().next());
@@ -407,45 +693,33 @@ public class Converter implements Runnable {
     }
   }
 
-  @NotNull
-  /** Checks for previous entries for all given entities and interpolates them */
-  private List<ICONWeatherModel> checkForPreviousEntries(List<ICONWeatherModel> entities) {
-    LinkedList<ICONWeatherModel> checkedEntities = new LinkedList<>();
-    Map<ZonedDateTime, List<ICONWeatherModel>> entitiesByDate =
-        entities.stream().collect(Collectors.groupingBy(ICONWeatherModel::getDate));
-    entitiesByDate.forEach(
-        (date, entitiesAtDate) ->
-            checkedEntities.addAll(checkForPreviousEntries(entitiesAtDate, date)));
-    return checkedEntities;
-  }
-
-  @NotNull
-  /** Checks for previous entries for all given entities and interpolates them */
-  private List<ICONWeatherModel> checkForPreviousEntries(
-      List<ICONWeatherModel> entities, ZonedDateTime date) {
-    Map<Integer, ICONWeatherModel> foundEntities =
-        dbController.jdbcFindWeather(
-            entities.stream().map(w -> w.getCoordinate().getId()).collect(Collectors.toList()),
-            date);
-    LinkedList<ICONWeatherModel> checkedEntities = new LinkedList<>();
-    for (ICONWeatherModel entity : entities) {
-      ICONWeatherModel foundWeather = foundEntities.get(entity.getCoordinate().getId());
-      if (foundWeather != null) {
-        foundWeather.interpolateValues(entity, Main.interpolationRatio);
-        checkedEntities.add(foundWeather);
-      } else {
-        checkedEntities.add(entity);
-      }
-    }
-    return checkedEntities;
+  /** Checks for previous entries of all slots of the given frame and interpolates them */
+  private void checkForPreviousEntries(WeatherFrame frame) {
+    WeatherFrame previous = dbController.jdbcFindWeather(framePool.frame(frame.getDate()));
+    frame.interpolate(previous, Main.interpolationRatio);
+    previous.release();
   }
 
   public void shutdown() {
+    // timesteps whose weather is still being written
+    if (dbController != null) completePersistence(0);
+    // before the threads of the executors end, whose allocations would be missing otherwise
+    if (runStart != null)
+      logger.info("Run summary: " + MemoryStatistics.snapshot().since(runStart));
+    if (dbController != null)
+      dbController.getChunkingSummaries().forEach(s -> logger.info("Run summary: " + s));
     shutdownAllExecutors();
     if (dbController != null) {
       dbController.flush();
       dbController.shutdown();
     }
+    if (framePool != null) framePool.clear();
+    if (arena != null) arena.close();
+    try {
+      MemoryGovernor.unregisterMBean();
+    } catch (JMException e) {
+      logger.warn("Could not unregister the memory governor MBean", e);
+    }
     logger.info("Converter shut down");
     logger.info(
         "________________________________________________________________________________\n\n\n");
@@ -487,6 +761,16 @@ public class Converter implements Runnable {
     } finally {
       fileEraserExecutor.shutdownNow();
     }
+
+    // persistence executor
+    try {
+      persistenceExecutor.shutdown();
+      persistenceExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException ignored) {
+      Thread.currentThread().interrupt();
+    } finally {
+      persistenceExecutor.shutdownNow();
+    }
   }
 
   private Collection<CoordinateModel> getCoordinates() {
@@ -11,6 +11,10 @@ import edu.ie3.tools.utils.enums.Parameter;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
 import org.apache.commons.io.IOUtils;
@@ -71,6 +75,52 @@ public class Decompressor implements Callable<Boolean> {
     return success;
   }
 
+  /**
+   * Decompresses the bz2 archive file of the referenced FileModel into memory instead of writing a
+   * GRIB2 file. As no GRIB2 file is created, its GRIB2 file is marked as deleted, but the file is
+   * not marked as decompressed: the archive remains its only copy and may not be deleted before
+   * the file has been persisted.
+   *
+   * @return the decompressed GRIB2 content or null, if decompression failed
+   */
+  public static ByteBuffer decompressToBuffer(@NotNull FileModel file, String folderpath) {
+    String filenameFrom = folderpath + file.getBZ2FileName();
+    ByteBuffer buffer;
+    try (FileInputStream in = new FileInputStream(filenameFrom);
+        BZip2CompressorInputStream bzIn = new BZip2CompressorInputStream(in)) {
+      buffer = readFully(bzIn, (int) Math.min(Integer.MAX_VALUE / 4, in.getChannel().size()) * 4);
+    } catch (FileNotFoundException e) {
+      Parameter parameter = file.getParameter();
+      logger.warn(
+          Converter.getFormattedTimestep(file) + "File not found for parameter " + parameter);
+      file.setArchivefile_deleted(true);
+      filestatusLogger.trace(
+          file.getName() + "  |  adt  |  archivefile_deleted = true  |  File not Found");
+      return null;
+    } catch (Exception e) {
+      String formattedTimestep = Converter.getFormattedTimestep(file);
+      logger.error(formattedTimestep, e);
+      return null;
+    }
+    file.setGribfile_deleted(true);
+    filestatusLogger.trace(
+        file.getName() + "  |  gdt  |  gribfile_deleted = true  |  Decompressor (in memory)");
+    logger.trace("File " + file.getName() + " successfully decompressed into memory");
+    return buffer;
+  }
+
+  /** Reads the whole stream into a heap buffer, starting with the given capacity */
+  private static ByteBuffer readFully(InputStream in, int initialCapacity) throws IOException {
+    byte[] bytes = new byte[Math.max(initialCapacity, 1 << 16)];
+    int length = 0;
+    int read;
+    while ((read = in.read(bytes, length, bytes.length - length)) >= 0) {
+      length += read;
+      if (length == bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+    }
+    return ByteBuffer.wrap(bytes, 0, length).slice();
+  }
+
   @Override
   public Boolean call() {
     return decompress(file, folderpath);
@@ -6,16 +6,25 @@
 
 package edu.ie3.tools;
 
+import edu.ie3.tools.grib.BoundingBox;
+import edu.ie3.tools.grib.EccodesProcessDecoder;
+import edu.ie3.tools.grib.GribDecoder;
+import edu.ie3.tools.grib.GribField;
+import edu.ie3.tools.grib.GribIndex;
+import edu.ie3.tools.grib.GridWindow;
+import edu.ie3.tools.grib.UnsupportedGribException;
+import edu.ie3.tools.models.CoordinateIndex;
 import edu.ie3.tools.models.ExtractorResult;
-import edu.ie3.tools.models.enums.CoordinateType;
-import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.models.FramePool;
+import edu.ie3.tools.models.GridMapping;
 import edu.ie3.tools.models.persistence.FileModel;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 import org.apache.log4j.Level;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -27,123 +36,103 @@ public class Extractor implements Callable<ExtractorResult> {
   private final String eccodesLocation;
   private final String path;
   private final FileModel file;
-  private final Collection<CoordinateModel> coordinates;
+  private final CoordinateIndex coordinates;
+  private final GribDecoder decoder;
+  private final FramePool pool;
 
+  public Extractor(
+      String path, FileModel file, CoordinateIndex coordinates, String ecCodesLocation) {
+    this(path, file, coordinates, ecCodesLocation, null);
+  }
+
+  /** @param pool pool to take the value buffers of the results from or null */
   public Extractor(
       String path,
       FileModel file,
-      Collection<CoordinateModel> coordinates,
-      String ecCodesLocation) {
+      CoordinateIndex coordinates,
+      String ecCodesLocation,
+      FramePool pool) {
     logger.setLevel(Main.debug ? Level.ALL : Level.INFO);
     this.path = path;
     this.file = file;
     this.eccodesLocation = ecCodesLocation;
     this.coordinates = coordinates;
+    this.decoder = createDecoder(ecCodesLocation);
+    this.pool = pool;
     formattedTimestep = Converter.getFormattedTimestep(file);
   }
 
-  private boolean validHeadline(String headlineString) {
-    // since eccodes v2.21.0 the data extraction expects a headline w/o commas but with whitespaces
-    // see ECC-1197 - https://jira.ecmwf.int/browse/ECC-1197
-    String headline = "Latitude Longitude Value";
-    String oldHeadline = "Latitude, Longitude, Value";
-
-    return headlineString != null
-        && (headlineString.trim().equals(headline) || headlineString.trim().equals(oldHeadline));
+  /**
+   * @return the {@link GribDecoder} selected by {@link Main#gribDecoder}
+   * @throws IllegalArgumentException if there is no such decoder or it is not available
+   */
+  static GribDecoder createDecoder(String ecCodesLocation) {
+    return GribDecoder.of(
+        Main.gribDecoder, ecCodesLocation, Main.eccodesLibrary, Main.missingValue);
   }
 
-  protected HashMap<CoordinateModel, Double> parse(BufferedReader reader) throws IOException {
-    HashMap<CoordinateModel, Double> coordinateToValue = new HashMap<>(720729);
-    try {
-      String line = reader.readLine();
-      if (!validHeadline(line)) {
-        throw new IOException("Unexpected start of file: " + line);
-      }
-      while ((line = reader.readLine()) != null) {
-        String[] splitArr = line.trim().split("\\s+");
-        if (splitArr.length != 3) {
-          logger.debug(formattedTimestep + "Line \"" + line + "\" could not be split correctly");
-        } else {
-          double lat = Double.parseDouble(splitArr[0]);
-          double lon = Double.parseDouble(splitArr[1]);
-          Double value =
-              splitArr[2].equalsIgnoreCase(Main.missingValue)
-                  ? null
-                  : Double.parseDouble(splitArr[2]);
-          coordinateToValue.put(new CoordinateModel(lat, lon, CoordinateType.ICON), value);
-        }
-      }
-      reader.close();
-    } catch (EOFException e) {
-      logger.warn("Exception during extraction process occurred: " + e);
-    }
-    return coordinateToValue;
+  /** @return true, if the grib_get_data subprocess has been selected */
+  static boolean usesProcessDecoder() {
+    return GribDecoder.ECCODES.equals(Main.gribDecoder);
   }
 
-  private HashMap<CoordinateModel, Double> extractParameterViaEccodes(String command)
-      throws IOException {
-    HashMap<CoordinateModel, Double> coordinateToLevelValue;
-    logger.trace("Executing command \"" + command + "\"");
-    Process cmdProc = Runtime.getRuntime().exec(command);
-
-    try (BufferedReader stdoutReader =
-            new BufferedReader(
-                new InputStreamReader(cmdProc.getInputStream(), StandardCharsets.UTF_8));
-        BufferedReader stderrReader =
-            new BufferedReader(
-                new InputStreamReader(cmdProc.getErrorStream(), StandardCharsets.UTF_8))) {
-      coordinateToLevelValue = parse(stdoutReader);
-      String stderr = stderrReader.lines().collect(Collectors.joining());
-      if (!stderr.isEmpty()) logger.error("Error(s) at command execution: \"" + stderr + "\"");
-    }
-
-    try {
-      int returnVal = cmdProc.waitFor();
-      if (returnVal == 0) logger.trace("Command execution returned " + returnVal);
-      else logger.error("Command execution returned " + returnVal);
-    } catch (InterruptedException e) {
-      logger.error(e);
-      Thread.currentThread().interrupt();
-    }
-    return coordinateToLevelValue;
+  /**
+   * @return true, if archives are decompressed in memory and decoded without writing GRIB2 files,
+   *     which requires an in-process decoder
+   */
+  static boolean usesStreaming() {
+    return Main.streamArchives && !usesProcessDecoder();
   }
 
-  public String gribGetDataCommand(String filepath, Integer heightlevel) {
-    if (heightlevel == null) return gribGetDataCommand(filepath);
-    return eccodesLocation
-        + " -m "
-        + Main.missingValue
-        + " -w bottomLevel="
-        + heightlevel
-        + " "
-        + filepath;
+  FileModel getFile() {
+    return file;
   }
 
-  private String gribGetDataCommand(String filepath) {
-    return eccodesLocation + " -m " + Main.missingValue + " " + filepath;
+  /**
+   * Maps the values of the given fields to the slots of the coordinate index. If there are several
+   * fields, later values overwrite earlier ones.
+   *
+   * @return the values aligned to the slots of the coordinate index
+   */
+  double[] toSlots(List<GribField> fields) {
+    double[] values = pool != null ? pool.buffer() : new double[coordinates.size()];
+    Arrays.fill(values, Double.NaN);
+    for (GribField field : fields) {
+      GridMapping mapping = coordinates.getMapping(field.getGrid());
+      GridWindow window = field.getWindow();
+      double[] fieldValues = field.getValues();
+      for (int slot = 0; slot < values.length; slot++) {
+        int gridIndex = mapping.gridIndex(slot);
+        if (gridIndex < 0) continue;
+        int windowIndex = window.indexOf(gridIndex);
+        if (windowIndex >= 0) values[slot] = fieldValues[windowIndex];
+      }
+    }
+    return values;
   }
 
-  private ExtractorResult extractParameterViaEccodes() throws IOException {
-    if (coordinates == null || coordinates.isEmpty())
-      throw new IOException("Provided coordinates are not allowed to be null or empty!");
-    ExtractorResult parameterLevelValues = extractParameters();
-    // update the coordinate Ids which are not included in the raw files but only in our database
-    Map<CoordinateModel, Double> parameterLevelValuesMapWithIds =
-        updateCoordinatesWithIds(parameterLevelValues.getCoordinatesToValues());
-
-    // return an updated ExtractorResult
-    return new ExtractorResult(
-        parameterLevelValues.getParameter(),
-        parameterLevelValuesMapWithIds,
-        parameterLevelValues.isValidFile());
+  /** @return the result of the given decoded fields, which is invalid if there are none */
+  ExtractorResult result(List<GribField> fields) {
+    if (fields.isEmpty()) {
+      logger.warn(
+          "Raw data file extraction for file '" + file.getName() + "' did not yield any value.");
+      return new ExtractorResult(file.getParameter(), null, false);
+    }
+    GridMapping mapping = coordinates.getMapping(fields.get(0).getGrid());
+    if (mapping.getUnmappedSlots() > 0)
+      logger.debug(
+          formattedTimestep
+              + mapping.getUnmappedSlots()
+              + " coordinates are not part of the grid of "
+              + file.getName());
+    return new ExtractorResult(file.getParameter(), toSlots(fields), true);
   }
 
-  private ExtractorResult extractParameters() throws IOException {
-    Parameter parameter = file.getParameter();
-    boolean validFile = true;
-    logger.debug(formattedTimestep + "Extracting " + parameter.toString());
-
-    // check if file exists in path
+  /**
+   * @return the decompressed GRIB2 file
+   * @throws IOException if it does not exist (anymore), in which case the file model is updated
+   */
+  File findGribFile() throws IOException {
     File f = file.getGRIB22File(path);
     if (!f.exists()) {
       file.setGribfile_deleted(true);
@@ -152,49 +141,117 @@ public class Extractor implements Callable<ExtractorResult> {
       throw new IOException(
           "Could not find file " + file.getName() + " ( " + f.getAbsolutePath() + " )");
     }
+    return f;
+  }
 
-    HashMap<CoordinateModel, Double> coordinateToLevelValue = null;
-    String command = gribGetDataCommand(path + file.getName() + ".grib2");
+  /**
+   * Decompresses the archive into memory and decodes it without writing a GRIB2 file. Only if the
+   * decoder does not support the file, the GRIB2 file is written after all to be extracted by
+   * eccodes.
+   */
+  private ExtractorResult extractParameterFromArchive() throws IOException {
+    Parameter parameter = file.getParameter();
+    logger.debug(formattedTimestep + "Extracting " + parameter.toString() + " from archive");
+    ByteBuffer buffer = Decompressor.decompressToBuffer(file, path);
+    if (buffer == null) return new ExtractorResult(parameter, null, false);
     try {
-      coordinateToLevelValue = extractParameterViaEccodes(command);
+      return result(decoder.decode(GribIndex.of(buffer), coordinates.getBoundingBox()));
+    } catch (UnsupportedGribException e) {
+      logger.warn(
+          formattedTimestep
+              + "Writing "
+              + file.getGRIB2FileName()
+              + " to fall back to eccodes ("
+              + e.getMessage()
+              + ")");
+      try (FileChannel channel =
+          FileChannel.open(
+              file.getGRIB22File(path).toPath(),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.hasRemaining()) channel.write(buffer);
+      }
+      file.setDecompressed(true);
+      Converter.fileStatusLogger.trace(
+          file.getName() + "  |  dt   | decompressed = true  |  Extractor");
+      file.setGribfile_deleted(false);
+      return extractParameters();
     } catch (IOException e) {
-      if (e.getMessage().contains("Cannot run program")) {
+      logger.error(e);
+      return new ExtractorResult(parameter, null, false);
+    }
+  }
+
+  private ExtractorResult extractParameters() throws IOException {
+    Parameter parameter = file.getParameter();
+    if (usesStreaming() && !file.getGRIB22File(path).exists()) return extractParameterFromArchive();
+    logger.debug(formattedTimestep + "Extracting " + parameter.toString());
+
+    // check if file exists in path
+    File f = findGribFile();
+
+    try {
+      return decode(f);
+    } catch (IOException e) {
+      if (e.getMessage() != null && e.getMessage().contains("Cannot run program")) {
         logger.error(
             e
                 + ". Are eccodes (https://confluence.ecmwf.int/display/ECC) installed and did you pass the correct path of the eccodes for a custom install location (-eccodes=<path-to-grib_get_data>)? ");
       } else {
         logger.error(e);
-        validFile = false;
       }
+      logger.warn(
+          "Raw data file extraction for file '" + file.getName() + "' did not yield any value.");
+      return new ExtractorResult(parameter, null, false);
     }
-    if (coordinateToLevelValue == null || coordinateToLevelValue.isEmpty()) validFile = false;
-    return new ExtractorResult(parameter, coordinateToLevelValue, validFile);
   }
 
-  private Map<CoordinateModel, Double> updateCoordinatesWithIds(
-      Map<CoordinateModel, Double> oldMap) {
-    if (oldMap == null) {
+  /**
+   * Decodes the given file with the selected decoder, falling back to grib_get_data for files the
+   * decoder does not support. Files whose grid cannot be read at all are decoded by the
+   * coordinates printed by grib_get_data.
+   */
+  private ExtractorResult decode(File gribFile) throws IOException {
+    BoundingBox box = coordinates.getBoundingBox();
+    EccodesProcessDecoder eccodes = new EccodesProcessDecoder(eccodesLocation, Main.missingValue);
+    try {
+      try {
+        return result(decoder.decode(gribFile, box));
+      } catch (UnsupportedGribException e) {
+        if (usesProcessDecoder()) throw e;
+        logger.warn(
+            formattedTimestep
+                + "Falling back to eccodes for "
+                + file.getName()
+                + " ("
+                + e.getMessage()
+                + ")");
+        return result(eccodes.decode(gribFile, box));
+      }
+    } catch (UnsupportedGribException e) {
       logger.warn(
-          "Raw data file extraction for file '"
+          formattedTimestep
+              + "Decoding "
               + file.getName()
-              + "' lead to an empty or null map.");
-      return new HashMap<>();
-    }
-    if (coordinates == null) return oldMap;
-    HashMap<CoordinateModel, Double> newMap = new HashMap<>();
-    for (CoordinateModel coordinateWithID : coordinates) {
-      CoordinateModel coordinateWithoutID =
-          new CoordinateModel(
-              coordinateWithID.getLatitude(),
-              coordinateWithID.getLongitude(),
-              coordinateWithID.getCoordinate_type());
-      newMap.put(coordinateWithID, oldMap.get(coordinateWithoutID));
+              + " by the coordinates printed by eccodes ("
+              + e.getMessage()
+              + ")");
+      double[] values = pool != null ? pool.buffer() : new double[coordinates.size()];
+      try {
+        eccodes.decode(gribFile, values, coordinates::slotOf);
+      } catch (IOException ex) {
+        if (pool != null) pool.recycle(values);
+        throw ex;
+      }
+      return new ExtractorResult(file.getParameter(), values, true);
     }
-    return newMap;
   }
 
   @Override
   public ExtractorResult call() throws IOException {
-    return extractParameterViaEccodes();
+    if (coordinates == null || coordinates.isEmpty())
+      throw new IOException("Provided coordinates are not allowed to be null or empty!");
+    return extractParameters();
   }
 }
@@ -103,6 +103,131 @@ public class Main {
       description = "The location of the eccodes commands")
   public static String eccodes = "/usr/local/bin/grib_get_data";
 
+  @CommandLine.Option(
+      names = {"-decoder", "--grib_decoder"},
+      description =
+          "The GRIB2 decoder to use: \"eccodes\" (grib_get_data), \"java\" (in-process) or \"ffm\" (libeccodes in-process, requires --add-modules jdk.incubator.foreign --enable-native-access=ALL-UNNAMED). In-process decoders fall back to grib_get_data for unsupported files. Default: eccodes")
+  public static String gribDecoder = "eccodes";
+
+  @CommandLine.Option(
+      names = {"-eccodes_lib", "--eccodes_library"},
+      description =
+          "Name or absolute path of libeccodes, used by the ffm decoder. Default: eccodes")
+  public static String eccodesLibrary = "eccodes";
+
+  @CommandLine.Option(
+      names = {"-stream", "--stream_archives"},
+      description =
+          "Decompress bz2 archives in memory and decode them without writing GRIB2 files to disk (in-process decoders only). Default: false")
+  public static boolean streamArchives = false;
+
+  @CommandLine.Option(
+      names = {"-batch", "--extraction_batch_size"},
+      description =
+          "Number of files extracted by a single grib_get_data call (eccodes decoder only). Default: 1")
+  public static int extractionBatchSize = 1;
+
+  @CommandLine.Option(
+      names = {"-cache", "--field_cache"},
+      description =
+          "Directory to cache decoded fields in, so that files converted again do not have to be decompressed and decoded. Default: no cache")
+  public static String fieldCache = "";
+
+  @CommandLine.Option(
+      names = {"--field_cache_size"},
+      description =
+          "Maximum size of the field cache in MB, least recently used fields are evicted. Default: 2048")
+  public static long fieldCacheSize = 2048;
+
+  @CommandLine.Option(
+      names = {"-float32", "--single_precision"},
+      description =
+          "Keep, interpolate and write weather values in single precision (float32), which halves the memory of a timestep. Migrate the weather columns to real (see sql/weather_single_precision.sql) to halve their size in the database, too. Default: false")
+  public static boolean singlePrecision = false;
+
+  @CommandLine.Option(
+      names = {"-offheap", "--off_heap_frames"},
+      description =
+          "Keep the weather of timesteps in pooled native memory instead of the Java heap (requires --add-modules jdk.incubator.foreign). Default: false")
+  public static boolean offHeapFrames = false;
+
+  @CommandLine.Option(
+      names = {"-nopool", "--no_frame_pool"},
+      description =
+          "Allocate the weather frames and value buffers of every timestep anew instead of reusing them, e.g. to compare the allocation rate and GC time in the run summary. Default: false")
+  public static boolean noFramePool = false;
+
+  @CommandLine.Option(
+      names = {"-mem", "--memory_budget"},
+      description =
+          "Memory in MB that files being extracted at the same time may use, fewer files are extracted concurrently if their estimated memory exceeds it. Default: half of the maximum heap size")
+  public static long memoryBudget = 0;
+
+  @CommandLine.Option(
+      names = {"-upsert", "--upsert_method"},
+      description =
+          "How the weather of a timestep is written to the database: \"insert\" (INSERT ... ON CONFLICT statements of a chunk of coordinates each), \"batch\" (batches of a prepared upsert statement per chunk, rewritten to multi-row INSERTs by the driver) or \"copy\" (binary COPY into a staging table and a single upsert per timestep). Default: insert")
+  public static String upsertMethod = "insert";
+
+  @CommandLine.Option(
+      names = {"-serverinterp", "--server_side_interpolation"},
+      description =
+          "Interpolate with previously persisted weather in the ON CONFLICT clause of the upsert instead of reading it back first. Default: false")
+  public static boolean serverSideInterpolation = false;
+
+  @CommandLine.Option(
+      names = {"-partitioned", "--partitioned_weather"},
+      description =
+          "The weather table is partitioned by month (see sql/weather_partitioned.sql), partitions are created ahead of the timesteps to be persisted. Default: false")
+  public static boolean partitionedWeather = false;
+
+  @CommandLine.Option(
+      names = {"--partitions_ahead"},
+      description =
+          "Number of months after the month of a timestep, whose weather partitions are created along with it. Default: 1")
+  public static int partitionsAhead = 1;
+
+  @CommandLine.Option(
+      names = {"-writebehind", "--write_behind_timesteps"},
+      description =
+          "Number of timesteps that may be persisted in the background, while the next ones are already being extracted, 0 persists each timestep before extracting the next one. Default: 1")
+  public static int writeBehindTimesteps = 1;
+
+  @CommandLine.Option(
+      names = {"-pool", "--connection_pool_size"},
+      description =
+          "Maximum number of pooled database connections, shared by Hibernate and the JDBC threads. Default: JDBC threads + 2")
+  public static int connectionPoolSize = 0;
+
+  @CommandLine.Option(
+      names = {"--connection_idle_timeout"},
+      description = "Seconds after which idle pooled database connections are closed. Default: 600")
+  public static long connectionIdleTimeout = 600;
+
+  @CommandLine.Option(
+      names = {"-jdbcthreads", "--jdbc_threads"},
+      description =
+          "Maximum number of chunks of coordinates looked up at the same time, fewer are run while chunks fail or exceed the target latency. Default: a third of the processors")
+  public static int jdbcThreads = 0;
+
+  @CommandLine.Option(
+      names = {"--min_chunk_size"},
+      description =
+          "Minimum number of coordinates per chunk, chunks are halved down to it while they fail or exceed the target latency. Default: 100")
+  public static int minChunkSize = 100;
+
+  @CommandLine.Option(
+      names = {"--max_chunk_size"},
+      description =
+          "Maximum number of coordinates per chunk, chunks grow up to it while they stay within the target latency. Default: 5000")
+  public static int maxChunkSize = 5000;
+
+  @CommandLine.Option(
+      names = {"--chunk_latency_target"},
+      description =
+          "Milliseconds a chunk of coordinates should take at most, chunk size and threads are adapted to it. Default: 1000")
+  public static long chunkLatencyTarget = 1000;
+
   @CommandLine.Option(
       names = {"-filestatus"},
       description = "Write file status changes into FileStatus.log")
@@ -143,6 +268,8 @@ public class Main {
       if (!eccodes.isEmpty()) eccodes += File.separator;
       eccodes += "grib_get_data";
     }
+    fieldCache = fieldCache.replace("\"", "").replace("'", "").trim();
+    gribDecoder = gribDecoder.replace("\"", "").replace("'", "").trim().toLowerCase();
     if (doDownload) new Downloader().run();
     if (doConvert) new Converter().run();
   }
@@ -161,6 +288,26 @@ public class Main {
     args.add("connectionUrl = \"" + connectionUrl + "\"");
     if (verbose) args.add("missingValue = \"" + missingValue + "\"");
     args.add("eccodes location= \"" + eccodes + "\"");
+    args.add("grib decoder = \"" + gribDecoder + "\"");
+    if (verbose) args.add("eccodes library = \"" + eccodesLibrary + "\"");
+    if (verbose) args.add("extractionBatchSize = " + extractionBatchSize);
+    args.add("streamArchives = " + streamArchives);
+    if (!fieldCache.isEmpty()) args.add("fieldCache = \"" + fieldCache + "\"");
+    if (verbose) args.add("fieldCacheSize = " + fieldCacheSize + " MB");
+    args.add("singlePrecision = " + singlePrecision);
+    args.add("offHeapFrames = " + offHeapFrames);
+    if (verbose) args.add("noFramePool = " + noFramePool);
+    args.add("upsertMethod = \"" + upsertMethod + "\"");
+    args.add("serverSideInterpolation = " + serverSideInterpolation);
+    args.add("partitionedWeather = " + partitionedWeather);
+    if (verbose) args.add("partitionsAhead = " + partitionsAhead);
+    args.add("writeBehindTimesteps = " + writeBehindTimesteps);
+    args.add("connectionPoolSize = " + (connectionPoolSize > 0 ? connectionPoolSize : "default"));
+    if (verbose) args.add("connectionIdleTimeout = " + connectionIdleTimeout + "s");
+    args.add("jdbcThreads = " + (jdbcThreads > 0 ? jdbcThreads : "default"));
+    args.add("chunkSize = " + minChunkSize + " to " + maxChunkSize);
+    if (verbose) args.add("chunkLatencyTarget = " + chunkLatencyTarget + "ms");
+    args.add("memoryBudget = " + (memoryBudget > 0 ? memoryBudget + " MB" : "half of the heap"));
     return args;
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+/** Rectangular region of interest in degrees, all bounds are inclusive */
+public class BoundingBox {
+
+  private final double minLatitude;
+  private final double maxLatitude;
+  private final double minLongitude;
+  private final double maxLongitude;
+
+  public BoundingBox(
+      double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+    if (minLatitude > maxLatitude || minLongitude > maxLongitude)
+      throw new IllegalArgumentException(
+          "Invalid bounding box ["
+              + minLatitude
+              + ", "
+              + maxLatitude
+              + "] x ["
+              + minLongitude
+              + ", "
+              + maxLongitude
+              + "]");
+    this.minLatitude = minLatitude;
+    this.maxLatitude = maxLatitude;
+    this.minLongitude = minLongitude;
+    this.maxLongitude = maxLongitude;
+  }
+
+  public double getMinLatitude() {
+    return minLatitude;
+  }
+
+  public double getMaxLatitude() {
+    return maxLatitude;
+  }
+
+  public double getMinLongitude() {
+    return minLongitude;
+  }
+
+  public double getMaxLongitude() {
+    return maxLongitude;
+  }
+
+  public boolean containsLatitude(double latitude) {
+    return latitude >= minLatitude && latitude <= maxLatitude;
+  }
+
+  public boolean containsLongitude(double longitude) {
+    return longitude >= minLongitude && longitude <= maxLongitude;
+  }
+
+  public boolean contains(double latitude, double longitude) {
+    return containsLatitude(latitude) && containsLongitude(longitude);
+  }
+
+  @Override
+  public String toString() {
+    return "BoundingBox{"
+        + "minLatitude="
+        + minLatitude
+        + ", maxLatitude="
+        + maxLatitude
+        + ", minLongitude="
+        + minLongitude
+        + ", maxLongitude="
+        + maxLongitude
+        + '}';
+  }
+}
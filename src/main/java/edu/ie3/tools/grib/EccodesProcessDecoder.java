@@ -0,0 +1,297 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Decodes GRIB2 files by running grib_get_data and parsing its text output with a {@link
+ * GribTextReader}. The grid definitions are read from the files themselves, hence each line is
+ * assigned to its grid point by its coordinates and lines outside the region of interest are
+ * skipped before their value is parsed. Several files can be decoded by a single grib_get_data
+ * call, see {@link #decode(List, BoundingBox)}. Files whose grids cannot be read, e.g. of GRIB
+ * edition 1 or rotated grids, are decoded by the coordinates printed by grib_get_data instead, see
+ * {@link #decode(File, double[], SlotLookup)}.
+ */
+public class EccodesProcessDecoder implements GribDecoder {
+  private static final Logger logger = LogManager.getLogger(EccodesProcessDecoder.class);
+
+  private final String eccodesLocation;
+  private final String missingValue;
+
+  /** nanoseconds from the start of the last process until its first output */
+  private long startupNanos = -1;
+
+  /** Assigns a coordinate printed by grib_get_data to the index of its value */
+  @FunctionalInterface
+  public interface SlotLookup {
+    /** @return index of the value of the given coordinate or -1, if it is not of interest */
+    int slotOf(double latitude, double longitude);
+  }
+
+  /** Parses the standard output of grib_get_data */
+  @FunctionalInterface
+  private interface OutputParser<T> {
+    T parse(InputStream stdout) throws IOException;
+  }
+
+  /**
+   * @param eccodesLocation path of grib_get_data
+   * @param missingValue missing value string passed to grib_get_data
+   */
+  public EccodesProcessDecoder(String eccodesLocation, String missingValue) {
+    this.eccodesLocation = eccodesLocation;
+    this.missingValue = missingValue;
+  }
+
+  @Override
+  public String getName() {
+    return ECCODES;
+  }
+
+  @Override
+  public boolean decodesBuffers() {
+    return false;
+  }
+
+  @Override
+  public List<GribField> decode(File file, BoundingBox box) throws IOException {
+    return decode(Collections.singletonList(file), box).get(0);
+  }
+
+  /** @throws UnsupportedGribException always, as grib_get_data can only read files */
+  @Override
+  public List<GribField> decode(GribIndex index, BoundingBox box) throws IOException {
+    throw new UnsupportedGribException("grib_get_data can only decode files");
+  }
+
+  /**
+   * Decodes all given files with a single grib_get_data call. grib_get_data prints a headline in
+   * front of the values of each message, hence its output is demultiplexed by counting headlines
+   * against the number of messages per file.
+   *
+   * @param box region of interest or null, to decode the whole grids
+   * @return the fields of each file, in the order of the given files
+   * @throws IOException if the output does not match the files or grib_get_data failed
+   */
+  public List<List<GribField>> decode(List<File> files, BoundingBox box) throws IOException {
+    List<List<GridDefinition>> grids = new ArrayList<>(files.size());
+    List<GridDefinition> allGrids = new ArrayList<>();
+    for (File file : files) {
+      try (GribIndex index = GribIndex.map(file)) {
+        if (index.getEntries().isEmpty())
+          throw new IOException("No GRIB message found in " + file);
+        List<GridDefinition> fileGrids = new ArrayList<>(index.getEntries().size());
+        for (GribIndex.Entry entry : index.getEntries())
+          fileGrids.add(index.getGridDefinition(entry));
+        grids.add(fileGrids);
+        allGrids.addAll(fileGrids);
+      }
+    }
+    List<GribField> fields = execute(files, stdout -> parse(stdout, allGrids, box));
+
+    List<List<GribField>> result = new ArrayList<>(files.size());
+    int offset = 0;
+    for (List<GridDefinition> fileGrids : grids) {
+      result.add(fields.subList(offset, offset + fileGrids.size()));
+      offset += fileGrids.size();
+    }
+    return result;
+  }
+
+  /**
+   * Decodes the given file without reading its grid definitions, hence any file grib_get_data can
+   * print is supported. Each line is assigned to its value by its coordinates, values of later
+   * messages overwrite earlier ones.
+   *
+   * @param values values to be set, all of them are reset to NaN first
+   * @throws IOException if no line matched any value or grib_get_data failed
+   */
+  public void decode(File file, double[] values, SlotLookup lookup) throws IOException {
+    execute(
+        Collections.singletonList(file),
+        stdout -> {
+          parse(stdout, values, lookup);
+          return null;
+        });
+  }
+
+  /** Runs grib_get_data for the given files and parses its output with the given parser */
+  private <T> T execute(List<File> files, OutputParser<T> parser) throws IOException {
+    StringBuilder command = new StringBuilder(eccodesLocation).append(" -m ").append(missingValue);
+    for (File file : files) command.append(' ').append(file.getPath());
+    logger.trace("Executing command \"" + command + "\"");
+
+    long start = System.nanoTime();
+    Process cmdProc = Runtime.getRuntime().exec(command.toString());
+    T result;
+    try (InputStream stdout = new FirstByteTimer(cmdProc.getInputStream(), start);
+        BufferedReader stderrReader =
+            new BufferedReader(
+                new InputStreamReader(cmdProc.getErrorStream(), StandardCharsets.UTF_8))) {
+      result = parser.parse(stdout);
+      String stderr = stderrReader.lines().collect(Collectors.joining());
+      if (!stderr.isEmpty()) logger.error("Error(s) at command execution: \"" + stderr + "\"");
+    }
+
+    try {
+      int returnVal = cmdProc.waitFor();
+      if (returnVal != 0) throw new IOException("Command execution returned " + returnVal);
+      logger.trace("Command execution returned " + returnVal);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for grib_get_data", e);
+    }
+    return result;
+  }
+
+  /**
+   * Parses the text output of grib_get_data straight from its bytes
+   *
+   * @param grids grid definition of each message printed
+   * @param box region of interest or null, to parse the whole grids
+   * @return one field per message
+   * @throws IOException if the number of messages does not match the given grids or a message did
+   *     not yield any value
+   */
+  public List<GribField> parse(InputStream input, List<GridDefinition> grids, BoundingBox box)
+      throws IOException {
+    List<GribField> fields = new ArrayList<>(grids.size());
+    try (GribTextReader reader = new GribTextReader(input, missingValue)) {
+      for (GridDefinition grid : grids) {
+        String headline = reader.readHeadline();
+        if (!validHeadline(headline))
+          throw new IOException(
+              "Unexpected start of message " + fields.size() + ": " + headline);
+        GridWindow window = box == null ? GridWindow.of(grid) : grid.window(box);
+        double[] values = new double[window.size()];
+        Arrays.fill(values, Double.NaN);
+        SlotLookup lookup =
+            (latitude, longitude) -> {
+              int gridIndex = grid.indexOf(latitude, longitude);
+              return gridIndex < 0 ? -1 : window.indexOf(gridIndex);
+            };
+        if (parseMessage(reader, lookup, values) == 0 && values.length > 0)
+          throw new IOException("Message " + fields.size() + " did not yield any value");
+        fields.add(new GribField(window, values));
+      }
+      if (reader.readHeadline() != null)
+        throw new IOException("grib_get_data printed more messages than expected");
+    }
+    return fields;
+  }
+
+  /**
+   * Parses the text output of grib_get_data by the coordinates of its lines, regardless of the
+   * grids of the messages
+   *
+   * @param values values to be set, all of them are reset to NaN first
+   * @throws IOException if there is no message or no line matched any value
+   */
+  public void parse(InputStream input, double[] values, SlotLookup lookup) throws IOException {
+    Arrays.fill(values, Double.NaN);
+    int messages = 0;
+    int matchedLines = 0;
+    try (GribTextReader reader = new GribTextReader(input, missingValue)) {
+      String headline;
+      while ((headline = reader.readHeadline()) != null) {
+        if (!validHeadline(headline))
+          throw new IOException("Unexpected start of message " + messages + ": " + headline);
+        matchedLines += parseMessage(reader, lookup, values);
+        messages++;
+      }
+    }
+    if (messages == 0) throw new IOException("grib_get_data did not print any message");
+    if (matchedLines == 0 && values.length > 0)
+      throw new IOException("grib_get_data did not print any value of interest");
+  }
+
+  /**
+   * Parses the lines of one message up to the headline of the next message or the end of the
+   * stream
+   *
+   * @return the number of lines assigned to a value
+   */
+  private static int parseMessage(GribTextReader reader, SlotLookup lookup, double[] values)
+      throws IOException {
+    int matchedLines = 0;
+    while (reader.nextLine()) {
+      try {
+        if (!reader.splitLine()) {
+          logger.debug("Line \"" + reader.currentLine() + "\" could not be split correctly");
+          continue;
+        }
+        int index = lookup.slotOf(reader.getLatitude(), reader.getLongitude());
+        if (index < 0) continue;
+        values[index] = reader.getValue();
+        matchedLines++;
+      } catch (NumberFormatException e) {
+        logger.debug("Line \"" + reader.currentLine() + "\" could not be parsed");
+      }
+    }
+    return matchedLines;
+  }
+
+  static boolean validHeadline(String headlineString) {
+    // since eccodes v2.21.0 the data extraction expects a headline w/o commas but with whitespaces
+    // see ECC-1197 - https://jira.ecmwf.int/browse/ECC-1197
+    String headline = "Latitude Longitude Value";
+    String oldHeadline = "Latitude, Longitude, Value";
+
+    return headlineString != null
+        && (headlineString.trim().equals(headline) || headlineString.trim().equals(oldHeadline));
+  }
+
+  /**
+   * @return nanoseconds from the start of the last grib_get_data process until its first output,
+   *     which approximates the process startup time, or -1 if it did not print anything
+   */
+  public long getStartupNanos() {
+    return startupNanos;
+  }
+
+  /** Measures the time until the first byte has been read */
+  private class FirstByteTimer extends FilterInputStream {
+    private final long start;
+    private boolean timed;
+
+    private FirstByteTimer(InputStream in, long start) {
+      super(in);
+      this.start = start;
+      startupNanos = -1;
+    }
+
+    private void time(int read) {
+      if (!timed && read > 0) {
+        startupNanos = System.nanoTime() - start;
+        timed = true;
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      time(b < 0 ? -1 : 1);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      time(read);
+      return read;
+    }
+  }
+}
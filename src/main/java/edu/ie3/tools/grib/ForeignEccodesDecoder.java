@@ -0,0 +1,279 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static jdk.incubator.foreign.CLinker.C_DOUBLE;
+import static jdk.incubator.foreign.CLinker.C_INT;
+import static jdk.incubator.foreign.CLinker.C_LONG;
+import static jdk.incubator.foreign.CLinker.C_POINTER;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.incubator.foreign.CLinker;
+import jdk.incubator.foreign.FunctionDescriptor;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemoryAddress;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+import jdk.incubator.foreign.SegmentAllocator;
+import jdk.incubator.foreign.SymbolLookup;
+
+/**
+ * Decodes GRIB2 messages by calling libeccodes in-process through the foreign function API
+ * (jdk.incubator.foreign, i.e. the JVM has to be started with {@code --add-modules
+ * jdk.incubator.foreign --enable-native-access=ALL-UNNAMED}). Each message is handed to eccodes
+ * straight from the buffer of its {@link GribIndex} and its values are read with
+ * grib_get_double_array, hence all packings supported by eccodes are supported without spawning
+ * a process or printing and parsing text. Only the grid definition is read by ourselves to
+ * restrict the values to the region of interest.
+ */
+public class ForeignEccodesDecoder implements GribDecoder {
+
+  /** the bindings are shared by all decoders using the same library */
+  private static final Map<String, Eccodes> libraries = new ConcurrentHashMap<>();
+
+  private final Eccodes eccodes;
+
+  private ForeignEccodesDecoder(Eccodes eccodes) {
+    this.eccodes = eccodes;
+  }
+
+  /**
+   * @param library name (e.g. "eccodes") or absolute path of libeccodes
+   * @throws IllegalArgumentException if the library or the foreign function API is not available
+   */
+  public static ForeignEccodesDecoder load(String library) {
+    try {
+      return new ForeignEccodesDecoder(libraries.computeIfAbsent(library, Eccodes::new));
+    } catch (UnsatisfiedLinkError | IllegalCallerException | NoClassDefFoundError e) {
+      throw new IllegalArgumentException(
+          "Could not load libeccodes \""
+              + library
+              + "\", is it installed and has the JVM been started with --add-modules jdk.incubator.foreign --enable-native-access=ALL-UNNAMED? ("
+              + e
+              + ")",
+          e);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return ECCODES_FFM;
+  }
+
+  @Override
+  public List<GribField> decode(GribIndex index, BoundingBox box) throws IOException {
+    // the offsets of the index entries are absolute
+    ByteBuffer buffer = index.getBuffer().duplicate().position(0);
+    List<GribField> fields = new ArrayList<>(index.getEntries().size());
+    try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+      // mapped files are passed as they are, heap buffers have to be copied off-heap
+      MemorySegment messages = MemorySegment.ofByteBuffer(buffer);
+      if (!buffer.isDirect()) {
+        MemorySegment heapMessages = messages;
+        messages = MemorySegment.allocateNative(heapMessages.byteSize(), scope);
+        messages.copyFrom(heapMessages);
+      }
+      int previousMessage = -1;
+      for (GribIndex.Entry entry : index.getEntries()) {
+        // eccodes only returns the first field of messages containing several ones
+        if (entry.getMessageOffset() == previousMessage)
+          throw new UnsupportedGribException("Messages with several fields are not supported");
+        previousMessage = entry.getMessageOffset();
+        GridDefinition grid = index.getGridDefinition(entry);
+        GridWindow window = box == null ? GridWindow.of(grid) : grid.window(box);
+        MemorySegment message =
+            messages.asSlice(entry.getMessageOffset(), entry.getMessageLength());
+        fields.add(new GribField(window, eccodes.values(message, window, scope)));
+      }
+    }
+    return fields;
+  }
+
+  /** Method handles of the used eccodes functions */
+  private static class Eccodes {
+    private static final int SUCCESS = 0;
+
+    private final MethodHandle handleNewFromMessage;
+    private final MethodHandle handleDelete;
+    private final MethodHandle getSize;
+    private final MethodHandle getLong;
+    private final MethodHandle getDouble;
+    private final MethodHandle getDoubleArray;
+    private final MethodHandle getErrorMessage;
+
+    private Eccodes(String library) {
+      if (library.contains(File.separator)) System.load(library);
+      else System.loadLibrary(library);
+      CLinker linker = CLinker.getInstance();
+      SymbolLookup lookup = SymbolLookup.loaderLookup();
+      // grib_handle* grib_handle_new_from_message(grib_context*, const void*, size_t)
+      handleNewFromMessage =
+          downcall(
+              linker,
+              lookup,
+              "grib_handle_new_from_message",
+              MethodType.methodType(
+                  MemoryAddress.class, MemoryAddress.class, MemoryAddress.class, long.class),
+              FunctionDescriptor.of(C_POINTER, C_POINTER, C_POINTER, C_LONG));
+      // int grib_handle_delete(grib_handle*)
+      handleDelete =
+          downcall(
+              linker,
+              lookup,
+              "grib_handle_delete",
+              MethodType.methodType(int.class, MemoryAddress.class),
+              FunctionDescriptor.of(C_INT, C_POINTER));
+      // int grib_get_size(const grib_handle*, const char*, size_t*)
+      // int grib_get_long(const grib_handle*, const char*, long*)
+      // int grib_get_double(const grib_handle*, const char*, double*)
+      MethodType getter =
+          MethodType.methodType(
+              int.class, MemoryAddress.class, MemoryAddress.class, MemoryAddress.class);
+      FunctionDescriptor getterDescriptor =
+          FunctionDescriptor.of(C_INT, C_POINTER, C_POINTER, C_POINTER);
+      getSize = downcall(linker, lookup, "grib_get_size", getter, getterDescriptor);
+      getLong = downcall(linker, lookup, "grib_get_long", getter, getterDescriptor);
+      getDouble = downcall(linker, lookup, "grib_get_double", getter, getterDescriptor);
+      // int grib_get_double_array(const grib_handle*, const char*, double*, size_t*)
+      getDoubleArray =
+          downcall(
+              linker,
+              lookup,
+              "grib_get_double_array",
+              MethodType.methodType(
+                  int.class,
+                  MemoryAddress.class,
+                  MemoryAddress.class,
+                  MemoryAddress.class,
+                  MemoryAddress.class),
+              FunctionDescriptor.of(C_INT, C_POINTER, C_POINTER, C_POINTER, C_POINTER));
+      // const char* grib_get_error_message(int)
+      getErrorMessage =
+          downcall(
+              linker,
+              lookup,
+              "grib_get_error_message",
+              MethodType.methodType(MemoryAddress.class, int.class),
+              FunctionDescriptor.of(C_POINTER, C_INT));
+    }
+
+    private static MethodHandle downcall(
+        CLinker linker,
+        SymbolLookup lookup,
+        String name,
+        MethodType type,
+        FunctionDescriptor descriptor) {
+      MemoryAddress symbol =
+          lookup
+              .lookup(name)
+              .orElseThrow(() -> new UnsatisfiedLinkError("Symbol " + name + " not found"));
+      return linker.downcallHandle(symbol, type, descriptor);
+    }
+
+    /**
+     * Decodes the given message with eccodes and copies the values within the window, replacing
+     * eccodes' missing value by NaN
+     */
+    private double[] values(MemorySegment message, GridWindow window, ResourceScope scope)
+        throws IOException {
+      SegmentAllocator allocator = SegmentAllocator.ofScope(scope);
+      MemoryAddress handle;
+      try {
+        handle =
+            (MemoryAddress)
+                handleNewFromMessage.invokeExact(
+                    MemoryAddress.NULL, message.address(), message.byteSize());
+      } catch (Throwable t) {
+        throw new IOException("Could not call grib_handle_new_from_message", t);
+      }
+      if (handle.equals(MemoryAddress.NULL))
+        throw new IOException("eccodes could not create a handle of the GRIB message");
+      try {
+        MemorySegment valuesKey = CLinker.toCString("values", scope);
+        MemorySegment size = allocator.allocate(C_LONG);
+        check(getSize, handle, valuesKey, size);
+        long numberOfValues = MemoryAccess.getLong(size);
+        if (numberOfValues != window.getGrid().getNumberOfPoints())
+          throw new UnsupportedGribException(
+              "Grid has "
+                  + window.getGrid().getNumberOfPoints()
+                  + " points, but eccodes returned "
+                  + numberOfValues
+                  + " values");
+        MemorySegment allValues = allocator.allocateArray(C_DOUBLE, numberOfValues);
+        checkArray(handle, valuesKey, allValues, size);
+
+        MemorySegment bitmapPresent = allocator.allocate(C_LONG);
+        check(getLong, handle, CLinker.toCString("bitmapPresent", scope), bitmapPresent);
+        MemorySegment missingValue = allocator.allocate(C_DOUBLE);
+        check(getDouble, handle, CLinker.toCString("missingValue", scope), missingValue);
+        boolean bitmap = MemoryAccess.getLong(bitmapPresent) != 0;
+        double missing = MemoryAccess.getDouble(missingValue);
+
+        double[] values = new double[window.size()];
+        for (int i = 0; i < values.length; i++) {
+          double value = MemoryAccess.getDoubleAtIndex(allValues, window.gridIndex(i));
+          values[i] = bitmap && value == missing ? Double.NaN : value;
+        }
+        return values;
+      } finally {
+        try {
+          int error = (int) handleDelete.invokeExact(handle);
+          if (error != SUCCESS) throw new IOException(errorMessage(error));
+        } catch (IOException e) {
+          throw e;
+        } catch (Throwable t) {
+          throw new IOException("Could not call grib_handle_delete", t);
+        }
+      }
+    }
+
+    private void check(
+        MethodHandle getter, MemoryAddress handle, MemorySegment key, MemorySegment value)
+        throws IOException {
+      int error;
+      try {
+        error = (int) getter.invokeExact(handle, key.address(), value.address());
+      } catch (Throwable t) {
+        throw new IOException("Could not call eccodes", t);
+      }
+      if (error != SUCCESS) throw new IOException(errorMessage(error));
+    }
+
+    private void checkArray(
+        MemoryAddress handle, MemorySegment key, MemorySegment values, MemorySegment length)
+        throws IOException {
+      int error;
+      try {
+        error =
+            (int)
+                getDoubleArray.invokeExact(
+                    handle, key.address(), values.address(), length.address());
+      } catch (Throwable t) {
+        throw new IOException("Could not call grib_get_double_array", t);
+      }
+      if (error != SUCCESS) throw new IOException(errorMessage(error));
+    }
+
+    private String errorMessage(int error) {
+      try {
+        MemoryAddress message = (MemoryAddress) getErrorMessage.invokeExact(error);
+        return "eccodes error " + error + ": " + CLinker.toJavaString(message);
+      } catch (Throwable t) {
+        return "eccodes error " + error;
+      }
+    }
+  }
+}
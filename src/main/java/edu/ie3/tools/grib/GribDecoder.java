@@ -0,0 +1,94 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decodes the fields of GRIB2 files into primitive arrays. The available backends are
+ *
+ * <ul>
+ *   <li>{@value #ECCODES}: the grib_get_data subprocess, see {@link EccodesProcessDecoder}
+ *   <li>{@value #JAVA}: the pure Java decoder, see {@link JavaGribDecoder}
+ *   <li>{@value #ECCODES_FFM}: libeccodes called in-process, see {@link ForeignEccodesDecoder}
+ * </ul>
+ *
+ * All backends return the same values for the same file, hence they are interchangeable. A backend
+ * throws an {@link UnsupportedGribException} for files it cannot decode, which may then be passed
+ * on to another one.
+ */
+public interface GribDecoder {
+
+  String ECCODES = "eccodes";
+  String JAVA = "java";
+  String ECCODES_FFM = "ffm";
+
+  /** @return the name, by which the backend is selected */
+  String getName();
+
+  /**
+   * Decodes all messages of the given GRIB2 file, restricted to the grid points within the given
+   * bounding box
+   *
+   * @param box region of interest or null, to decode the whole grid
+   */
+  default List<GribField> decode(File file, BoundingBox box) throws IOException {
+    try (GribIndex index = GribIndex.map(file)) {
+      return decode(index, box);
+    }
+  }
+
+  /** Decodes all messages of the given GRIB2 file */
+  default List<GribField> decode(File file) throws IOException {
+    return decode(file, null);
+  }
+
+  /**
+   * Decodes all fields of the given index, e.g. of an archive decompressed into memory
+   *
+   * @param box region of interest or null, to decode the whole grid
+   * @throws UnsupportedGribException if the backend can only decode files
+   */
+  List<GribField> decode(GribIndex index, BoundingBox box) throws IOException;
+
+  /** @return true, if {@link #decode(GribIndex, BoundingBox)} does not need a file */
+  default boolean decodesBuffers() {
+    return true;
+  }
+
+  /**
+   * Creates the backend with the given name
+   *
+   * @param eccodesLocation path of grib_get_data, used by the {@value #ECCODES} backend
+   * @param eccodesLibrary name or path of libeccodes, used by the {@value #ECCODES_FFM} backend
+   * @param missingValue missing value string passed to grib_get_data
+   * @throws IllegalArgumentException if there is no such backend or it is not available
+   */
+  static GribDecoder of(
+      String name, String eccodesLocation, String eccodesLibrary, String missingValue) {
+    switch (name) {
+      case ECCODES:
+        return new EccodesProcessDecoder(eccodesLocation, missingValue);
+      case JAVA:
+        return new JavaGribDecoder();
+      case ECCODES_FFM:
+        return ForeignEccodesDecoder.load(eccodesLibrary);
+      default:
+        throw new IllegalArgumentException(
+            "Unknown GRIB2 decoder \""
+                + name
+                + "\", expected one of "
+                + ECCODES
+                + ", "
+                + JAVA
+                + " or "
+                + ECCODES_FFM);
+    }
+  }
+}
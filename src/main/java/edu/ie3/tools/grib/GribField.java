@@ -0,0 +1,48 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+/**
+ * One decoded GRIB2 field, restricted to a {@link GridWindow} which may as well cover the whole
+ * grid. Values are stored in scanning order of the window, missing values (as marked by the bitmap
+ * section) are represented by {@link Double#NaN}.
+ */
+public class GribField {
+
+  private final GridWindow window;
+  private final double[] values;
+
+  public GribField(GridWindow window, double[] values) {
+    if (window.size() != values.length)
+      throw new IllegalArgumentException(
+          "Window has " + window.size() + " points, but got " + values.length + " values");
+    this.window = window;
+    this.values = values;
+  }
+
+  public GridDefinition getGrid() {
+    return window.getGrid();
+  }
+
+  public GridWindow getWindow() {
+    return window;
+  }
+
+  public double[] getValues() {
+    return values;
+  }
+
+  public int size() {
+    return values.length;
+  }
+
+  /** @return the value at the given window index or null, if it is missing */
+  public Double getValue(int index) {
+    double value = values[index];
+    return Double.isNaN(value) ? null : value;
+  }
+}
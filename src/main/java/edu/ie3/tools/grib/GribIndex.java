@@ -0,0 +1,304 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * Index of the sections of all GRIB2 messages inside a buffer, usually a read-only memory mapping
+ * of a decompressed GRIB2 file. Building the index only touches the section headers, the values
+ * are later on unpacked by the {@link JavaGribDecoder} straight from the buffer without copying
+ * them into the heap. The index of a mapped file has to be closed to unmap it, otherwise the disk
+ * space of the file is not freed after it has been deleted (or it cannot be deleted at all on
+ * Windows), until the buffer is garbage collected.
+ */
+public class GribIndex implements Closeable {
+
+  private static final int GRIB = 0x47524942; // "GRIB"
+  private static final int END_OF_MESSAGE = 0x37373737; // "7777"
+  private static final int SECTION_0_LENGTH = 16;
+
+  private static final int NO_BITMAP = 255;
+  private static final int PREVIOUSLY_DEFINED_BITMAP = 254;
+
+  private final ByteBuffer buffer;
+  private final List<Entry> entries;
+  /** mapping of the buffer or null, if it has not been mapped by this index */
+  private Mapping mapping;
+
+  private GribIndex(ByteBuffer buffer, List<Entry> entries, Mapping mapping) {
+    this.buffer = buffer;
+    this.entries = Collections.unmodifiableList(entries);
+    this.mapping = mapping;
+  }
+
+  /**
+   * Maps the given file read-only into memory and indexes its messages. The index has to be closed
+   * by the thread that mapped it. Without jdk.incubator.foreign, the file is read into the heap.
+   */
+  public static GribIndex map(File file) throws IOException {
+    Mapping mapping;
+    try {
+      mapping = new Mapping(file);
+    } catch (LinkageError e) {
+      return of(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+    try {
+      return index(mapping.buffer, mapping);
+    } catch (IOException | RuntimeException e) {
+      mapping.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Indexes all messages between the current position and the limit of the given buffer. The
+   * position of the buffer is not altered.
+   */
+  public static GribIndex of(ByteBuffer buffer) throws IOException {
+    return index(buffer, null);
+  }
+
+  private static GribIndex index(ByteBuffer buffer, Mapping mapping) throws IOException {
+    List<Entry> entries = new ArrayList<>(1);
+    int position = buffer.position();
+    while (position + SECTION_0_LENGTH <= buffer.limit()) {
+      if (buffer.getInt(position) != GRIB)
+        throw new IOException("Expected a GRIB message at byte offset " + position);
+      int edition = buffer.get(position + 7) & 0xFF;
+      if (edition != 2)
+        throw new UnsupportedGribException("GRIB edition " + edition + " is not supported");
+      long totalLength = buffer.getLong(position + 8);
+      if (totalLength < SECTION_0_LENGTH + 4 || position + totalLength > buffer.limit())
+        throw new IOException("Truncated GRIB message at byte offset " + position);
+      int end = (int) (position + totalLength);
+      indexMessage(buffer, position, end, entries);
+      position = end;
+    }
+    return new GribIndex(buffer, entries, mapping);
+  }
+
+  private static void indexMessage(ByteBuffer buffer, int start, int end, List<Entry> entries)
+      throws IOException {
+    int gridDefinition = -1;
+    int productDefinition = -1;
+    int dataRepresentation = -1;
+    int bitmap = -1;
+    int previousBitmap = -1;
+    int position = start + SECTION_0_LENGTH;
+    while (position + 4 <= end && buffer.getInt(position) != END_OF_MESSAGE) {
+      int length = buffer.getInt(position);
+      if (length < 5 || position + length > end)
+        throw new IOException("Invalid section length " + length + " at byte offset " + position);
+      switch (buffer.get(position + 4) & 0xFF) {
+        case 3:
+          gridDefinition = position;
+          break;
+        case 4:
+          productDefinition = position;
+          break;
+        case 5:
+          dataRepresentation = position;
+          break;
+        case 6:
+          int indicator = buffer.get(position + 5) & 0xFF;
+          if (indicator == 0) {
+            bitmap = position + 6;
+            previousBitmap = bitmap;
+          } else if (indicator == PREVIOUSLY_DEFINED_BITMAP) {
+            if (previousBitmap < 0)
+              throw new IOException("Reference to a previously defined bitmap without bitmap");
+            bitmap = previousBitmap;
+          } else if (indicator == NO_BITMAP) {
+            bitmap = -1;
+          } else {
+            throw new UnsupportedGribException("Predefined bitmap " + indicator);
+          }
+          break;
+        case 7:
+          if (gridDefinition < 0 || dataRepresentation < 0)
+            throw new IOException("Data section without grid definition or data representation");
+          entries.add(
+              new Entry(
+                  start,
+                  end - start,
+                  gridDefinition,
+                  productDefinition,
+                  dataRepresentation,
+                  bitmap,
+                  position + 5,
+                  length - 5));
+          break;
+        default:
+          // sections 1 and 2 are not needed to unpack the values
+      }
+      position += length;
+    }
+  }
+
+  /** Reads the grid definition of the given entry */
+  public GridDefinition getGridDefinition(Entry entry) throws IOException {
+    return readGridDefinition(buffer, entry.getGridDefinitionOffset());
+  }
+
+  static GridDefinition readGridDefinition(ByteBuffer buffer, int offset) throws IOException {
+    int source = buffer.get(offset + 5) & 0xFF;
+    int optionalListOctets = buffer.get(offset + 10) & 0xFF;
+    int template = buffer.getShort(offset + 12) & 0xFFFF;
+    if (source != 0 || optionalListOctets != 0 || template != 0)
+      throw new UnsupportedGribException(
+          "Only regular lat/lon grids (template 3.0) are supported, got template " + template);
+    long basicAngle = Integer.toUnsignedLong(buffer.getInt(offset + 38));
+    if (basicAngle != 0 && basicAngle != 0xFFFFFFFFL)
+      throw new UnsupportedGribException("Basic angle " + basicAngle + " is not supported");
+
+    int ni = buffer.getInt(offset + 30);
+    int nj = buffer.getInt(offset + 34);
+    if (ni <= 0 || nj <= 0) throw new UnsupportedGribException("Unsupported grid size");
+    return new GridDefinition(
+        ni,
+        nj,
+        signMagnitude(buffer.getInt(offset + 46)),
+        signMagnitude(buffer.getInt(offset + 50)),
+        signMagnitude(buffer.getInt(offset + 59)),
+        Integer.toUnsignedLong(buffer.getInt(offset + 63)),
+        Integer.toUnsignedLong(buffer.getInt(offset + 67)),
+        buffer.get(offset + 71) & 0xFF);
+  }
+
+  /** GRIB2 encodes negative integers with a sign bit instead of two's complement */
+  private static long signMagnitude(int raw) {
+    return raw < 0 ? -(raw & 0x7FFFFFFFL) : raw;
+  }
+
+  public ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  /** Unmaps the buffer, if it has been mapped by {@link #map(File)}, it must not be used anymore */
+  @Override
+  public void close() {
+    if (mapping != null) mapping.close();
+    mapping = null;
+  }
+
+  /** Read-only memory mapping of a file, which is unmapped once its confined scope is closed */
+  private static class Mapping implements Closeable {
+    private final ResourceScope scope = ResourceScope.newConfinedScope();
+    private final ByteBuffer buffer;
+
+    private Mapping(File file) throws IOException {
+      try {
+        long size = Files.size(file.toPath());
+        buffer =
+            MemorySegment.mapFile(file.toPath(), 0, size, FileChannel.MapMode.READ_ONLY, scope)
+                .asByteBuffer();
+      } catch (IOException | RuntimeException e) {
+        scope.close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      scope.close();
+    }
+  }
+
+  /** @return one entry per data section, in the order of the file */
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Absolute byte offsets of the sections belonging to one field. As GRIB2 allows sections 3 to 7
+   * to be repeated within a message, the entry refers to the most recent ones in front of its data
+   * section.
+   */
+  public static class Entry {
+    private final int messageOffset;
+    private final int messageLength;
+    private final int gridDefinitionOffset;
+    private final int productDefinitionOffset;
+    private final int dataRepresentationOffset;
+    private final int bitmapOffset;
+    private final int dataOffset;
+    private final int dataLength;
+
+    private Entry(
+        int messageOffset,
+        int messageLength,
+        int gridDefinitionOffset,
+        int productDefinitionOffset,
+        int dataRepresentationOffset,
+        int bitmapOffset,
+        int dataOffset,
+        int dataLength) {
+      this.messageOffset = messageOffset;
+      this.messageLength = messageLength;
+      this.gridDefinitionOffset = gridDefinitionOffset;
+      this.productDefinitionOffset = productDefinitionOffset;
+      this.dataRepresentationOffset = dataRepresentationOffset;
+      this.bitmapOffset = bitmapOffset;
+      this.dataOffset = dataOffset;
+      this.dataLength = dataLength;
+    }
+
+    public int getMessageOffset() {
+      return messageOffset;
+    }
+
+    /** @return total length of the message containing this field */
+    public int getMessageLength() {
+      return messageLength;
+    }
+
+    /** @return offset of section 3 */
+    public int getGridDefinitionOffset() {
+      return gridDefinitionOffset;
+    }
+
+    /** @return offset of section 4 or -1, if there is none */
+    public int getProductDefinitionOffset() {
+      return productDefinitionOffset;
+    }
+
+    /** @return offset of section 5 */
+    public int getDataRepresentationOffset() {
+      return dataRepresentationOffset;
+    }
+
+    /** @return offset of the first bitmap byte or -1, if no bitmap applies */
+    public int getBitmapOffset() {
+      return bitmapOffset;
+    }
+
+    /** @return offset of the first packed data byte */
+    public int getDataOffset() {
+      return dataOffset;
+    }
+
+    /** @return number of packed data bytes */
+    public int getDataLength() {
+      return dataLength;
+    }
+
+    public boolean hasBitmap() {
+      return bitmapOffset >= 0;
+    }
+  }
+}
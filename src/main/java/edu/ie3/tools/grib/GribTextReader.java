@@ -0,0 +1,253 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming reader for the text output of grib_get_data ("latitude longitude value" per line). The
+ * lines are scanned directly in a reusable byte buffer and the numbers are parsed without creating
+ * any intermediate {@link String}, so reading a line does not allocate. Strings are only created
+ * for the headline and on demand, e.g. to log a malformed line. <br>
+ * grib_get_data prints a headline in front of the values of each message. Hence, {@link
+ * #nextLine()} stops at the headline of the next message, which is then returned by {@link
+ * #readHeadline()}. This allows to demultiplex the output of a call with several files.
+ */
+public class GribTextReader implements Closeable {
+
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+  private static final int TOKENS = 3;
+
+  /** all powers of ten, that are exactly representable as double */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  /** mantissas with up to 15 digits are below 2^53 and hence exactly representable as double */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private final InputStream in;
+  private final byte[] missingValue;
+  private byte[] buffer;
+  private int position;
+  private int limit;
+  private int scanned;
+  private boolean endOfStream;
+
+  private int lineStart;
+  private int lineEnd;
+  private boolean pendingHeadline;
+  private final int[] tokenStarts = new int[TOKENS];
+  private final int[] tokenEnds = new int[TOKENS];
+
+  /**
+   * @param in the output of grib_get_data
+   * @param missingValue the string grib_get_data prints for missing values (compared ignoring
+   *     case)
+   */
+  public GribTextReader(InputStream in, String missingValue) {
+    this(in, missingValue, DEFAULT_BUFFER_SIZE);
+  }
+
+  GribTextReader(InputStream in, String missingValue, int bufferSize) {
+    this.in = in;
+    this.missingValue = missingValue.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * @return the headline of the next message, which is the next line if {@link #nextLine()} has
+   *     not stopped at a headline before, or null if the end of the stream has been reached
+   */
+  public String readHeadline() throws IOException {
+    if (pendingHeadline) {
+      pendingHeadline = false;
+      return currentLine();
+    }
+    return readLine() ? currentLine() : null;
+  }
+
+  /**
+   * Advances to the next line of the current message
+   *
+   * @return false, if the end of the stream or the headline of the next message (i.e. a line
+   *     starting with a letter) has been reached
+   */
+  public boolean nextLine() throws IOException {
+    if (pendingHeadline || !readLine()) return false;
+    pendingHeadline = startsWithLetter();
+    return !pendingHeadline;
+  }
+
+  private boolean startsWithLetter() {
+    int i = lineStart;
+    while (i < lineEnd && isWhitespace(buffer[i])) i++;
+    if (i == lineEnd) return false;
+    byte b = buffer[i];
+    return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+  }
+
+  private boolean readLine() throws IOException {
+    while (true) {
+      for (; scanned < limit; scanned++) {
+        if (buffer[scanned] == '\n') {
+          lineStart = position;
+          lineEnd = scanned;
+          position = ++scanned;
+          return true;
+        }
+      }
+      if (endOfStream) {
+        if (position == limit) return false;
+        // last line without line break
+        lineStart = position;
+        lineEnd = limit;
+        position = limit;
+        return true;
+      }
+      fill();
+    }
+  }
+
+  private void fill() throws IOException {
+    if (position > 0) {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      scanned -= position;
+      position = 0;
+    }
+    if (limit == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    int read = in.read(buffer, limit, buffer.length - limit);
+    if (read < 0) endOfStream = true;
+    else limit += read;
+  }
+
+  /** @return the current line as string, without its line break */
+  public String currentLine() {
+    int end = lineEnd;
+    if (end > lineStart && buffer[end - 1] == '\r') end--;
+    return new String(buffer, lineStart, end - lineStart, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Splits the current line at whitespaces
+   *
+   * @return true, if the line consists of exactly three tokens
+   */
+  public boolean splitLine() {
+    int tokens = 0;
+    int i = lineStart;
+    while (true) {
+      while (i < lineEnd && isWhitespace(buffer[i])) i++;
+      if (i == lineEnd) return tokens == TOKENS;
+      if (tokens == TOKENS) return false;
+      tokenStarts[tokens] = i;
+      while (i < lineEnd && !isWhitespace(buffer[i])) i++;
+      tokenEnds[tokens++] = i;
+    }
+  }
+
+  /** @return the latitude of the current (split) line */
+  public double getLatitude() {
+    return parseDouble(buffer, tokenStarts[0], tokenEnds[0]);
+  }
+
+  /** @return the longitude of the current (split) line */
+  public double getLongitude() {
+    return parseDouble(buffer, tokenStarts[1], tokenEnds[1]);
+  }
+
+  /** @return the value of the current (split) line or {@link Double#NaN}, if it is missing */
+  public double getValue() {
+    if (isMissingValue(tokenStarts[2], tokenEnds[2])) return Double.NaN;
+    return parseDouble(buffer, tokenStarts[2], tokenEnds[2]);
+  }
+
+  private boolean isMissingValue(int from, int to) {
+    if (to - from != missingValue.length) return false;
+    for (int i = 0; i < missingValue.length; i++) {
+      byte b = buffer[from + i];
+      if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+      if (b != missingValue[i]) return false;
+    }
+    return true;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  /**
+   * Parses the decimal number in the given byte range. Numbers with at most 15 significant digits
+   * and a decimal exponent of at most 22, which covers all numbers printed by grib_get_data, are
+   * computed by a single, hence correctly rounded, multiplication or division of two exactly
+   * representable doubles. All other numbers are delegated to {@link Double#parseDouble(String)},
+   * i.e. the result is always identical to the one of {@link Double#parseDouble(String)}.
+   *
+   * @throws NumberFormatException if the range does not contain a valid number
+   */
+  static double parseDouble(byte[] bytes, int from, int to) {
+    int i = from;
+    boolean negative = false;
+    if (i < to && (bytes[i] == '-' || bytes[i] == '+')) negative = bytes[i++] == '-';
+
+    long mantissa = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean digits = false;
+    for (; i < to && isDigit(bytes[i]); i++, digits = true) {
+      mantissa = mantissa * 10 + (bytes[i] - '0');
+      if (mantissa != 0) significantDigits++;
+    }
+    if (i < to && bytes[i] == '.') {
+      for (i++; i < to && isDigit(bytes[i]); i++, digits = true, exponent--) {
+        mantissa = mantissa * 10 + (bytes[i] - '0');
+        if (mantissa != 0) significantDigits++;
+      }
+    }
+    if (digits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < to && (bytes[i] == '-' || bytes[i] == '+')) negativeExponent = bytes[i++] == '-';
+      int explicitExponent = 0;
+      boolean exponentDigits = false;
+      for (; i < to && isDigit(bytes[i]); i++, exponentDigits = true) {
+        if (explicitExponent < 10000) explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+      }
+      if (!exponentDigits) return parseDoubleSlowly(bytes, from, to);
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (!digits || i != to || significantDigits > MAX_EXACT_DIGITS)
+      return parseDoubleSlowly(bytes, from, to);
+
+    double value;
+    if (mantissa == 0) value = 0d;
+    else if (exponent >= 0 && exponent < POWERS_OF_TEN.length)
+      value = mantissa * POWERS_OF_TEN[exponent];
+    else if (exponent < 0 && -exponent < POWERS_OF_TEN.length)
+      value = mantissa / POWERS_OF_TEN[-exponent];
+    else return parseDoubleSlowly(bytes, from, to);
+    return negative ? -value : value;
+  }
+
+  private static double parseDoubleSlowly(byte[] bytes, int from, int to) {
+    return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.util.Objects;
+
+/**
+ * Geometry of a regular latitude/longitude grid as described by GRIB2 grid definition template
+ * 3.0. Angles are kept in micro degrees, as they are encoded in the GRIB2 file, to be able to
+ * compute the coordinates of a grid point without any accumulation of rounding errors.
+ */
+public class GridDefinition {
+
+  private static final long MICRO_DEGREES_360 = 360_000_000L;
+
+  private final int ni;
+  private final int nj;
+  private final long firstLatitude;
+  private final long firstLongitude;
+  private final long latitudeIncrement;
+  private final long longitudeIncrement;
+  private final boolean jConsecutive;
+
+  /**
+   * @param ni number of points along a parallel
+   * @param nj number of points along a meridian
+   * @param la1 latitude of the first grid point in micro degrees
+   * @param lo1 longitude of the first grid point in micro degrees
+   * @param lo2 longitude of the last grid point in micro degrees
+   * @param di longitudinal increment in micro degrees (unsigned)
+   * @param dj latitudinal increment in micro degrees (unsigned)
+   * @param scanningMode flag table 3.4
+   */
+  public GridDefinition(
+      int ni, int nj, long la1, long lo1, long lo2, long di, long dj, int scanningMode) {
+    this.ni = ni;
+    this.nj = nj;
+    boolean iNegative = (scanningMode & 0x80) != 0;
+    boolean jPositive = (scanningMode & 0x40) != 0;
+    this.jConsecutive = (scanningMode & 0x20) != 0;
+    // same normalisation as the eccodes regular_ll iterator, e.g. 336.5° -> -23.5° for ICON-EU
+    if (!iNegative && lo1 > lo2) lo1 -= MICRO_DEGREES_360;
+    this.firstLatitude = la1;
+    this.firstLongitude = lo1;
+    this.latitudeIncrement = jPositive ? dj : -dj;
+    this.longitudeIncrement = iNegative ? -di : di;
+  }
+
+  public int getNi() {
+    return ni;
+  }
+
+  public int getNj() {
+    return nj;
+  }
+
+  public int getNumberOfPoints() {
+    return ni * nj;
+  }
+
+  /** @return true, if adjacent points are consecutive along a meridian instead of a parallel */
+  public boolean isJConsecutive() {
+    return jConsecutive;
+  }
+
+  /** @return the index in scanning order of the grid point in the given row (j) and column (i) */
+  public int index(int row, int column) {
+    return jConsecutive ? column * nj + row : row * ni + column;
+  }
+
+  /** @return the row (j) of the grid point with the given index in scanning order */
+  public int row(int index) {
+    return jConsecutive ? index % nj : index / ni;
+  }
+
+  /** @return the column (i) of the grid point with the given index in scanning order */
+  public int column(int index) {
+    return jConsecutive ? index / nj : index % ni;
+  }
+
+  /** @return latitude of the given grid point in micro degrees */
+  public long microLatitude(int index) {
+    return rowMicroLatitude(row(index));
+  }
+
+  /** @return longitude of the given grid point in micro degrees */
+  public long microLongitude(int index) {
+    return columnMicroLongitude(column(index));
+  }
+
+  private long rowMicroLatitude(int row) {
+    return firstLatitude + row * latitudeIncrement;
+  }
+
+  private long columnMicroLongitude(int column) {
+    return firstLongitude + column * longitudeIncrement;
+  }
+
+  /**
+   * @return latitude of the given grid point, rounded to three decimals exactly like the
+   *     grib_get_data text output (and hence the coordinates in our database)
+   */
+  public double latitude(int index) {
+    return toRoundedDegrees(microLatitude(index));
+  }
+
+  /**
+   * @return longitude of the given grid point, rounded to three decimals exactly like the
+   *     grib_get_data text output (and hence the coordinates in our database)
+   */
+  public double longitude(int index) {
+    return toRoundedDegrees(microLongitude(index));
+  }
+
+  /**
+   * Inverse of {@link #latitude(int)} and {@link #longitude(int)}, computed arithmetically from the
+   * grid definition
+   *
+   * @return the index of the grid point with the given (rounded) coordinates or -1, if there is no
+   *     such grid point
+   */
+  public int indexOf(double latitude, double longitude) {
+    long row = Math.round((latitude * 1e6 - firstLatitude) / latitudeIncrement);
+    long column = Math.round((longitude * 1e6 - firstLongitude) / longitudeIncrement);
+    if (row < 0 || row >= nj || column < 0 || column >= ni) return -1;
+    if (toRoundedDegrees(rowMicroLatitude((int) row)) != latitude
+        || toRoundedDegrees(columnMicroLongitude((int) column)) != longitude) return -1;
+    return index((int) row, (int) column);
+  }
+
+  /**
+   * Determines the rows and columns, whose rounded coordinates (as returned by {@link
+   * #latitude(int)} and {@link #longitude(int)}) lie within the given bounding box. As latitudes
+   * and longitudes are monotonic along the rows and columns of a regular grid, these form a
+   * contiguous window. Longitudes are compared as they are, i.e. without wrapping around the
+   * antimeridian.
+   *
+   * @return the window, which is empty if the box does not intersect the grid
+   */
+  public GridWindow window(BoundingBox box) {
+    int firstRow = -1;
+    int rows = 0;
+    for (int row = 0; row < nj; row++) {
+      if (box.containsLatitude(toRoundedDegrees(rowMicroLatitude(row)))) {
+        if (firstRow < 0) firstRow = row;
+        rows++;
+      }
+    }
+    int firstColumn = -1;
+    int columns = 0;
+    for (int column = 0; column < ni; column++) {
+      if (box.containsLongitude(toRoundedDegrees(columnMicroLongitude(column)))) {
+        if (firstColumn < 0) firstColumn = column;
+        columns++;
+      }
+    }
+    if (rows == 0 || columns == 0) return new GridWindow(this, 0, 0, 0, 0);
+    return new GridWindow(this, firstRow, rows, firstColumn, columns);
+  }
+
+  /**
+   * Rounds micro degrees to milli degrees using round half even, which is what printf("%.3f")
+   * does for the exactly representable ICON-EU coordinates (e.g. 29.5625 -> 29.562)
+   */
+  static double toRoundedDegrees(long microDegrees) {
+    long milli = Math.floorDiv(microDegrees, 1000);
+    long remainder = Math.floorMod(microDegrees, 1000);
+    if (remainder > 500 || (remainder == 500 && (milli & 1) == 1)) milli++;
+    return milli / 1000d;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    GridDefinition that = (GridDefinition) o;
+    return ni == that.ni
+        && nj == that.nj
+        && firstLatitude == that.firstLatitude
+        && firstLongitude == that.firstLongitude
+        && latitudeIncrement == that.latitudeIncrement
+        && longitudeIncrement == that.longitudeIncrement
+        && jConsecutive == that.jConsecutive;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        ni,
+        nj,
+        firstLatitude,
+        firstLongitude,
+        latitudeIncrement,
+        longitudeIncrement,
+        jConsecutive);
+  }
+
+  @Override
+  public String toString() {
+    return "GridDefinition{"
+        + "ni="
+        + ni
+        + ", nj="
+        + nj
+        + ", firstLatitude="
+        + firstLatitude
+        + ", firstLongitude="
+        + firstLongitude
+        + ", latitudeIncrement="
+        + latitudeIncrement
+        + ", longitudeIncrement="
+        + longitudeIncrement
+        + '}';
+  }
+}
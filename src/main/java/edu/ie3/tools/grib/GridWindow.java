@@ -0,0 +1,140 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+/**
+ * Rectangular subset of the rows and columns of a {@link GridDefinition}. The points of a window
+ * are numbered in the scanning order of the underlying grid, hence their grid indices are strictly
+ * ascending, which allows the packed values to be read in a single forward pass.
+ */
+public class GridWindow {
+
+  private final GridDefinition grid;
+  private final int firstRow;
+  private final int rows;
+  private final int firstColumn;
+  private final int columns;
+
+  /**
+   * @param grid the underlying grid
+   * @param firstRow first row (j) of the window
+   * @param rows number of rows, may be 0
+   * @param firstColumn first column (i) of the window
+   * @param columns number of columns, may be 0
+   */
+  public GridWindow(GridDefinition grid, int firstRow, int rows, int firstColumn, int columns) {
+    if (firstRow < 0
+        || rows < 0
+        || firstRow + rows > grid.getNj()
+        || firstColumn < 0
+        || columns < 0
+        || firstColumn + columns > grid.getNi())
+      throw new IllegalArgumentException(
+          "Window rows "
+              + firstRow
+              + "+"
+              + rows
+              + ", columns "
+              + firstColumn
+              + "+"
+              + columns
+              + " exceeds "
+              + grid);
+    this.grid = grid;
+    this.firstRow = firstRow;
+    this.rows = rows;
+    this.firstColumn = firstColumn;
+    this.columns = columns;
+  }
+
+  /** @return a window covering the whole grid */
+  public static GridWindow of(GridDefinition grid) {
+    return new GridWindow(grid, 0, grid.getNj(), 0, grid.getNi());
+  }
+
+  public GridDefinition getGrid() {
+    return grid;
+  }
+
+  public int getFirstRow() {
+    return firstRow;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getFirstColumn() {
+    return firstColumn;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int size() {
+    return rows * columns;
+  }
+
+  public boolean isFullGrid() {
+    return size() == grid.getNumberOfPoints();
+  }
+
+  /** @return the index within the whole grid of the window point with the given index */
+  public int gridIndex(int index) {
+    if (grid.isJConsecutive())
+      return grid.index(firstRow + index % rows, firstColumn + index / rows);
+    return grid.index(firstRow + index / columns, firstColumn + index % columns);
+  }
+
+  /**
+   * @return the number of window points from the given index on, whose grid indices are
+   *     consecutive, i.e. the remainder of the row (or column for j consecutive grids)
+   */
+  public int runLength(int index) {
+    if (isFullGrid()) return size() - index;
+    int length = grid.isJConsecutive() ? rows : columns;
+    return length - index % length;
+  }
+
+  /**
+   * Inverse of {@link #gridIndex(int)}
+   *
+   * @return the window index of the grid point with the given index or -1, if it lies outside of
+   *     the window
+   */
+  public int indexOf(int gridIndex) {
+    int row = grid.row(gridIndex) - firstRow;
+    int column = grid.column(gridIndex) - firstColumn;
+    if (row < 0 || row >= rows || column < 0 || column >= columns) return -1;
+    return grid.isJConsecutive() ? column * rows + row : row * columns + column;
+  }
+
+  /** @see GridDefinition#latitude(int) */
+  public double latitude(int index) {
+    return grid.latitude(gridIndex(index));
+  }
+
+  /** @see GridDefinition#longitude(int) */
+  public double longitude(int index) {
+    return grid.longitude(gridIndex(index));
+  }
+
+  @Override
+  public String toString() {
+    return "GridWindow{"
+        + "firstRow="
+        + firstRow
+        + ", rows="
+        + rows
+        + ", firstColumn="
+        + firstColumn
+        + ", columns="
+        + columns
+        + '}';
+  }
+}
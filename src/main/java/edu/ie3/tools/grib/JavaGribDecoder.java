@@ -0,0 +1,199 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pure Java decoder for GRIB2 files as provided for the ICON-EU model, i.e. regular lat/lon grids
+ * (grid definition template 3.0) with simple packing (data representation template 5.0) and an
+ * optional bitmap. Decoding is done in-process directly into primitive arrays and avoids the
+ * grib_get_data subprocess and its text output. Optionally, only the values within a {@link
+ * BoundingBox} are unpacked. Runs of consecutive values are unpacked at once by a {@link
+ * SimpleUnpacker}, which is vectorised if the Vector API is available. <br>
+ * The arithmetic mirrors the one of eccodes, hence the decoded values are identical to the ones
+ * printed by grib_get_data. Unsupported features lead to an {@link UnsupportedGribException}.
+ */
+public class JavaGribDecoder implements GribDecoder {
+
+  private static final SimpleUnpacker DEFAULT_UNPACKER = SimpleUnpacker.create();
+
+  private final SimpleUnpacker unpacker;
+
+  public JavaGribDecoder() {
+    this(DEFAULT_UNPACKER);
+  }
+
+  JavaGribDecoder(SimpleUnpacker unpacker) {
+    this.unpacker = unpacker;
+  }
+
+  @Override
+  public String getName() {
+    return JAVA;
+  }
+
+  /**
+   * Decodes all messages between the current position and the limit of the given buffer. The
+   * position of the buffer is not altered.
+   */
+  public List<GribField> decode(ByteBuffer buffer) throws IOException {
+    return decode(GribIndex.of(buffer), null);
+  }
+
+  @Override
+  public List<GribField> decode(GribIndex index, BoundingBox box) throws IOException {
+    List<GribField> fields = new ArrayList<>(index.getEntries().size());
+    for (GribIndex.Entry entry : index.getEntries())
+      fields.add(decode(index.getBuffer(), entry, box));
+    return fields;
+  }
+
+  /** Decodes the whole grid of the field described by the given index entry */
+  public GribField decode(ByteBuffer buffer, GribIndex.Entry entry) throws IOException {
+    return decode(buffer, entry, null);
+  }
+
+  /**
+   * Decodes the field described by the given index entry. If a bounding box is given, only the
+   * values of the grid points within the box are unpacked.
+   *
+   * @param box region of interest or null, to decode the whole grid
+   */
+  public GribField decode(ByteBuffer buffer, GribIndex.Entry entry, BoundingBox box)
+      throws IOException {
+    GridDefinition grid = GribIndex.readGridDefinition(buffer, entry.getGridDefinitionOffset());
+    SimplePacking packing = readSimplePacking(buffer, entry.getDataRepresentationOffset());
+    GridWindow window = box == null ? GridWindow.of(grid) : grid.window(box);
+    return new GribField(window, unpack(buffer, entry, window, packing));
+  }
+
+  private static SimplePacking readSimplePacking(ByteBuffer buffer, int offset)
+      throws IOException {
+    int template = buffer.getShort(offset + 9) & 0xFFFF;
+    if (template != 0)
+      throw new UnsupportedGribException(
+          "Only simple packing (template 5.0) is supported, got template " + template);
+    int bits = buffer.get(offset + 19) & 0xFF;
+    if (bits > 32) throw new UnsupportedGribException(bits + " bits per value");
+    return new SimplePacking(
+        buffer.getInt(offset + 5),
+        Float.intBitsToFloat(buffer.getInt(offset + 11)),
+        signMagnitude(buffer.getShort(offset + 15)),
+        signMagnitude(buffer.getShort(offset + 17)),
+        bits);
+  }
+
+  private double[] unpack(
+      ByteBuffer buffer, GribIndex.Entry entry, GridWindow window, SimplePacking packing)
+      throws IOException {
+    int numberOfPoints = window.getGrid().getNumberOfPoints();
+    int bitmapOffset = entry.getBitmapOffset();
+    if (bitmapOffset < 0 && packing.numberOfValues != numberOfPoints)
+      throw new IOException(
+          "Grid has "
+              + numberOfPoints
+              + " points, but "
+              + packing.numberOfValues
+              + " values are packed");
+    if ((long) packing.numberOfValues * packing.bits > 8L * entry.getDataLength())
+      throw new IOException("Data section is too short for " + packing.numberOfValues + " values");
+
+    // same factors and evaluation order as eccodes: ((X * 2^E) + R) * 10^-D
+    double s = power(packing.binaryScale, 2);
+    double d = power(-packing.decimalScale, 10);
+    double r = packing.reference;
+
+    double[] values = new double[window.size()];
+    long dataBitOffset = 8L * entry.getDataOffset();
+    boolean bitmap = bitmapOffset >= 0;
+    // without a bitmap, the n-th grid point holds the n-th packed value, with a bitmap it holds
+    // the packed value whose index equals the number of set bits in front of the grid point
+    int countedGridIndex = 0;
+    int packedIndex = 0;
+    int i = 0;
+    while (i < values.length) {
+      int gridIndex = window.gridIndex(i);
+      if (bitmap) {
+        for (; countedGridIndex < gridIndex; countedGridIndex++)
+          if (isSet(buffer, bitmapOffset, countedGridIndex)) packedIndex++;
+        if (!isSet(buffer, bitmapOffset, gridIndex)) {
+          values[i++] = Double.NaN;
+          continue;
+        }
+      } else {
+        packedIndex = gridIndex;
+      }
+      // consecutive grid points with consecutive packed values are unpacked at once
+      int run = window.runLength(i);
+      if (bitmap) {
+        int maxRun = run;
+        run = 1;
+        while (run < maxRun && isSet(buffer, bitmapOffset, gridIndex + run)) run++;
+      }
+      unpacker.unpack(
+          buffer,
+          dataBitOffset + (long) packedIndex * packing.bits,
+          packing.bits,
+          run,
+          s,
+          r,
+          d,
+          values,
+          i);
+      if (bitmap) {
+        countedGridIndex = gridIndex + run;
+        packedIndex += run;
+      }
+      i += run;
+    }
+    return values;
+  }
+
+  private static boolean isSet(ByteBuffer buffer, int bitmapOffset, int index) {
+    return (buffer.get(bitmapOffset + (index >>> 3)) & (0x80 >>> (index & 7))) != 0;
+  }
+
+  /** Equivalent of eccodes' grib_power(s, n) = n^s, including its way of rounding */
+  static double power(long s, long n) {
+    double divisor = 1.0;
+    while (s < 0) {
+      divisor /= n;
+      s++;
+    }
+    while (s > 0) {
+      divisor *= n;
+      s--;
+    }
+    return divisor;
+  }
+
+  /** GRIB2 encodes negative integers with a sign bit instead of two's complement */
+  private static int signMagnitude(short raw) {
+    return raw < 0 ? -(raw & 0x7FFF) : raw;
+  }
+
+  private static class SimplePacking {
+    private final int numberOfValues;
+    private final float reference;
+    private final int binaryScale;
+    private final int decimalScale;
+    private final int bits;
+
+    private SimplePacking(
+        int numberOfValues, float reference, int binaryScale, int decimalScale, int bits) {
+      this.numberOfValues = numberOfValues;
+      this.reference = reference;
+      this.binaryScale = binaryScale;
+      this.decimalScale = decimalScale;
+      this.bits = bits;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.nio.ByteBuffer;
+
+/** Unpacks one value after the other, used if the Vector API is not available */
+class ScalarSimpleUnpacker implements SimpleUnpacker {
+
+  @Override
+  public void unpack(
+      ByteBuffer buffer,
+      long firstBit,
+      int bits,
+      int count,
+      double s,
+      double r,
+      double d,
+      double[] values,
+      int offset) {
+    for (int k = 0; k < count; k++) {
+      if (bits == 0) {
+        // eccodes returns the plain reference value for constant fields
+        values[offset + k] = r;
+      } else {
+        long x = readBits(buffer, firstBit + (long) k * bits, bits);
+        values[offset + k] = ((x * s) + r) * d;
+      }
+    }
+  }
+
+  static long readBits(ByteBuffer buffer, long bitPosition, int bits) {
+    int index = (int) (bitPosition >>> 3);
+    int bitInByte = (int) (bitPosition & 7);
+    if (bitInByte == 0 && bits == 16) return buffer.getShort(index) & 0xFFFF;
+    int neededBits = bitInByte + bits;
+    int bytes = (neededBits + 7) >>> 3;
+    long window = 0;
+    for (int b = 0; b < bytes; b++) window = (window << 8) | (buffer.get(index + b) & 0xFF);
+    return (window >>> ((bytes << 3) - neededBits)) & ((1L << bits) - 1);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unpacks runs of consecutive values encoded with simple packing (data representation template
+ * 5.0) and scales them to ((X * 2^E) + R) * 10^-D, with the same evaluation order as eccodes
+ */
+interface SimpleUnpacker {
+
+  /**
+   * @param firstBit absolute bit offset of the first packed value within the buffer
+   * @param bits bits per packed value
+   * @param count number of values to unpack
+   * @param s binary scale factor 2^E
+   * @param r reference value
+   * @param d decimal scale factor 10^-D
+   * @param values destination of the scaled values
+   * @param offset index of the first scaled value in the destination
+   */
+  void unpack(
+      ByteBuffer buffer,
+      long firstBit,
+      int bits,
+      int count,
+      double s,
+      double r,
+      double d,
+      double[] values,
+      int offset);
+
+  /**
+   * @return the vectorised unpacker if the Vector API (jdk.incubator.vector) is available, the
+   *     scalar one otherwise
+   */
+  static SimpleUnpacker create() {
+    try {
+      return new VectorSimpleUnpacker();
+    } catch (LinkageError e) {
+      return new ScalarSimpleUnpacker();
+    }
+  }
+}
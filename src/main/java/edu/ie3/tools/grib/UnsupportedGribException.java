@@ -0,0 +1,21 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the {@link GribDecoder} if a valid GRIB2 message uses a feature (e.g. a grid or packing
+ * template) it does not implement. Callers may fall back to eccodes in this case.
+ */
+public class UnsupportedGribException extends IOException {
+  private static final long serialVersionUID = 4371638920915283816L;
+
+  public UnsupportedGribException(String message) {
+    super(message);
+  }
+}
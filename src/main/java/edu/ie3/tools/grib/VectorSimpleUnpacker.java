@@ -0,0 +1,120 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Unpacks and scales several values at once using the Vector API (jdk.incubator.vector, i.e. the
+ * JVM has to be started with {@code --add-modules jdk.incubator.vector}). Byte aligned 16 bit
+ * values, as used by ICON-EU, are loaded as vectors straight from the buffer. Values of other
+ * widths are extracted one by one into chunks, which are then converted and scaled as vectors.
+ * Multiplications and additions are evaluated lane-wise without fusing, hence the results are
+ * identical to the ones of the {@link ScalarSimpleUnpacker}.
+ */
+class VectorSimpleUnpacker implements SimpleUnpacker {
+
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Integer> INTS =
+      VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE));
+  // null, if the preferred shape has too few lanes for the smallest vector of shorts (64 bit)
+  private static final VectorSpecies<Short> SHORTS =
+      DOUBLES.length() * Short.SIZE < 64
+          ? null
+          : VectorSpecies.of(short.class, VectorShape.forBitSize(DOUBLES.length() * Short.SIZE));
+
+  private static final int CHUNK_SIZE = 1024;
+
+  private final ScalarSimpleUnpacker scalar = new ScalarSimpleUnpacker();
+
+  @Override
+  public void unpack(
+      ByteBuffer buffer,
+      long firstBit,
+      int bits,
+      int count,
+      double s,
+      double r,
+      double d,
+      double[] values,
+      int offset) {
+    int unpacked = 0;
+    if (bits == 16 && (firstBit & 7) == 0 && SHORTS != null) {
+      unpacked = unpackShorts(buffer, (int) (firstBit >>> 3), count, s, r, d, values, offset);
+    } else if (bits > 0 && bits < Integer.SIZE) {
+      unpacked = unpackChunks(buffer, firstBit, bits, count, s, r, d, values, offset);
+    }
+    // the remainder, which does not fill a whole vector, and unsupported widths
+    scalar.unpack(
+        buffer,
+        firstBit + (long) unpacked * bits,
+        bits,
+        count - unpacked,
+        s,
+        r,
+        d,
+        values,
+        offset + unpacked);
+  }
+
+  /** @return the number of values unpacked, which is a multiple of the vector length */
+  private static int unpackShorts(
+      ByteBuffer buffer,
+      int firstByte,
+      int count,
+      double s,
+      double r,
+      double d,
+      double[] values,
+      int offset) {
+    int bound = DOUBLES.loopBound(count);
+    for (int k = 0; k < bound; k += DOUBLES.length()) {
+      ShortVector packed =
+          ShortVector.fromByteBuffer(SHORTS, buffer, firstByte + 2 * k, ByteOrder.BIG_ENDIAN);
+      // the packed values are unsigned
+      IntVector x = ((IntVector) packed.convertShape(VectorOperators.S2I, INTS, 0)).and(0xFFFF);
+      scale(x, s, r, d).intoArray(values, offset + k);
+    }
+    return bound;
+  }
+
+  /** @return the number of values unpacked, which is a multiple of the vector length */
+  private static int unpackChunks(
+      ByteBuffer buffer,
+      long firstBit,
+      int bits,
+      int count,
+      double s,
+      double r,
+      double d,
+      double[] values,
+      int offset) {
+    int bound = DOUBLES.loopBound(count);
+    if (bound == 0) return 0;
+    int[] chunk = new int[Math.min(bound, CHUNK_SIZE)];
+    for (int start = 0; start < bound; start += chunk.length) {
+      int length = Math.min(chunk.length, bound - start);
+      for (int k = 0; k < length; k++)
+        chunk[k] =
+            (int) ScalarSimpleUnpacker.readBits(buffer, firstBit + (long) (start + k) * bits, bits);
+      for (int k = 0; k < length; k += DOUBLES.length())
+        scale(IntVector.fromArray(INTS, chunk, k), s, r, d).intoArray(values, offset + start + k);
+    }
+    return bound;
+  }
+
+  private static DoubleVector scale(IntVector x, double s, double r, double d) {
+    return ((DoubleVector) x.convertShape(VectorOperators.I2D, DOUBLES, 0)).mul(s).add(r).mul(d);
+  }
+}
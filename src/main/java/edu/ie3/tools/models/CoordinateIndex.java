@@ -0,0 +1,191 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import edu.ie3.tools.grib.BoundingBox;
+import edu.ie3.tools.grib.GridDefinition;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a fixed slot (0 ... size - 1) to each of the database coordinates of a run. Extracted
+ * values are stored in arrays aligned to these slots instead of maps keyed by {@link
+ * CoordinateModel}. Slots are looked up by coordinate id in O(1) and by grid index through the
+ * {@link GridMapping}.
+ */
+public class CoordinateIndex {
+
+  /**
+   * ids are looked up in an array as long as their range is at most this many times the number of
+   * coordinates (or {@link #MIN_DENSE_RANGE}), sparser ids are looked up in a map instead
+   */
+  private static final int MAX_SPARSENESS = 4;
+
+  private static final int MIN_DENSE_RANGE = 1024;
+
+  private final List<CoordinateModel> coordinates;
+  private final BoundingBox boundingBox;
+  private final long fingerprint;
+
+  /**
+   * slots by coordinate id - minId, -1 marks ids that are not part of the index, or null, if the
+   * ids are too sparse and {@link #sparseSlotsById} is used instead
+   */
+  private final int[] slotsById;
+
+  private final Map<Integer, Integer> sparseSlotsById;
+  private final int minId;
+  private GridMapping mapping;
+  /** slots by packed coordinate, built on first use and read-only afterwards */
+  private volatile Map<Long, Integer> slotsByCoordinate;
+
+  public CoordinateIndex(Collection<CoordinateModel> coordinates) {
+    this.coordinates = Collections.unmodifiableList(new ArrayList<>(coordinates));
+    this.boundingBox = envelope(this.coordinates);
+    this.fingerprint = fingerprint(this.coordinates);
+
+    // database ids are usually dense enough to be used as array offsets
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    for (CoordinateModel coordinate : this.coordinates) {
+      if (coordinate.getId() == null) continue;
+      min = Math.min(min, coordinate.getId());
+      max = Math.max(max, coordinate.getId());
+    }
+    this.minId = min;
+    long range = min > max ? 0 : (long) max - min + 1;
+    if (range <= Math.max(MIN_DENSE_RANGE, (long) MAX_SPARSENESS * this.coordinates.size())) {
+      this.slotsById = new int[(int) range];
+      this.sparseSlotsById = null;
+      Arrays.fill(slotsById, -1);
+      for (int slot = 0; slot < this.coordinates.size(); slot++) {
+        Integer id = this.coordinates.get(slot).getId();
+        if (id != null) slotsById[id - minId] = slot;
+      }
+    } else {
+      this.slotsById = null;
+      this.sparseSlotsById = new HashMap<>(this.coordinates.size() * 2);
+      for (int slot = 0; slot < this.coordinates.size(); slot++) {
+        Integer id = this.coordinates.get(slot).getId();
+        if (id != null) sparseSlotsById.put(id, slot);
+      }
+    }
+  }
+
+  /** Hashes the latitudes and longitudes of the coordinates in order of their slots */
+  private static long fingerprint(List<CoordinateModel> coordinates) {
+    long hash = coordinates.size();
+    for (CoordinateModel coordinate : coordinates) {
+      hash = 31 * hash + Double.doubleToLongBits(coordinate.getLatitude());
+      hash = 31 * hash + Double.doubleToLongBits(coordinate.getLongitude());
+    }
+    return hash;
+  }
+
+  /**
+   * @return the smallest bounding box enclosing all given coordinates or null, if there are none
+   */
+  private static BoundingBox envelope(Collection<CoordinateModel> coordinates) {
+    if (coordinates.isEmpty()) return null;
+    double minLatitude = Double.POSITIVE_INFINITY;
+    double maxLatitude = Double.NEGATIVE_INFINITY;
+    double minLongitude = Double.POSITIVE_INFINITY;
+    double maxLongitude = Double.NEGATIVE_INFINITY;
+    for (CoordinateModel coordinate : coordinates) {
+      minLatitude = Math.min(minLatitude, coordinate.getLatitude());
+      maxLatitude = Math.max(maxLatitude, coordinate.getLatitude());
+      minLongitude = Math.min(minLongitude, coordinate.getLongitude());
+      maxLongitude = Math.max(maxLongitude, coordinate.getLongitude());
+    }
+    return new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+  }
+
+  /** @return the coordinates in order of their slots */
+  public List<CoordinateModel> getCoordinates() {
+    return coordinates;
+  }
+
+  public CoordinateModel get(int slot) {
+    return coordinates.get(slot);
+  }
+
+  /** @return the slot of the coordinate with the given id or -1, if it is not part of the index */
+  public int slotOf(int id) {
+    if (slotsById == null) return sparseSlotsById.getOrDefault(id, -1);
+    long offset = (long) id - minId;
+    return offset < 0 || offset >= slotsById.length ? -1 : slotsById[(int) offset];
+  }
+
+  /**
+   * Looks the slot of a coordinate up by its latitude and longitude, e.g. for values whose grid is
+   * unknown. Prefer {@link #getMapping(GridDefinition)} for regular grids.
+   *
+   * @return the slot of the given coordinate or -1, if it is not part of the index
+   */
+  public int slotOf(double latitude, double longitude) {
+    Map<Long, Integer> slots = slotsByCoordinate;
+    if (slots == null) slots = createSlotsByCoordinate();
+    return slots.getOrDefault(pack(latitude, longitude), -1);
+  }
+
+  private synchronized Map<Long, Integer> createSlotsByCoordinate() {
+    if (slotsByCoordinate != null) return slotsByCoordinate;
+    Map<Long, Integer> slots = new HashMap<>(coordinates.size() * 2);
+    for (int slot = 0; slot < coordinates.size(); slot++) {
+      CoordinateModel coordinate = coordinates.get(slot);
+      slots.putIfAbsent(pack(coordinate.getLatitude(), coordinate.getLongitude()), slot);
+    }
+    slotsByCoordinate = slots;
+    return slots;
+  }
+
+  /** @return the given coordinate in micro degrees, packed into one key */
+  private static long pack(double latitude, double longitude) {
+    return Math.round(latitude * 1e6) << 32 | (Math.round(longitude * 1e6) & 0xFFFFFFFFL);
+  }
+
+  public int size() {
+    return coordinates.size();
+  }
+
+  public boolean isEmpty() {
+    return coordinates.isEmpty();
+  }
+
+  /**
+   * @return a hash of the coordinates and their slots, which tells whether values aligned to the
+   *     slots of another index can be used with this one
+   */
+  public long getFingerprint() {
+    return fingerprint;
+  }
+
+  /** @return the smallest bounding box enclosing all coordinates or null, if there are none */
+  public BoundingBox getBoundingBox() {
+    return boundingBox;
+  }
+
+  /**
+   * Returns the mapping of the slots to the given grid. As all files of a run share the same grid,
+   * the mapping is computed once and only recomputed if a file with a different grid shows up.
+   */
+  public synchronized GridMapping getMapping(GridDefinition grid) {
+    if (mapping == null || !mapping.getGrid().equals(grid)) mapping = new GridMapping(this, grid);
+    return mapping;
+  }
+
+  /** @return number of points of the last mapped grid or 0, if no grid has been mapped yet */
+  public synchronized int getGridPoints() {
+    return mapping != null ? mapping.getGrid().getNumberOfPoints() : 0;
+  }
+}
@@ -6,31 +6,32 @@
 
 package edu.ie3.tools.models;
 
-import edu.ie3.tools.models.persistence.CoordinateModel;
 import edu.ie3.tools.utils.enums.Parameter;
-import java.util.Map;
 
 public class ExtractorResult {
 
-  protected final Map<CoordinateModel, Double> coordinatesToValues;
+  /** values aligned to the slots of the {@link CoordinateIndex}, NaN marks missing values */
+  protected final double[] values;
 
   protected final Parameter parameter;
 
   protected final boolean validFile;
 
-  public ExtractorResult(
-      Parameter parameter, Map<CoordinateModel, Double> coordinateToValueMap, boolean validFile) {
+  public ExtractorResult(Parameter parameter, double[] values, boolean validFile) {
     this.validFile = validFile;
-    this.coordinatesToValues = coordinateToValueMap;
+    this.values = values;
     this.parameter = parameter;
   }
 
-  public Double getValue(CoordinateModel coordinate) {
-    return coordinatesToValues.get(coordinate);
+  /** @return the value of the given coordinate slot or null, if it is missing */
+  public Double getValue(int slot) {
+    double value = values[slot];
+    return Double.isNaN(value) ? null : value;
   }
 
-  public Map<CoordinateModel, Double> getCoordinatesToValues() {
-    return coordinatesToValues;
+  /** @return values aligned to the slots of the {@link CoordinateIndex} or null */
+  public double[] getValues() {
+    return values;
   }
 
   public Parameter getParameter() {
@@ -0,0 +1,59 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+/**
+ * Values of one parameter of a {@link WeatherFrame}, aligned to the slots of the {@link
+ * CoordinateIndex}. Single precision columns round the values they are set to.
+ */
+interface FrameColumn {
+
+  double get(int slot);
+
+  void set(int slot, double value);
+
+  /** @return a column on the heap */
+  static FrameColumn onHeap(int size, boolean singlePrecision) {
+    return singlePrecision ? new Floats(size) : new Doubles(size);
+  }
+
+  final class Doubles implements FrameColumn {
+    private final double[] values;
+
+    Doubles(int size) {
+      values = new double[size];
+    }
+
+    @Override
+    public double get(int slot) {
+      return values[slot];
+    }
+
+    @Override
+    public void set(int slot, double value) {
+      values[slot] = value;
+    }
+  }
+
+  final class Floats implements FrameColumn {
+    private final float[] values;
+
+    Floats(int size) {
+      values = new float[size];
+    }
+
+    @Override
+    public double get(int slot) {
+      return values[slot];
+    }
+
+    @Override
+    public void set(int slot, double value) {
+      values[slot] = (float) value;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import edu.ie3.tools.utils.enums.Parameter;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+
+/**
+ * Reuses the {@link WeatherFrame WeatherFrames} and the value buffers of {@link ExtractorResult
+ * ExtractorResults} across timesteps, as all of them have the size of the coordinate index.
+ * Released frames keep their columns and are reset for the next date. <br>
+ * The pool keeps as many frames and buffers as the timesteps in flight need, everything released
+ * beyond that is left to the garbage collector (or returned to the {@link OffHeapArena}). A pool
+ * for no timesteps in flight never reuses anything.
+ */
+public class FramePool {
+
+  /** frames of a timestep in flight: the converted weather and the previously persisted one */
+  public static final int FRAMES_PER_TIMESTEP = 2;
+
+  /** buffers of a timestep in flight: one per parameter */
+  public static final int BUFFERS_PER_TIMESTEP = Parameter.values().length;
+
+  private final CoordinateIndex coordinates;
+  private final boolean singlePrecision;
+  private final OffHeapArena arena;
+  private final int maxFrames;
+  private final int maxBuffers;
+
+  private final ArrayDeque<WeatherFrame> frames = new ArrayDeque<>();
+  private final ArrayDeque<double[]> buffers = new ArrayDeque<>();
+
+  private long acquiredFrames;
+  private long reusedFrames;
+  private long acquiredBuffers;
+  private long reusedBuffers;
+
+  /**
+   * @param singlePrecision true, if the values of the frames are to be kept as float32
+   * @param arena arena to allocate the columns of the frames from or null, if they are to be kept
+   *     on the heap
+   * @param timestepsInFlight number of timesteps that are converted at the same time
+   */
+  public FramePool(
+      CoordinateIndex coordinates,
+      boolean singlePrecision,
+      OffHeapArena arena,
+      int timestepsInFlight) {
+    this.coordinates = coordinates;
+    this.singlePrecision = singlePrecision;
+    this.arena = arena;
+    this.maxFrames = FRAMES_PER_TIMESTEP * timestepsInFlight;
+    this.maxBuffers = BUFFERS_PER_TIMESTEP * timestepsInFlight;
+  }
+
+  public CoordinateIndex getCoordinates() {
+    return coordinates;
+  }
+
+  /** @return an empty frame of the given date, to be {@link WeatherFrame#release() released} */
+  public synchronized WeatherFrame frame(ZonedDateTime date) {
+    acquiredFrames++;
+    WeatherFrame frame = frames.poll();
+    if (frame == null) return new WeatherFrame(date, coordinates, singlePrecision, arena, this);
+    reusedFrames++;
+    frame.reset(date);
+    return frame;
+  }
+
+  /** Keeps the given released frame, if the timesteps in flight need it */
+  synchronized void recycle(WeatherFrame frame) {
+    if (frames.size() < maxFrames) frames.push(frame);
+    else frame.free();
+  }
+
+  /**
+   * @return a buffer of one value per slot of the coordinate index, its values are undefined and
+   *     have to be overwritten
+   */
+  public synchronized double[] buffer() {
+    acquiredBuffers++;
+    double[] buffer = buffers.poll();
+    if (buffer == null) return new double[coordinates.size()];
+    reusedBuffers++;
+    return buffer;
+  }
+
+  /** Keeps the given buffer, which must not be used anymore, if the timesteps in flight need it */
+  public synchronized void recycle(double[] buffer) {
+    if (buffer != null && buffer.length == coordinates.size() && buffers.size() < maxBuffers)
+      buffers.push(buffer);
+  }
+
+  /**
+   * @return a summary of the frames and buffers reused since the last call or null, if none were
+   *     acquired
+   */
+  public synchronized String drainStatistics() {
+    if (acquiredFrames + acquiredBuffers == 0) return null;
+    String statistics =
+        "Frame pool: reused "
+            + reusedFrames
+            + " of "
+            + acquiredFrames
+            + " frames and "
+            + reusedBuffers
+            + " of "
+            + acquiredBuffers
+            + " buffers";
+    acquiredFrames = reusedFrames = acquiredBuffers = reusedBuffers = 0;
+    return statistics;
+  }
+
+  /** Frees all pooled frames and buffers */
+  public synchronized void clear() {
+    frames.forEach(WeatherFrame::free);
+    frames.clear();
+    buffers.clear();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import edu.ie3.tools.grib.GridDefinition;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import java.util.Arrays;
+
+/**
+ * Mapping between the slots of a {@link CoordinateIndex} and the flat indices of the points of a
+ * {@link GridDefinition GRIB2 grid}, computed arithmetically from the grid definition
+ */
+public class GridMapping {
+
+  private static final int UNMAPPED = -1;
+
+  private final GridDefinition grid;
+  private final int[] gridIndices;
+  private final int[] slots;
+  private final int unmappedSlots;
+
+  GridMapping(CoordinateIndex coordinates, GridDefinition grid) {
+    this.grid = grid;
+    this.gridIndices = new int[coordinates.size()];
+    this.slots = new int[grid.getNumberOfPoints()];
+    Arrays.fill(slots, UNMAPPED);
+    int unmapped = 0;
+    for (int slot = 0; slot < gridIndices.length; slot++) {
+      CoordinateModel coordinate = coordinates.get(slot);
+      int gridIndex = grid.indexOf(coordinate.getLatitude(), coordinate.getLongitude());
+      gridIndices[slot] = gridIndex;
+      if (gridIndex == UNMAPPED) unmapped++;
+      else slots[gridIndex] = slot;
+    }
+    this.unmappedSlots = unmapped;
+  }
+
+  public GridDefinition getGrid() {
+    return grid;
+  }
+
+  /** @return number of slots */
+  public int size() {
+    return gridIndices.length;
+  }
+
+  /** @return the grid index of the given slot or -1, if its coordinate is not part of the grid */
+  public int gridIndex(int slot) {
+    return gridIndices[slot];
+  }
+
+  /** @return the slot of the given grid index or -1, if no coordinate maps to it */
+  public int slot(int gridIndex) {
+    return gridIndex < 0 || gridIndex >= slots.length ? UNMAPPED : slots[gridIndex];
+  }
+
+  /** @return the slot of the given grid coordinate or -1, if no coordinate maps to it */
+  public int slot(double latitude, double longitude) {
+    return slot(grid.indexOf(latitude, longitude));
+  }
+
+  /** @return number of slots whose coordinate is not part of the grid */
+  public int getUnmappedSlots() {
+    return unmappedSlots;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * Pool of native memory segments (jdk.incubator.foreign) backing the columns of {@link
+ * WeatherFrame WeatherFrames}, so that the values of a timestep are neither scanned nor copied by
+ * the garbage collector. Columns released by a frame are reused by the next frames, all segments
+ * are freed when the arena is closed. <br>
+ * Segments are allocated in a shared scope, as frames are written by the upsert threads, too.
+ * Creating an arena throws a {@link LinkageError}, if jdk.incubator.foreign is not available.
+ */
+public class OffHeapArena implements AutoCloseable {
+
+  private final ResourceScope scope = ResourceScope.newSharedScope();
+
+  /** released segments by their size in bytes */
+  private final Map<Long, ArrayDeque<MemorySegment>> pool = new HashMap<>();
+
+  private long allocatedBytes;
+  private long reusedSegments;
+
+  /** @return a column of the given number of slots, taken from the pool if possible */
+  synchronized FrameColumn column(int size, boolean singlePrecision) {
+    long bytes = (long) size * (singlePrecision ? Float.BYTES : Double.BYTES);
+    ArrayDeque<MemorySegment> released = pool.get(bytes);
+    MemorySegment segment;
+    if (released != null && !released.isEmpty()) {
+      segment = released.pop();
+      reusedSegments++;
+    } else {
+      segment = MemorySegment.allocateNative(bytes, scope);
+      allocatedBytes += bytes;
+    }
+    return singlePrecision ? new Floats(segment) : new Doubles(segment);
+  }
+
+  /** Returns the segment of the given column to the pool, the column must not be used anymore */
+  synchronized void release(FrameColumn column) {
+    MemorySegment segment = ((NativeColumn) column).segment;
+    pool.computeIfAbsent(segment.byteSize(), bytes -> new ArrayDeque<>()).push(segment);
+  }
+
+  /** @return total size of all native segments of this arena in bytes */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /** @return number of columns that were backed by a released segment */
+  public synchronized long getReusedSegments() {
+    return reusedSegments;
+  }
+
+  /** Frees all segments, columns of this arena must not be used afterwards */
+  @Override
+  public synchronized void close() {
+    pool.clear();
+    scope.close();
+  }
+
+  private abstract static class NativeColumn implements FrameColumn {
+    final MemorySegment segment;
+
+    NativeColumn(MemorySegment segment) {
+      this.segment = segment;
+    }
+  }
+
+  private static final class Doubles extends NativeColumn {
+    Doubles(MemorySegment segment) {
+      super(segment);
+    }
+
+    @Override
+    public double get(int slot) {
+      return MemoryAccess.getDoubleAtIndex(segment, slot);
+    }
+
+    @Override
+    public void set(int slot, double value) {
+      MemoryAccess.setDoubleAtIndex(segment, slot, value);
+    }
+  }
+
+  private static final class Floats extends NativeColumn {
+    Floats(MemorySegment segment) {
+      super(segment);
+    }
+
+    @Override
+    public double get(int slot) {
+      return MemoryAccess.getFloatAtIndex(segment, slot);
+    }
+
+    @Override
+    public void set(int slot, double value) {
+      MemoryAccess.setFloatAtIndex(segment, slot, (float) value);
+    }
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import edu.ie3.tools.models.persistence.ICONWeatherModel;
+import edu.ie3.tools.utils.ConfigurationParameters;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Weather of all coordinates at one date, stored column wise: one primitive array per {@link
+ * Parameter}, aligned to the slots of the {@link CoordinateIndex}, and a bitmask per parameter
+ * marking the slots that hold a value. All other values are null. <br>
+ * Replaces a list of {@link ICONWeatherModel ICONWeatherModels} with boxed values during merging,
+ * interpolation and persistence, entities are only created as views of single slots. <br>
+ * In single precision, values are stored, interpolated and written as float32, which halves the
+ * memory of a frame. GRIB2 fields of ICON-EU are packed far below float32 precision. Frames of an
+ * {@link OffHeapArena} keep their values in native memory until they are {@link #release()
+ * released}. Frames of a {@link FramePool} are reused for later dates once they are released.
+ */
+public class WeatherFrame {
+
+  private static final Parameter[] PARAMETERS = Parameter.values();
+
+  private ZonedDateTime date;
+  private final CoordinateIndex coordinates;
+  private final boolean singlePrecision;
+  private final OffHeapArena arena;
+  private final FramePool pool;
+
+  /** columns by parameter ordinal, allocated once the first value of a parameter is set */
+  private final FrameColumn[] columns = new FrameColumn[PARAMETERS.length];
+
+  /** set bits mark the slots of a column that hold a value */
+  private final BitSet[] present = new BitSet[PARAMETERS.length];
+
+  public WeatherFrame(ZonedDateTime date, CoordinateIndex coordinates) {
+    this(date, coordinates, false);
+  }
+
+  /** @param singlePrecision true, if values are to be kept as float32 */
+  public WeatherFrame(ZonedDateTime date, CoordinateIndex coordinates, boolean singlePrecision) {
+    this(date, coordinates, singlePrecision, null);
+  }
+
+  /**
+   * @param singlePrecision true, if values are to be kept as float32
+   * @param arena arena to allocate the columns from or null, if they are to be kept on the heap
+   */
+  public WeatherFrame(
+      ZonedDateTime date,
+      CoordinateIndex coordinates,
+      boolean singlePrecision,
+      OffHeapArena arena) {
+    this(date, coordinates, singlePrecision, arena, null);
+  }
+
+  WeatherFrame(
+      ZonedDateTime date,
+      CoordinateIndex coordinates,
+      boolean singlePrecision,
+      OffHeapArena arena,
+      FramePool pool) {
+    this.date = date;
+    this.coordinates = coordinates;
+    this.singlePrecision = singlePrecision;
+    this.arena = arena;
+    this.pool = pool;
+  }
+
+  public ZonedDateTime getDate() {
+    return date;
+  }
+
+  public CoordinateIndex getCoordinates() {
+    return coordinates;
+  }
+
+  public int size() {
+    return coordinates.size();
+  }
+
+  public boolean isSinglePrecision() {
+    return singlePrecision;
+  }
+
+  /** @return true, if the given parameter has a value at the given slot */
+  public boolean isPresent(Parameter parameter, int slot) {
+    BitSet mask = present[parameter.ordinal()];
+    return mask != null && mask.get(slot);
+  }
+
+  /** @return the value of the given parameter at the given slot or NaN, if it is null */
+  public double getDouble(Parameter parameter, int slot) {
+    return isPresent(parameter, slot) ? value(parameter.ordinal(), slot) : Double.NaN;
+  }
+
+  /** @return the value of the given parameter at the given slot or null */
+  public Double get(Parameter parameter, int slot) {
+    return isPresent(parameter, slot) ? value(parameter.ordinal(), slot) : null;
+  }
+
+  /**
+   * @return the value of the given parameter at the given slot as it is written to the database or
+   *     NaN, if it is null. In single precision, this is the value of the shortest representation
+   *     of the float, just like in {@link #getSQLInsertValuesString(int)}.
+   */
+  public double getSQLDouble(Parameter parameter, int slot) {
+    if (!isPresent(parameter, slot)) return Double.NaN;
+    double value = value(parameter.ordinal(), slot);
+    return singlePrecision ? Double.parseDouble(Float.toString((float) value)) : value;
+  }
+
+  private double value(int ordinal, int slot) {
+    return columns[ordinal].get(slot);
+  }
+
+  /**
+   * Sets the value of the given parameter at the given slot, NaN values are ignored. In single
+   * precision, the value is rounded to the nearest float.
+   */
+  public void set(Parameter parameter, int slot, double value) {
+    if (Double.isNaN(value)) return;
+    int ordinal = allocate(parameter);
+    columns[ordinal].set(slot, value);
+    present[ordinal].set(slot);
+  }
+
+  /**
+   * Sets the values of the given parameter, e.g. of an {@link ExtractorResult}
+   *
+   * @param values values aligned to the slots, NaN values are ignored
+   */
+  public void set(Parameter parameter, double[] values) {
+    int ordinal = allocate(parameter);
+    FrameColumn column = columns[ordinal];
+    BitSet mask = present[ordinal];
+    for (int slot = 0; slot < values.length; slot++) {
+      double value = values[slot];
+      if (Double.isNaN(value)) continue;
+      column.set(slot, value);
+      mask.set(slot);
+    }
+  }
+
+  /** Allocates the column of the given parameter, if necessary, and returns its ordinal */
+  private int allocate(Parameter parameter) {
+    int ordinal = parameter.ordinal();
+    if (present[ordinal] == null) {
+      int size = coordinates.size();
+      columns[ordinal] =
+          arena != null
+              ? arena.column(size, singlePrecision)
+              : FrameColumn.onHeap(size, singlePrecision);
+      present[ordinal] = new BitSet(size);
+    }
+    return ordinal;
+  }
+
+  /**
+   * Returns this frame to its pool or its columns to its arena, the frame must not be used
+   * afterwards
+   */
+  public void release() {
+    if (pool != null) pool.recycle(this);
+    else free();
+  }
+
+  /** Clears all values of this frame and moves it to the given date, the columns are kept */
+  void reset(ZonedDateTime date) {
+    this.date = date;
+    for (BitSet mask : present) if (mask != null) mask.clear();
+  }
+
+  /** Returns the columns of this frame to its arena, all values are null afterwards */
+  void free() {
+    for (int ordinal = 0; ordinal < columns.length; ordinal++) {
+      if (columns[ordinal] != null && arena != null) arena.release(columns[ordinal]);
+      columns[ordinal] = null;
+      present[ordinal] = null;
+    }
+  }
+
+  /**
+   * Interpolates the values of this frame with the previous ones, see {@link
+   * ICONWeatherModel#interpolateValues(ICONWeatherModel, double)}. Values that are only present in
+   * the previous frame are kept. In single precision, the interpolation is calculated in single
+   * precision, too.
+   *
+   * @param previous previously persisted weather at the date of this frame, aligned to the same
+   *     slots
+   * @param interpolationRatio weight of the values of this frame
+   */
+  public void interpolate(WeatherFrame previous, double interpolationRatio) {
+    for (Parameter parameter : PARAMETERS) {
+      int ordinal = parameter.ordinal();
+      BitSet previousMask = previous.present[ordinal];
+      if (previousMask == null) continue;
+      allocate(parameter);
+      if (singlePrecision) interpolateFloats(ordinal, previous, (float) interpolationRatio);
+      else interpolateDoubles(ordinal, previous, interpolationRatio);
+    }
+  }
+
+  private void interpolateDoubles(int ordinal, WeatherFrame previous, double interpolationRatio) {
+    BitSet previousMask = previous.present[ordinal];
+    FrameColumn column = columns[ordinal];
+    BitSet mask = present[ordinal];
+    int slot = previousMask.nextSetBit(0);
+    for (; slot >= 0; slot = previousMask.nextSetBit(slot + 1)) {
+      double earlierValue = previous.value(ordinal, slot);
+      double newerValue = column.get(slot);
+      if (mask.get(slot))
+        column.set(slot, earlierValue * (1 - interpolationRatio) + newerValue * interpolationRatio);
+      else {
+        column.set(slot, earlierValue);
+        mask.set(slot);
+      }
+    }
+  }
+
+  private void interpolateFloats(int ordinal, WeatherFrame previous, float interpolationRatio) {
+    BitSet previousMask = previous.present[ordinal];
+    FrameColumn column = columns[ordinal];
+    BitSet mask = present[ordinal];
+    int slot = previousMask.nextSetBit(0);
+    for (; slot >= 0; slot = previousMask.nextSetBit(slot + 1)) {
+      float earlierValue = (float) previous.value(ordinal, slot);
+      float newerValue = (float) column.get(slot);
+      if (mask.get(slot))
+        column.set(slot, earlierValue * (1 - interpolationRatio) + newerValue * interpolationRatio);
+      else {
+        column.set(slot, earlierValue);
+        mask.set(slot);
+      }
+    }
+  }
+
+  /** @return a new entity holding the values of the given slot */
+  public ICONWeatherModel getEntity(int slot) {
+    ICONWeatherModel entity = new ICONWeatherModel(date, coordinates.get(slot));
+    for (Parameter parameter : PARAMETERS) entity.setParameter(parameter, get(parameter, slot));
+    return entity;
+  }
+
+  /** @return new entities of all slots, see {@link #getEntity(int)} */
+  public List<ICONWeatherModel> getEntities() {
+    List<ICONWeatherModel> entities = new ArrayList<>(size());
+    for (int slot = 0; slot < size(); slot++) entities.add(getEntity(slot));
+    return entities;
+  }
+
+  /**
+   * @return values of the given slot for an insert statement, equal to {@link
+   *     ICONWeatherModel#getSQLInsertValuesString()} of the entity of the slot. In single
+   *     precision, values are written with the shortest representation of their float.
+   */
+  public String getSQLInsertValuesString(int slot) {
+    StringBuilder insertValues = new StringBuilder("(");
+    insertValues.append("'").append(ConfigurationParameters.SQL_FORMATTER(date)).append("', ");
+    for (Parameter parameter : ICONWeatherModel.SQL_COLUMN_ORDER) {
+      if (!isPresent(parameter, slot)) insertValues.append("null");
+      else if (singlePrecision) insertValues.append((float) value(parameter.ordinal(), slot));
+      else insertValues.append(value(parameter.ordinal(), slot));
+      insertValues.append(", ");
+    }
+    insertValues.append(coordinates.get(slot).getId());
+    insertValues.append(")");
+    return insertValues.toString();
+  }
+}
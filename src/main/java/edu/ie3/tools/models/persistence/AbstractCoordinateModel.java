@@ -82,7 +82,8 @@ public abstract class AbstractCoordinateModel implements Serializable {
 
   @Override
   public int hashCode() {
-    return Objects.hash(latitude, longitude);
+    // equals Objects.hash(latitude, longitude) without boxing both values
+    return 31 * (31 + Double.hashCode(latitude)) + Double.hashCode(longitude);
   }
 
   @Override
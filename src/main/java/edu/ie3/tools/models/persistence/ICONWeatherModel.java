@@ -6,12 +6,12 @@
 
 package edu.ie3.tools.models.persistence;
 
+import edu.ie3.tools.models.WeatherFrame;
 import edu.ie3.tools.models.persistence.keys.ICONWeatherKey;
 import edu.ie3.tools.utils.ConfigurationParameters;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
-import java.util.Collection;
 import java.util.Objects;
 import javax.persistence.*;
 
@@ -20,6 +20,46 @@ import javax.persistence.*;
 public class ICONWeatherModel implements Serializable {
   private static final long serialVersionUID = -3506091597737302833L;
 
+  private static final Parameter[] PARAMETERS = Parameter.values();
+
+  /**
+   * Parameters in order of their columns in {@link #getSQLUpsertStatement(WeatherFrame, int, int,
+   * String)}
+   */
+  public static final Parameter[] SQL_COLUMN_ORDER = {
+    Parameter.ALBEDO,
+    Parameter.ASOB_S,
+    Parameter.DIFS_D,
+    Parameter.DIFS_U,
+    Parameter.DIRS,
+    Parameter.SOBS_RAD,
+    Parameter.P_20M,
+    Parameter.P_65M,
+    Parameter.P_131M,
+    Parameter.T_131M,
+    Parameter.T_2M,
+    Parameter.T_G,
+    Parameter.U_10M,
+    Parameter.U_131M,
+    Parameter.U_20M,
+    Parameter.U_216M,
+    Parameter.U_65M,
+    Parameter.V_10M,
+    Parameter.V_131M,
+    Parameter.V_20M,
+    Parameter.V_216M,
+    Parameter.V_65M,
+    Parameter.W_131M,
+    Parameter.W_20M,
+    Parameter.W_216M,
+    Parameter.W_65M,
+    Parameter.Z0
+  };
+
+  /** Columns of the weather table in the order of the values of an upsert statement */
+  public static final String SQL_COLUMNS =
+      "datum, alb_rad, asob_s, aswdifd_s, aswdifu_s, aswdir_s, sobs_rad, p_20m, p_65m, p_131m, t_131m, t_2m, t_g, u_10m, u_131m, u_20m, u_216m, u_65m, v_10m, v_131m, v_20m, v_216m, v_65m, w_131m, w_20m, w_216m, w_65m, z0, coordinate_id";
+
   @Id
   @Column(name = "datum", nullable = false)
   private ZonedDateTime date;
@@ -28,113 +68,14 @@ public class ICONWeatherModel implements Serializable {
   @ManyToOne(cascade = CascadeType.DETACH)
   private CoordinateModel coordinate;
 
-  /** Albedo in % */
-  @Column(name = "alb_rad")
-  private Double alb_rad;
-
-  /** Net short-wave radiation flux at surface in W/m² */
-  @Column(name = "asob_s")
-  private Double asob_s;
-
-  /** Surface down solar diffuse radiation in W/m² */
-  @Column(name = "aswdifd_s")
-  private Double aswdifd_s;
-
-  /** Surface up diffuse radiation in W/m² */
-  @Column(name = "aswdifu_s")
-  private Double aswdifu_s;
-
-  /** Direct radiation in W/m² */
-  @Column(name = "aswdir_s")
-  private Double aswdirs_s;
-
-  /** Net short-wave radiation flux at surface (instantaneous) in W/m² */
-  @Column(name = "sobs_rad")
-  private Double sobs_rad;
-
-  /** Temperature at 131m above ground in K */
-  @Column(name = "t_131m")
-  private Double t_131m;
-
-  /** Temperature at 2m above ground in K */
-  @Column(name = "t_2m")
-  private Double t_2m;
-
-  /** Ground temperature in K */
-  @Column(name = "t_g")
-  private Double t_g;
-
-  /** Zonal wind at 10m above ground in m/s */
-  @Column(name = "u_10m")
-  private Double u_10m;
-
-  /** Meridional wind at 10m above ground in m/s */
-  @Column(name = "v_10m")
-  private Double v_10m;
-
-  /** Surface roughness in m */
-  @Column(name = "z0")
-  private Double z0;
-
-  /** Pressure at 20m above ground in Pa */
-  @Column(name = "p_20m")
-  private Double p_20m;
-
-  /** Pressure at 65m above ground in Pa */
-  @Column(name = "p_65m")
-  private Double p_65m;
-
-  /** Pressure at 131m above ground in Pa */
-  @Column(name = "p_131m")
-  private Double p_131m;
-
-  /** Zonal wind at 20m above ground in m/s */
-  @Column(name = "u_20m")
-  private Double u_20m;
-
-  /** Meridional wind at 20m above ground in m/s */
-  @Column(name = "v_20m")
-  private Double v_20m;
-
-  /** Vertical wind at 20m above ground in m/s */
-  @Column(name = "w_20m")
-  private Double w_20m;
-
-  /** Zonal wind at 65m above ground in m/s */
-  @Column(name = "u_65m")
-  private Double u_65m;
-
-  /** Meridional wind at 65m above ground in m/s */
-  @Column(name = "v_65m")
-  private Double v_65m;
-
-  /** Vertical wind at 65m above ground in m/s */
-  @Column(name = "w_65m")
-  private Double w_65m;
-
-  /** Zonal wind at 131m above ground in m/s */
-  @Column(name = "u_131m")
-  private Double u_131m;
-
-  /** Meridional wind at 131m above ground in m/s */
-  @Column(name = "v_131m")
-  private Double v_131m;
-
-  /** Vertical wind at 131m above ground in m/s */
-  @Column(name = "w_131m")
-  private Double w_131m;
-
-  /** Zonal wind at 216m above ground in m/s */
-  @Column(name = "u_216m")
-  private Double u_216m;
-
-  /** Meridional wind at 216m above ground in m/s */
-  @Column(name = "v_216m")
-  private Double v_216m;
+  /**
+   * values by parameter ordinal, mapped to their columns by the annotated getters, only the values
+   * of the parameters in {@link #present} are valid
+   */
+  @Transient private final double[] values = new double[PARAMETERS.length];
 
-  /** Vertical wind at 216m above ground in m/s */
-  @Column(name = "w_216m")
-  private Double w_216m;
+  /** bit i is set, if the value of the parameter with ordinal i is not null */
+  @Transient private long present;
 
   public ICONWeatherModel() {}
 
@@ -146,17 +87,19 @@ public class ICONWeatherModel implements Serializable {
   // new Model
   public static ICONWeatherModel getInterpolatedEntity(ICONWeatherModel... entities) {
     ICONWeatherModel interpolatedEntity = new ICONWeatherModel();
-    for (Parameter param : Parameter.values()) {
-      int numberOfValues = 0;
-      double paramValue = 0.0;
-      for (ICONWeatherModel entity : entities) {
-        Double val;
-        if ((val = entity.getParameter(param)) != null) {
-          numberOfValues++;
-          paramValue += val;
-        }
+    double[] sums = interpolatedEntity.values;
+    int[] numberOfValues = new int[PARAMETERS.length];
+    for (ICONWeatherModel entity : entities) {
+      for (long mask = entity.present; mask != 0; mask &= mask - 1) {
+        int ordinal = Long.numberOfTrailingZeros(mask);
+        sums[ordinal] += entity.values[ordinal];
+        numberOfValues[ordinal]++;
       }
-      if (numberOfValues > 0) interpolatedEntity.setParameter(param, paramValue / numberOfValues);
+      interpolatedEntity.present |= entity.present;
+    }
+    for (long mask = interpolatedEntity.present; mask != 0; mask &= mask - 1) {
+      int ordinal = Long.numberOfTrailingZeros(mask);
+      sums[ordinal] /= numberOfValues[ordinal];
     }
     return interpolatedEntity;
   }
@@ -165,23 +108,147 @@ public class ICONWeatherModel implements Serializable {
     return new ICONWeatherKey(coordinate, date);
   }
 
-  public static String getSQLUpsertStatement(Collection<ICONWeatherModel> entities) {
-    return getSQLUpsertStatement(entities, "public");
+  /**
+   * @return upsert statement for the slots fromSlot (inclusive) to toSlot (exclusive) of the given
+   *     frame, equal to the statement of the entities of these slots
+   */
+  public static String getSQLUpsertStatement(
+      WeatherFrame frame, int fromSlot, int toSlot, String database_schema) {
+    return getSQLUpsertStatement(frame, fromSlot, toSlot, database_schema, null);
   }
 
+  /**
+   * @param interpolationRatio ratio to interpolate the values with the persisted ones on conflict,
+   *     see {@link #appendSQLOnConflict(StringBuilder, Double)}, or null to overwrite them
+   */
   public static String getSQLUpsertStatement(
-      Collection<ICONWeatherModel> entities, String database_schema) {
+      WeatherFrame frame,
+      int fromSlot,
+      int toSlot,
+      String database_schema,
+      Double interpolationRatio) {
+    StringBuilder upsertStatementBuilder = new StringBuilder();
+    appendSQLInsertInto(upsertStatementBuilder, database_schema);
+    for (int slot = fromSlot; slot < toSlot; slot++)
+      upsertStatementBuilder.append(frame.getSQLInsertValuesString(slot)).append(", ");
+    removeLastComma(upsertStatementBuilder);
+    appendSQLOnConflict(upsertStatementBuilder, interpolationRatio);
+    return upsertStatementBuilder.toString();
+  }
+
+  /**
+   * @return statement upserting all rows of the given table, which has to provide the {@link
+   *     #SQL_COLUMNS}, e.g. a staging table filled by COPY
+   */
+  public static String getSQLUpsertFromStatement(String table, String database_schema) {
+    return getSQLUpsertFromStatement(table, database_schema, null);
+  }
+
+  /**
+   * @param interpolationRatio ratio to interpolate the values with the persisted ones on conflict,
+   *     see {@link #appendSQLOnConflict(StringBuilder, Double)}, or null to overwrite them
+   */
+  public static String getSQLUpsertFromStatement(
+      String table, String database_schema, Double interpolationRatio) {
+    StringBuilder upsertStatementBuilder = new StringBuilder();
+    upsertStatementBuilder.append(
+        "INSERT INTO "
+            + database_schema
+            + ".weather(\n"
+            + "\t"
+            + SQL_COLUMNS
+            + ")\n"
+            + "\t SELECT "
+            + SQL_COLUMNS
+            + " FROM "
+            + table
+            + " ");
+    appendSQLOnConflict(upsertStatementBuilder, interpolationRatio);
+    return upsertStatementBuilder.toString();
+  }
+
+  /**
+   * @return parameterized statement upserting a single row, the parameters are the {@link
+   *     #SQL_COLUMNS}. Batches of it are rewritten to multi-row statements by the driver, if the
+   *     connection property reWriteBatchedInserts is set.
+   */
+  public static String getPSQLUpsertString(String database_schema) {
+    return getPSQLUpsertString(database_schema, null);
+  }
+
+  /**
+   * @param interpolationRatio ratio to interpolate the values with the persisted ones on conflict,
+   *     see {@link #appendSQLOnConflict(StringBuilder, Double)}, or null to overwrite them
+   */
+  public static String getPSQLUpsertString(String database_schema, Double interpolationRatio) {
     StringBuilder upsertStatementBuilder = new StringBuilder();
+    appendSQLInsertInto(upsertStatementBuilder, database_schema);
+    upsertStatementBuilder.append("(?");
+    for (int i = 0; i < SQL_COLUMN_ORDER.length + 1; i++) upsertStatementBuilder.append(", ?");
+    upsertStatementBuilder.append(") ");
+    appendSQLOnConflict(upsertStatementBuilder, interpolationRatio);
+    return upsertStatementBuilder.toString();
+  }
+
+  private static void appendSQLInsertInto(
+      StringBuilder upsertStatementBuilder, String database_schema) {
     upsertStatementBuilder.append(
         "INSERT INTO "
             + database_schema
             + ".weather(\n"
-            + "\tdatum, alb_rad, asob_s, aswdifd_s, aswdifu_s, aswdir_s, sobs_rad, p_20m, p_65m, p_131m, t_131m, t_2m, t_g, u_10m, u_131m, u_20m, u_216m, u_65m, v_10m, v_131m, v_20m, v_216m, v_65m, w_131m, w_20m, w_216m, w_65m, z0, coordinate_id)\n"
+            + "\t"
+            + SQL_COLUMNS
+            + ")\n"
             + "\t VALUES ");
-    entities.forEach(
-        entity -> upsertStatementBuilder.append(entity.getSQLInsertValuesString() + ", "));
+  }
+
+  private static void removeLastComma(StringBuilder upsertStatementBuilder) {
     int lastComma = upsertStatementBuilder.lastIndexOf(",");
     upsertStatementBuilder.deleteCharAt(lastComma);
+  }
+
+  /**
+   * Appends the ON CONFLICT clause, which interpolates the new values with the persisted ones just
+   * like {@link #interpolationCalculation(Double, Double, double)}, if an interpolation ratio is
+   * given: null values keep the other value, otherwise persisted * (1 - ratio) + new * ratio. Both
+   * weights are cast to double precision, so the result is exactly the one of the Java path (in
+   * single precision, it may differ in the last bit of the float, as it is not computed in float).
+   */
+  private static void appendSQLOnConflict(
+      StringBuilder upsertStatementBuilder, Double interpolationRatio) {
+    if (interpolationRatio == null) {
+      appendSQLOnConflict(upsertStatementBuilder);
+      return;
+    }
+    String earlierWeight = "CAST(" + (1 - interpolationRatio) + " AS double precision)";
+    String newerWeight = "CAST(" + interpolationRatio + " AS double precision)";
+    upsertStatementBuilder.append("ON CONFLICT (coordinate_id, datum) DO UPDATE \n" + "  SET ");
+    upsertStatementBuilder.append("datum=excluded.datum,\n");
+    String[] columns = SQL_COLUMNS.split(", ");
+    // the values are in between datum and coordinate_id
+    for (int i = 1; i < columns.length - 1; i++) {
+      String column = columns[i];
+      upsertStatementBuilder
+          .append(" ")
+          .append(column)
+          .append("=COALESCE(weather.")
+          .append(column)
+          .append(" * ")
+          .append(earlierWeight)
+          .append(" + excluded.")
+          .append(column)
+          .append(" * ")
+          .append(newerWeight)
+          .append(", excluded.")
+          .append(column)
+          .append(", weather.")
+          .append(column)
+          .append("),\n");
+    }
+    upsertStatementBuilder.append(" coordinate_id=excluded.coordinate_id;");
+  }
+
+  private static void appendSQLOnConflict(StringBuilder upsertStatementBuilder) {
     upsertStatementBuilder.append("ON CONFLICT (coordinate_id, datum) DO UPDATE \n" + "  SET ");
     upsertStatementBuilder.append(
         "datum=excluded.datum,\n"
@@ -213,7 +280,6 @@ public class ICONWeatherModel implements Serializable {
             + " w_65m=excluded.w_65m,\n"
             + " z0=excluded.z0,\n"
             + " coordinate_id=excluded.coordinate_id;");
-    return upsertStatementBuilder.toString();
   }
 
   public ZonedDateTime getDate() {
@@ -224,485 +290,349 @@ public class ICONWeatherModel implements Serializable {
     this.date = date;
   }
 
+  /** Albedo in % */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "alb_rad")
   public Double getAlb_rad() {
-    return alb_rad;
+    return getParameter(Parameter.ALBEDO);
   }
 
   public void setAlb_rad(Double alb_rad) {
-    this.alb_rad = alb_rad;
+    putParameter(Parameter.ALBEDO, alb_rad);
   }
 
+  /** Net short-wave radiation flux at surface in W/m² */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "asob_s")
   public Double getAsob_s() {
-    return asob_s;
+    return getParameter(Parameter.ASOB_S);
   }
 
   public void setAsob_s(Double asob_s) {
-    this.asob_s = asob_s;
+    putParameter(Parameter.ASOB_S, asob_s);
   }
 
+  /** Surface down solar diffuse radiation in W/m² */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "aswdifd_s")
   public Double getAswdifd_s() {
-    return aswdifd_s;
+    return getParameter(Parameter.DIFS_D);
   }
 
   public void setAswdifd_s(Double aswdifd_s) {
-    this.aswdifd_s = aswdifd_s;
+    putParameter(Parameter.DIFS_D, aswdifd_s);
   }
 
+  /** Surface up diffuse radiation in W/m² */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "aswdifu_s")
   public Double getAswdifu_s() {
-    return aswdifu_s;
+    return getParameter(Parameter.DIFS_U);
   }
 
   public void setAswdifu_s(Double aswdifu_s) {
-    this.aswdifu_s = aswdifu_s;
+    putParameter(Parameter.DIFS_U, aswdifu_s);
   }
 
+  /** Direct radiation in W/m² */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "aswdir_s")
   public Double getAswdirs_s() {
-    return aswdirs_s;
+    return getParameter(Parameter.DIRS);
   }
 
   public void setAswdirs_s(Double aswdirs_s) {
-    this.aswdirs_s = aswdirs_s;
+    putParameter(Parameter.DIRS, aswdirs_s);
   }
 
+  /** Temperature at 2m above ground in K */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "t_2m")
   public Double getT_2m() {
-    return t_2m;
+    return getParameter(Parameter.T_2M);
   }
 
   public void setT_2m(Double t_2m) {
-    this.t_2m = t_2m;
+    putParameter(Parameter.T_2M, t_2m);
   }
 
+  /** Ground temperature in K */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "t_g")
   public Double getT_g() {
-    return t_g;
+    return getParameter(Parameter.T_G);
   }
 
   public void setT_g(Double t_g) {
-    this.t_g = t_g;
+    putParameter(Parameter.T_G, t_g);
   }
 
+  /** Zonal wind at 10m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "u_10m")
   public Double getU_10m() {
-    return u_10m;
+    return getParameter(Parameter.U_10M);
   }
 
   public void setU_10m(Double u_10m) {
-    this.u_10m = u_10m;
+    putParameter(Parameter.U_10M, u_10m);
   }
 
+  /** Meridional wind at 10m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "v_10m")
   public Double getV_10m() {
-    return v_10m;
+    return getParameter(Parameter.V_10M);
   }
 
   public void setV_10m(Double v_10m) {
-    this.v_10m = v_10m;
+    putParameter(Parameter.V_10M, v_10m);
   }
 
+  /** Surface roughness in m */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "z0")
   public Double getZ0() {
-    return z0;
+    return getParameter(Parameter.Z0);
   }
 
   public void setZ0(Double z0) {
-    this.z0 = z0;
+    putParameter(Parameter.Z0, z0);
   }
 
+  /** Zonal wind at 20m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "u_20m")
   public Double getU_20m() {
-    return u_20m;
+    return getParameter(Parameter.U_20M);
   }
 
   public void setU_20m(Double u_20m) {
-    this.u_20m = u_20m;
+    putParameter(Parameter.U_20M, u_20m);
   }
 
+  /** Meridional wind at 20m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "v_20m")
   public Double getV_20m() {
-    return v_20m;
+    return getParameter(Parameter.V_20M);
   }
 
   public void setV_20m(Double v_20m) {
-    this.v_20m = v_20m;
+    putParameter(Parameter.V_20M, v_20m);
   }
 
+  /** Vertical wind at 20m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "w_20m")
   public Double getW_20m() {
-    return w_20m;
+    return getParameter(Parameter.W_20M);
   }
 
   public void setW_20m(Double w_20m) {
-    this.w_20m = w_20m;
+    putParameter(Parameter.W_20M, w_20m);
   }
 
+  /** Zonal wind at 65m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "u_65m")
   public Double getU_65m() {
-    return u_65m;
+    return getParameter(Parameter.U_65M);
   }
 
   public void setU_65m(Double u_65m) {
-    this.u_65m = u_65m;
+    putParameter(Parameter.U_65M, u_65m);
   }
 
+  /** Meridional wind at 65m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "v_65m")
   public Double getV_65m() {
-    return v_65m;
+    return getParameter(Parameter.V_65M);
   }
 
   public void setV_65m(Double v_65m) {
-    this.v_65m = v_65m;
+    putParameter(Parameter.V_65M, v_65m);
   }
 
+  /** Vertical wind at 65m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "w_65m")
   public Double getW_65m() {
-    return w_65m;
+    return getParameter(Parameter.W_65M);
   }
 
   public void setW_65m(Double w_65m) {
-    this.w_65m = w_65m;
+    putParameter(Parameter.W_65M, w_65m);
   }
 
+  /** Zonal wind at 216m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "u_216m")
   public Double getU_216m() {
-    return u_216m;
+    return getParameter(Parameter.U_216M);
   }
 
   public void setU_216m(Double u_216m) {
-    this.u_216m = u_216m;
+    putParameter(Parameter.U_216M, u_216m);
   }
 
+  /** Meridional wind at 216m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "v_216m")
   public Double getV_216m() {
-    return v_216m;
+    return getParameter(Parameter.V_216M);
   }
 
   public void setV_216m(Double v_216m) {
-    this.v_216m = v_216m;
+    putParameter(Parameter.V_216M, v_216m);
   }
 
+  /** Vertical wind at 216m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "w_216m")
   public Double getW_216m() {
-    return w_216m;
+    return getParameter(Parameter.W_216M);
   }
 
   public void setW_216m(Double w_216m) {
-    this.w_216m = w_216m;
+    putParameter(Parameter.W_216M, w_216m);
   }
 
+  /** Zonal wind at 131m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "u_131m")
   public Double getU_131m() {
-    return u_131m;
+    return getParameter(Parameter.U_131M);
   }
 
   public void setU_131m(Double u_131m) {
-    this.u_131m = u_131m;
+    putParameter(Parameter.U_131M, u_131m);
   }
 
+  /** Meridional wind at 131m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "v_131m")
   public Double getV_131m() {
-    return v_131m;
+    return getParameter(Parameter.V_131M);
   }
 
   public void setV_131m(Double v_131m) {
-    this.v_131m = v_131m;
+    putParameter(Parameter.V_131M, v_131m);
   }
 
+  /** Vertical wind at 131m above ground in m/s */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "w_131m")
   public Double getW_131m() {
-    return w_131m;
+    return getParameter(Parameter.W_131M);
   }
 
   public void setW_131m(Double w_131m) {
-    this.w_131m = w_131m;
+    putParameter(Parameter.W_131M, w_131m);
   }
 
+  /** Net short-wave radiation flux at surface (instantaneous) in W/m² */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "sobs_rad")
   public Double getSobs_rad() {
-    return sobs_rad;
+    return getParameter(Parameter.SOBS_RAD);
   }
 
   public void setSobs_rad(Double sobs_rad) {
-    this.sobs_rad = sobs_rad;
+    putParameter(Parameter.SOBS_RAD, sobs_rad);
   }
 
+  /** Temperature at 131m above ground in K */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "t_131m")
   public Double getT_131m() {
-    return t_131m;
+    return getParameter(Parameter.T_131M);
   }
 
   public void setT_131m(Double t_131m) {
-    this.t_131m = t_131m;
+    putParameter(Parameter.T_131M, t_131m);
   }
 
+  /** Pressure at 20m above ground in Pa */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "p_20m")
   public Double getP_20m() {
-    return p_20m;
+    return getParameter(Parameter.P_20M);
   }
 
   public void setP_20m(Double p_20m) {
-    this.p_20m = p_20m;
+    putParameter(Parameter.P_20M, p_20m);
   }
 
+  /** Pressure at 65m above ground in Pa */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "p_65m")
   public Double getP_65m() {
-    return p_65m;
+    return getParameter(Parameter.P_65M);
   }
 
   public void setP_65m(Double p_65m) {
-    this.p_65m = p_65m;
+    putParameter(Parameter.P_65M, p_65m);
   }
 
+  /** Pressure at 131m above ground in Pa */
+  @Access(AccessType.PROPERTY)
+  @Column(name = "p_131m")
   public Double getP_131m() {
-    return p_131m;
+    return getParameter(Parameter.P_131M);
   }
 
   public void setP_131m(Double p_131m) {
-    this.p_131m = p_131m;
+    putParameter(Parameter.P_131M, p_131m);
   }
 
+  /** Sets the value of the given parameter, null values are ignored */
   public void setParameter(Parameter param, Double value) {
     if (value == null) return;
-    switch (param) {
-        // Single Level Params
-      case ALBEDO:
-        alb_rad = value;
-        break;
-      case ASOB_S:
-        asob_s = value;
-        break;
-      case DIFS_D:
-        aswdifd_s = value;
-        break;
-      case DIFS_U:
-        aswdifu_s = value;
-        break;
-      case DIRS:
-        aswdirs_s = value;
-        break;
-      case SOBS_RAD:
-        sobs_rad = value;
-        break;
-      case T_2M:
-        t_2m = value;
-        break;
-      case T_G:
-        t_g = value;
-        break;
-      case U_10M:
-        u_10m = value;
-        break;
-      case V_10M:
-        v_10m = value;
-        break;
-      case Z0:
-        z0 = value;
-        break;
-
-        // Matrix Level Params
-      case P_20M:
-        p_20m = value;
-        break;
-      case P_65M:
-        p_65m = value;
-        break;
-      case P_131M:
-        p_131m = value;
-        break;
-
-      case T_131M:
-        t_131m = value;
-        break;
-
-      case U_20M:
-        u_20m = value;
-        break;
-      case U_65M:
-        u_65m = value;
-        break;
-      case U_131M:
-        u_131m = value;
-        break;
-      case U_216M:
-        u_216m = value;
-        break;
-
-      case V_20M:
-        v_20m = value;
-        break;
-      case V_65M:
-        v_65m = value;
-        break;
-      case V_131M:
-        v_131m = value;
-        break;
-      case V_216M:
-        v_216m = value;
-        break;
-
-      case W_20M:
-        w_20m = value;
-        break;
-      case W_65M:
-        w_65m = value;
-        break;
-      case W_131M:
-        w_131m = value;
-        break;
-      case W_216M:
-        w_216m = value;
-        break;
+    putParameter(param, value);
+  }
+
+  /** Sets the value of the given parameter, null values clear it */
+  private void putParameter(Parameter param, Double value) {
+    int ordinal = param.ordinal();
+    if (value == null) present &= ~(1L << ordinal);
+    else {
+      values[ordinal] = value;
+      present |= 1L << ordinal;
     }
   }
 
   public Double getParameter(Parameter param) {
-    switch (param) {
-        // Singlelevel Parameter
-      case ALBEDO:
-        return alb_rad;
-      case ASOB_S:
-        return asob_s;
-      case DIFS_D:
-        return aswdifd_s;
-      case DIFS_U:
-        return aswdifu_s;
-      case DIRS:
-        return aswdirs_s;
-      case SOBS_RAD:
-        return sobs_rad;
-      case T_2M:
-        return t_2m;
-      case T_G:
-        return t_g;
-      case U_10M:
-        return u_10m;
-      case V_10M:
-        return v_10m;
-      case Z0:
-        return z0;
-
-        // Multilevel parameters
-      case U_20M:
-        return u_20m;
-      case U_65M:
-        return u_65m;
-      case U_131M:
-        return u_131m;
-      case U_216M:
-        return u_216m;
-
-      case P_20M:
-        return p_20m;
-      case P_65M:
-        return p_65m;
-      case P_131M:
-        return p_131m;
-
-      case T_131M:
-        return t_131m;
-
-      case V_20M:
-        return v_20m;
-      case V_65M:
-        return v_65m;
-      case V_131M:
-        return v_131m;
-      case V_216M:
-        return v_216m;
-
-      case W_20M:
-        return w_20m;
-      case W_65M:
-        return w_65m;
-      case W_131M:
-        return w_131m;
-      case W_216M:
-        return w_216m;
-
-      default:
-        return null;
-    }
+    int ordinal = param.ordinal();
+    return (present & 1L << ordinal) != 0 ? values[ordinal] : null;
   }
 
   /** Overwrites if existing value is null */
   public void interpolateParameter(Parameter param, double interpolationRatio, Double value) {
     if (value == null) return;
-    switch (param) {
-        // Single Level Params
-      case ALBEDO:
-        alb_rad = interpolationCalculation(alb_rad, value, interpolationRatio);
-        break;
-      case ASOB_S:
-        asob_s = interpolationCalculation(asob_s, value, interpolationRatio);
-        break;
-      case DIFS_D:
-        aswdifd_s = interpolationCalculation(aswdifd_s, value, interpolationRatio);
-        break;
-      case DIFS_U:
-        aswdifu_s = interpolationCalculation(aswdifu_s, value, interpolationRatio);
-        break;
-      case DIRS:
-        aswdirs_s = interpolationCalculation(aswdirs_s, value, interpolationRatio);
-        break;
-      case SOBS_RAD:
-        sobs_rad = interpolationCalculation(sobs_rad, value, interpolationRatio);
-        break;
-      case T_2M:
-        t_2m = interpolationCalculation(t_2m, value, interpolationRatio);
-        break;
-      case T_G:
-        t_g = interpolationCalculation(t_g, value, interpolationRatio);
-        break;
-      case U_10M:
-        u_10m = interpolationCalculation(u_10m, value, interpolationRatio);
-        break;
-      case V_10M:
-        v_10m = interpolationCalculation(v_10m, value, interpolationRatio);
-        break;
-      case Z0:
-        z0 = interpolationCalculation(z0, value, interpolationRatio);
-        break;
-
-        // Matrix Type Params
-      case P_20M:
-        p_20m = interpolationCalculation(p_20m, value, interpolationRatio);
-        break;
-      case P_65M:
-        p_65m = interpolationCalculation(p_65m, value, interpolationRatio);
-        break;
-      case P_131M:
-        p_131m = interpolationCalculation(p_131m, value, interpolationRatio);
-        break;
-
-      case T_131M:
-        t_131m = interpolationCalculation(t_131m, value, interpolationRatio);
-        break;
-
-      case U_20M:
-        u_20m = interpolationCalculation(u_20m, value, interpolationRatio);
-        break;
-      case U_65M:
-        u_65m = interpolationCalculation(u_65m, value, interpolationRatio);
-        break;
-      case U_131M:
-        u_131m = interpolationCalculation(u_131m, value, interpolationRatio);
-        break;
-      case U_216M:
-        u_216m = interpolationCalculation(u_216m, value, interpolationRatio);
-        break;
-
-      case V_20M:
-        v_20m = interpolationCalculation(v_20m, value, interpolationRatio);
-        break;
-      case V_65M:
-        v_65m = interpolationCalculation(v_65m, value, interpolationRatio);
-        break;
-      case V_131M:
-        v_131m = interpolationCalculation(v_131m, value, interpolationRatio);
-        break;
-      case V_216M:
-        v_216m = interpolationCalculation(v_216m, value, interpolationRatio);
-        break;
-
-      case W_20M:
-        w_20m = interpolationCalculation(w_20m, value, interpolationRatio);
-        break;
-      case W_65M:
-        w_65m = interpolationCalculation(w_65m, value, interpolationRatio);
-        break;
-      case W_131M:
-        w_131m = interpolationCalculation(w_131m, value, interpolationRatio);
-        break;
-      case W_216M:
-        w_216m = interpolationCalculation(w_216m, value, interpolationRatio);
-        break;
-    }
+    interpolate(param.ordinal(), value, interpolationRatio);
   }
 
   /** Interpolate values INTO this entity */
   public void interpolateValues(
       ICONWeatherModel entityToInterpolateWith, double interpolationRatio) {
-    for (Parameter param : Parameter.values()) {
-      interpolateParameter(param, interpolationRatio, entityToInterpolateWith.getParameter(param));
+    double[] newerValues = entityToInterpolateWith.values;
+    for (long mask = entityToInterpolateWith.present; mask != 0; mask &= mask - 1) {
+      int ordinal = Long.numberOfTrailingZeros(mask);
+      interpolate(ordinal, newerValues[ordinal], interpolationRatio);
+    }
+  }
+
+  /** see {@link #interpolationCalculation(Double, Double, double)} */
+  private void interpolate(int ordinal, double newerValue, double interpolationRatio) {
+    long bit = 1L << ordinal;
+    if ((present & bit) != 0)
+      values[ordinal] =
+          values[ordinal] * (1 - interpolationRatio) + newerValue * interpolationRatio;
+    else {
+      values[ordinal] = newerValue;
+      present |= bit;
     }
   }
 
@@ -721,33 +651,7 @@ public class ICONWeatherModel implements Serializable {
   public String getSQLInsertValuesString() {
     String insertValues = "(";
     insertValues += "'" + ConfigurationParameters.SQL_FORMATTER(date) + "', ";
-    insertValues += alb_rad + ", ";
-    insertValues += asob_s + ", ";
-    insertValues += aswdifd_s + ", ";
-    insertValues += aswdifu_s + ", ";
-    insertValues += aswdirs_s + ", ";
-    insertValues += sobs_rad + ", ";
-    insertValues += p_20m + ", ";
-    insertValues += p_65m + ", ";
-    insertValues += p_131m + ", ";
-    insertValues += t_131m + ", ";
-    insertValues += t_2m + ", ";
-    insertValues += t_g + ", ";
-    insertValues += u_10m + ", ";
-    insertValues += u_131m + ", ";
-    insertValues += u_20m + ", ";
-    insertValues += u_216m + ", ";
-    insertValues += u_65m + ", ";
-    insertValues += v_10m + ", ";
-    insertValues += v_131m + ", ";
-    insertValues += v_20m + ", ";
-    insertValues += v_216m + ", ";
-    insertValues += v_65m + ", ";
-    insertValues += w_131m + ", ";
-    insertValues += w_20m + ", ";
-    insertValues += w_216m + ", ";
-    insertValues += w_65m + ", ";
-    insertValues += z0 + ", ";
+    for (Parameter param : SQL_COLUMN_ORDER) insertValues += getParameter(param) + ", ";
     insertValues += coordinate.getId();
     insertValues += ")";
     return insertValues;
@@ -774,35 +678,15 @@ public class ICONWeatherModel implements Serializable {
     if (this == o) return true;
     if (!(o instanceof ICONWeatherModel)) return false;
     ICONWeatherModel that = (ICONWeatherModel) o;
-    return Objects.equals(date, that.date)
-        && Objects.equals(coordinate, that.coordinate)
-        && Objects.equals(alb_rad, that.alb_rad)
-        && Objects.equals(asob_s, that.asob_s)
-        && Objects.equals(aswdifd_s, that.aswdifd_s)
-        && Objects.equals(aswdifu_s, that.aswdifu_s)
-        && Objects.equals(aswdirs_s, that.aswdirs_s)
-        && Objects.equals(sobs_rad, that.sobs_rad)
-        && Objects.equals(p_20m, that.p_20m)
-        && Objects.equals(p_65m, that.p_65m)
-        && Objects.equals(p_131m, that.p_131m)
-        && Objects.equals(t_131m, that.t_131m)
-        && Objects.equals(t_2m, that.t_2m)
-        && Objects.equals(t_g, that.t_g)
-        && Objects.equals(u_10m, that.u_10m)
-        && Objects.equals(v_10m, that.v_10m)
-        && Objects.equals(z0, that.z0)
-        && Objects.equals(u_20m, that.u_20m)
-        && Objects.equals(v_20m, that.v_20m)
-        && Objects.equals(w_20m, that.w_20m)
-        && Objects.equals(u_65m, that.u_65m)
-        && Objects.equals(v_65m, that.v_65m)
-        && Objects.equals(w_65m, that.w_65m)
-        && Objects.equals(u_131m, that.u_131m)
-        && Objects.equals(v_131m, that.v_131m)
-        && Objects.equals(w_131m, that.w_131m)
-        && Objects.equals(u_216m, that.u_216m)
-        && Objects.equals(v_216m, that.v_216m)
-        && Objects.equals(w_216m, that.w_216m);
+    if (present != that.present
+        || !Objects.equals(date, that.date)
+        || !Objects.equals(coordinate, that.coordinate)) return false;
+    for (long mask = present; mask != 0; mask &= mask - 1) {
+      int ordinal = Long.numberOfTrailingZeros(mask);
+      if (Double.doubleToLongBits(values[ordinal]) != Double.doubleToLongBits(that.values[ordinal]))
+        return false;
+    }
+    return true;
   }
 
   @Override
@@ -818,59 +702,59 @@ public class ICONWeatherModel implements Serializable {
         + "\n, coordinate="
         + coordinate
         + ", alb_rad="
-        + alb_rad
+        + getAlb_rad()
         + ", asob_s="
-        + asob_s
+        + getAsob_s()
         + ", aswdifd_s="
-        + aswdifd_s
+        + getAswdifd_s()
         + ", aswdifu_s="
-        + aswdifu_s
+        + getAswdifu_s()
         + ", aswdirs_s="
-        + aswdirs_s
+        + getAswdirs_s()
         + ", sobs_rad="
-        + sobs_rad
+        + getSobs_rad()
         + ", t_131m="
-        + t_131m
+        + getT_131m()
         + ", t_2m="
-        + t_2m
+        + getT_2m()
         + ", t_g="
-        + t_g
+        + getT_g()
         + ", u_10m="
-        + u_10m
+        + getU_10m()
         + ", v_10m="
-        + v_10m
+        + getV_10m()
         + ", z0="
-        + z0
+        + getZ0()
         + ", p_20m="
-        + p_20m
+        + getP_20m()
         + ", p_65m="
-        + p_65m
+        + getP_65m()
         + ", p_131m="
-        + p_131m
+        + getP_131m()
         + ", u_20m="
-        + u_20m
+        + getU_20m()
         + ", v_20m="
-        + v_20m
+        + getV_20m()
         + ", w_20m="
-        + w_20m
+        + getW_20m()
         + ", u_65m="
-        + u_65m
+        + getU_65m()
         + ", v_65m="
-        + v_65m
+        + getV_65m()
         + ", w_65m="
-        + w_65m
+        + getW_65m()
         + ", u_131m="
-        + u_131m
+        + getU_131m()
         + ", v_131m="
-        + v_131m
+        + getV_131m()
         + ", w_131m="
-        + w_131m
+        + getW_131m()
         + ", u_216m="
-        + u_216m
+        + getU_216m()
         + ", v_216m="
-        + v_216m
+        + getV_216m()
         + ", w_216m="
-        + w_216m
+        + getW_216m()
         + '}';
   }
 
@@ -0,0 +1,186 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Adapts the number of rows per chunk of a JDBC operation and the number of chunks running at the
+ * same time to the observed latency of the chunks (additive increase, multiplicative decrease).
+ * After a window of as many chunks as may run at once has finished within the target latency, the
+ * chunk size grows by {@link #CHUNK_SIZE_INCREMENT} rows and one more chunk may run. A chunk
+ * failing or exceeding the target latency halves both, hence large servers get fewer, bigger
+ * chunks, while small or busy ones are not overwhelmed.
+ */
+public class AdaptiveChunking {
+
+  /** rows the chunk size grows by after a window of chunks within the target latency */
+  public static final int CHUNK_SIZE_INCREMENT = 100;
+
+  private final String name;
+  private final int minChunkSize;
+  private final int maxChunkSize;
+  private final int maxParallelism;
+  private final long targetLatencyNanos;
+
+  private int chunkSize;
+  private int parallelism;
+  private int running;
+  private long startedChunks;
+  // chunks started before the last decrease do not decrease the sizes again
+  private long decreasedAt;
+  private int windowChunks;
+
+  private long chunks;
+  private long failedChunks;
+  private long latencyNanos;
+  private long maxLatencyNanos;
+  private long decreases;
+  private int smallestChunkSize;
+  private int largestChunkSize;
+  private int lowestParallelism;
+  private int highestParallelism;
+
+  /**
+   * @param name name of the operation in the summary, e.g. "Upsert"
+   * @param initialChunkSize rows per chunk to start with, bounded by the minimum and maximum
+   * @param maxParallelism number of chunks that may run at the same time, which is also the number
+   *     to start with
+   * @param targetLatencyMillis latency a chunk should not exceed
+   */
+  public AdaptiveChunking(
+      String name,
+      int initialChunkSize,
+      int minChunkSize,
+      int maxChunkSize,
+      int maxParallelism,
+      long targetLatencyMillis) {
+    this.name = name;
+    this.minChunkSize = Math.max(1, minChunkSize);
+    this.maxChunkSize = Math.max(this.minChunkSize, maxChunkSize);
+    this.maxParallelism = Math.max(1, maxParallelism);
+    this.targetLatencyNanos = targetLatencyMillis * 1_000_000;
+    this.chunkSize = Math.min(this.maxChunkSize, Math.max(this.minChunkSize, initialChunkSize));
+    this.parallelism = this.maxParallelism;
+    smallestChunkSize = largestChunkSize = chunkSize;
+    lowestParallelism = highestParallelism = parallelism;
+  }
+
+  /** @return rows per chunk of the next operation */
+  public synchronized int getChunkSize() {
+    return chunkSize;
+  }
+
+  /** @return number of chunks that may run at the same time */
+  public synchronized int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Blocks until fewer chunks than the current parallelism are running
+   *
+   * @return ticket of the chunk to be passed to {@link #release(long, long, boolean)}
+   */
+  public synchronized long acquire() throws InterruptedException {
+    while (running >= parallelism) wait();
+    running++;
+    return startedChunks++;
+  }
+
+  /**
+   * Records the latency of a finished chunk and adapts chunk size and parallelism
+   *
+   * @param ticket ticket returned by {@link #acquire()}
+   * @param succeeded false, if the chunk failed, e.g. because of an error of the server
+   */
+  public synchronized void release(long ticket, long latencyNanos, boolean succeeded) {
+    running--;
+    chunks++;
+    this.latencyNanos += latencyNanos;
+    maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+    if (!succeeded) failedChunks++;
+
+    if (!succeeded || latencyNanos > targetLatencyNanos) {
+      if (ticket >= decreasedAt) {
+        chunkSize = Math.max(minChunkSize, chunkSize / 2);
+        parallelism = Math.max(1, parallelism / 2);
+        decreasedAt = startedChunks;
+        windowChunks = 0;
+        decreases++;
+      }
+    } else if (++windowChunks >= parallelism) {
+      chunkSize = Math.min(maxChunkSize, chunkSize + CHUNK_SIZE_INCREMENT);
+      parallelism = Math.min(maxParallelism, parallelism + 1);
+      windowChunks = 0;
+    }
+    smallestChunkSize = Math.min(smallestChunkSize, chunkSize);
+    largestChunkSize = Math.max(largestChunkSize, chunkSize);
+    lowestParallelism = Math.min(lowestParallelism, parallelism);
+    highestParallelism = Math.max(highestParallelism, parallelism);
+    notifyAll();
+  }
+
+  /**
+   * Runs the given chunk once fewer chunks than the current parallelism are running
+   *
+   * @return the result of the chunk, false marks it as failed
+   */
+  public boolean admit(Callable<Boolean> chunk) throws Exception {
+    return run(acquire(), chunk);
+  }
+
+  /**
+   * Runs the given chunk, which has already been admitted by {@link #acquire()}, e.g. to size it
+   * with the {@link #getChunkSize() chunk size} adapted to all chunks released before
+   *
+   * @param ticket ticket returned by {@link #acquire()}
+   * @return the result of the chunk, false marks it as failed
+   */
+  public boolean run(long ticket, Callable<Boolean> chunk) throws Exception {
+    long tic = System.nanoTime();
+    boolean succeeded = false;
+    try {
+      succeeded = chunk.call();
+      return succeeded;
+    } finally {
+      release(ticket, System.nanoTime() - tic, succeeded);
+    }
+  }
+
+  /**
+   * @return a summary of all chunks or null, if there were none, e.g. "Upsert chunks: 1200 chunks
+   *     after 85.2ms on average (at most 812ms), 0 failed, 500 to 2400 rows (finally 2400), 2 to 4
+   *     at once (finally 4), 1 decreases"
+   */
+  public synchronized String getSummary() {
+    if (chunks == 0) return null;
+    return name
+        + " chunks: "
+        + chunks
+        + " chunks after "
+        + String.format("%.1f", latencyNanos / 1e6 / chunks)
+        + "ms on average (at most "
+        + maxLatencyNanos / 1_000_000
+        + "ms), "
+        + failedChunks
+        + " failed, "
+        + smallestChunkSize
+        + " to "
+        + largestChunkSize
+        + " rows (finally "
+        + chunkSize
+        + "), "
+        + lowestParallelism
+        + " to "
+        + highestParallelism
+        + " at once (finally "
+        + parallelism
+        + "), "
+        + decreases
+        + " decreases";
+  }
+}
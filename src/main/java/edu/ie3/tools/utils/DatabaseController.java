@@ -6,19 +6,21 @@
 
 package edu.ie3.tools.utils;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import edu.ie3.tools.Main;
-import edu.ie3.tools.models.enums.CoordinateType;
-import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.WeatherFrame;
 import edu.ie3.tools.models.persistence.ICONWeatherModel;
 import edu.ie3.tools.utils.enums.Parameter;
+import java.io.IOException;
 import java.io.Serializable;
 import java.sql.*;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
 import javax.persistence.*;
 import javax.persistence.criteria.CriteriaBuilder;
 import org.apache.log4j.Level;
@@ -29,15 +31,44 @@ public class DatabaseController {
 
   public static final Logger logger = LogManager.getLogger(DatabaseController.class);
 
-  private final ExecutorService jdbcExecutor =
-      Executors.newFixedThreadPool(
-          (int) Math.ceil(Runtime.getRuntime().availableProcessors() / 3d));
+  /**
+   * Upserts literal INSERT ... ON CONFLICT statements of a chunk of coordinates each, all of a
+   * timestep in a single transaction
+   */
+  public static final String UPSERT_INSERT = "insert";
+  /**
+   * Upserts batches of a parameterized statement of a chunk of coordinates each, all of a timestep
+   * in a single transaction
+   */
+  public static final String UPSERT_BATCH = "batch";
+  /** Streams a timestep via binary COPY into a staging table, see {@link WeatherCopyLoader} */
+  public static final String UPSERT_COPY = "copy";
+
+  public static final List<String> UPSERT_METHODS =
+      Arrays.asList(UPSERT_INSERT, UPSERT_BATCH, UPSERT_COPY);
+
+  /** coordinates per chunk of the first JDBC operations, adapted at runtime */
+  public static final int INITIAL_CHUNK_SIZE = 500;
+
+  private final int jdbcThreads =
+      Main.jdbcThreads > 0
+          ? Main.jdbcThreads
+          : (int) Math.ceil(Runtime.getRuntime().availableProcessors() / 3d);
+
+  private final ExecutorService jdbcExecutor = Executors.newFixedThreadPool(jdbcThreads);
+  // the chunks of a timestep are upserted one after another in a single transaction
+  private final AdaptiveChunking upsertChunking = createChunking("Upsert", 1);
+  private final AdaptiveChunking findChunking = createChunking("Weather lookup", jdbcThreads);
 
   private final String persistence_unit_name;
   private EntityManagerFactory factory;
   private EntityManager manager;
   private CriteriaBuilder builder;
   private Properties properties;
+  private HikariDataSource dataSource;
+  private ConnectionPoolStatistics poolStatistics;
+  private final WeatherPartitionManager partitionManager =
+      new WeatherPartitionManager(Main.database_schema, Main.partitionsAhead);
 
   public DatabaseController(String persistence_unit_name) {
     this.persistence_unit_name = persistence_unit_name;
@@ -52,169 +83,294 @@ public class DatabaseController {
 
   private void setup() {
     logger.setLevel(Main.debug ? Level.ALL : Level.INFO);
+    createDataSource();
     getEntityManagerFactory();
     manager = factory.createEntityManager();
     builder = factory.getCriteriaBuilder();
   }
 
-  public void jdbcUpsert(List<ICONWeatherModel> entities) {
-
-    List<Callable<Void>> tasks = new ArrayList<>();
+  /**
+   * Upserts all slots of the given frame using the {@link Main#upsertMethod}
+   *
+   * @return true, if all values have been written, errors are logged
+   */
+  public boolean jdbcUpsert(WeatherFrame frame) {
+    if (UPSERT_COPY.equals(Main.upsertMethod)) return jdbcCopyUpsert(frame);
+    else if (UPSERT_BATCH.equals(Main.upsertMethod)) return jdbcBatchUpsert(frame);
+    else return jdbcInsertUpsert(frame);
+  }
 
-    for (int i = 0; i <= entities.size(); i += 500) {
-      Callable<Void> jdbcUpsertTask =
-          jdbcUpsertCallable(
-              entities.subList(i, Math.min(i + 500, entities.size())),
-              Main.connectionUrl,
-              Main.databaseUser,
-              Main.databasePassword);
-      tasks.add(jdbcUpsertTask);
-    }
+  /**
+   * Upserts all slots of the given frame in chunks of coordinates, see {@link
+   * #jdbcTransactionalUpsert(WeatherFrame, ChunkUpsert)}
+   *
+   * @return true, if the transaction has been committed
+   */
+  public boolean jdbcInsertUpsert(WeatherFrame frame) {
+    return jdbcTransactionalUpsert(
+        frame,
+        (connection, fromSlot, toSlot) -> {
+          try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                ICONWeatherModel.getSQLUpsertStatement(
+                    frame, fromSlot, toSlot, Main.database_schema, upsertInterpolationRatio()));
+          }
+        });
+  }
 
-    try {
-      jdbcExecutor.invokeAll(tasks);
-    } catch (InterruptedException e) {
-      logger.error("Error during jdbcUpsert for existing entities: {}", e);
-      Thread.currentThread().interrupt();
-    }
+  /**
+   * Upserts all slots of the given frame in chunks of coordinates, each one as a batch of the
+   * {@link ICONWeatherModel#getPSQLUpsertString(String) parameterized upsert statement}, see {@link
+   * #jdbcTransactionalUpsert(WeatherFrame, ChunkUpsert)}
+   *
+   * @return true, if the transaction has been committed
+   */
+  public boolean jdbcBatchUpsert(WeatherFrame frame) {
+    return jdbcTransactionalUpsert(
+        frame,
+        (connection, fromSlot, toSlot) -> jdbcBatchUpsert(connection, frame, fromSlot, toSlot));
   }
 
-  private Callable<Void> jdbcUpsertCallable(
-      final List<ICONWeatherModel> entitySublist,
-      final String connectionUrl,
-      final String user,
-      final String password) {
-    return new Callable<Void>() {
+  /** Upserts the slots fromSlot (inclusive) to toSlot (exclusive) of a frame */
+  @FunctionalInterface
+  private interface ChunkUpsert {
+    void upsert(Connection connection, int fromSlot, int toSlot) throws SQLException;
+  }
 
-      private void jdbcUpsert(
-          String upsertStatement, String connectionUrl, String user, String password) {
-        Connection connection = null;
-        Statement statement = null;
-        try {
-          connection = DriverManager.getConnection(connectionUrl, user, password);
-          statement = connection.createStatement();
-          statement.executeUpdate(upsertStatement);
-        } catch (SQLException e) {
-          logger.error("Exception occurred during SQL upsert statement execution: {}", e);
-        } finally {
-          if (statement != null) {
-            try {
-              statement.closeOnCompletion();
-            } catch (SQLException e) {
-              logger.error("Exception occurred while closing upsert statement: {}", e);
-            }
-          }
-          if (connection != null) {
-            try {
-              connection.close();
-            } catch (SQLException e) {
-              logger.error("Exception occurred while closing upsert connection: {}", e);
-            }
-          }
+  /**
+   * Upserts all slots of the given frame chunk by chunk in a single transaction, which is rolled
+   * back if any chunk fails. Otherwise the chunks committed before would be interpolated once
+   * again, when the timestep is converted anew.
+   *
+   * @return true, if the transaction has been committed
+   */
+  private boolean jdbcTransactionalUpsert(WeatherFrame frame, ChunkUpsert chunkUpsert) {
+    try (Connection connection = dataSource.getConnection()) {
+      boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      try {
+        for (int i = 0, chunkSize; i < frame.size(); i += chunkSize) {
+          // each chunk is sized after the latency of the ones before, even of the same timestep
+          chunkSize = upsertChunking.getChunkSize();
+          int fromSlot = i;
+          int toSlot = Math.min(i + chunkSize, frame.size());
+          upsertChunking.admit(
+              () -> {
+                chunkUpsert.upsert(connection, fromSlot, toSlot);
+                return true;
+              });
         }
+        connection.commit();
+        return true;
+      } catch (Exception e) {
+        connection.rollback();
+        if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+        Exception cause =
+            e instanceof SQLException && ((SQLException) e).getNextException() != null
+                ? ((SQLException) e).getNextException()
+                : e;
+        logger.error("Exception occurred during SQL upsert, rolled back the timestep: {}", cause);
+        return false;
+      } finally {
+        connection.setAutoCommit(autoCommit);
       }
+    } catch (SQLException e) {
+      logger.error("Exception occurred during SQL upsert: {}", e);
+      return false;
+    }
+  }
 
-      @Override
-      public Void call() throws Exception {
+  /**
+   * Upserts all slots of the given frame in a single transaction using binary COPY
+   *
+   * @return true, if the transaction has been committed
+   */
+  public boolean jdbcCopyUpsert(WeatherFrame frame) {
+    try (Connection connection = dataSource.getConnection()) {
+      long rows =
+          new WeatherCopyLoader(Main.database_schema, upsertInterpolationRatio())
+              .load(connection, frame);
+      logger.trace("Upserted " + rows + " rows via COPY");
+      return true;
+    } catch (SQLException | IOException e) {
+      logger.error("Exception occurred during COPY upsert: {}", e);
+      return false;
+    }
+  }
 
-        // get the upsert statements from the entities
-        String upsertStatement =
-            ICONWeatherModel.getSQLUpsertStatement(entitySublist, Main.database_schema);
+  /**
+   * @return the ratio to interpolate with the persisted weather during the upsert or null, if the
+   *     frames have been interpolated before, see {@link Main#serverSideInterpolation}
+   */
+  private static Double upsertInterpolationRatio() {
+    return Main.serverSideInterpolation ? Main.interpolationRatio : null;
+  }
 
-        // execute the database command
-        jdbcUpsert(upsertStatement, connectionUrl, user, password);
-        return null;
-      }
-    };
+  /** @return chunking of a JDBC operation bounded by the program arguments */
+  private static AdaptiveChunking createChunking(String name, int maxParallelism) {
+    return new AdaptiveChunking(
+        name,
+        INITIAL_CHUNK_SIZE,
+        Main.minChunkSize,
+        Main.maxChunkSize,
+        maxParallelism,
+        Main.chunkLatencyTarget);
   }
 
-  public Map<Integer, ICONWeatherModel> jdbcFindWeather(
-      List<Integer> coordinateIds, ZonedDateTime date) {
+  /**
+   * @return the chunk sizes, parallelism and latencies of the upserts and weather lookups so far,
+   *     see {@link AdaptiveChunking#getSummary()}
+   */
+  public List<String> getChunkingSummaries() {
+    List<String> summaries = new ArrayList<>();
+    for (AdaptiveChunking chunking : Arrays.asList(upsertChunking, findChunking)) {
+      String summary = chunking.getSummary();
+      if (summary != null) summaries.add(summary);
+    }
+    return summaries;
+  }
 
-    List<Callable<Map<Integer, ICONWeatherModel>>> tasks = new ArrayList<>();
+  private static void jdbcBatchUpsert(
+      Connection connection, WeatherFrame frame, int fromSlot, int toSlot) throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            ICONWeatherModel.getPSQLUpsertString(
+                Main.database_schema, upsertInterpolationRatio()))) {
+      // bound as local date time, a Timestamp would shift dates of the default time zone's DST gap
+      LocalDateTime datum = frame.getDate().toLocalDateTime();
+      for (int slot = fromSlot; slot < toSlot; slot++) {
+        statement.setObject(1, datum);
+        int index = 2;
+        for (Parameter parameter : ICONWeatherModel.SQL_COLUMN_ORDER) {
+          double value = frame.getSQLDouble(parameter, slot);
+          if (Double.isNaN(value)) statement.setNull(index++, Types.DOUBLE);
+          else statement.setDouble(index++, value);
+        }
+        statement.setInt(index, frame.getCoordinates().get(slot).getId());
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    }
+  }
 
-    for (int i = 0; i <= coordinateIds.size(); i += 500) {
-      Callable<Map<Integer, ICONWeatherModel>> jdbcFindWeatherTask =
-          jdbcFindWeatherCallable(
-              coordinateIds.subList(i, Math.min(i + 500, coordinateIds.size())),
-              date,
-              Main.connectionUrl,
-              Main.databaseUser,
-              Main.databasePassword);
-      tasks.add(jdbcFindWeatherTask);
+  /**
+   * Creates the partitions of the weather table for the month of the given date and the {@link
+   * Main#partitionsAhead months ahead}, if they do not exist yet
+   */
+  public void ensureWeatherPartitions(ZonedDateTime date) {
+    try (Connection connection = dataSource.getConnection()) {
+      for (YearMonth month : partitionManager.ensurePartitions(connection, date))
+        logger.debug(
+            "Ensured weather partition " + WeatherPartitionManager.getPartitionName(month));
+    } catch (SQLException e) {
+      logger.error("Exception occurred while creating weather partitions: {}", e);
     }
+  }
+
+  /**
+   * Looks up the persisted weather of the given coordinates at the given date
+   *
+   * @return frame of the persisted values, aligned to the slots of the given coordinates
+   */
+  public WeatherFrame jdbcFindWeather(CoordinateIndex coordinates, ZonedDateTime date) {
+    return jdbcFindWeather(new WeatherFrame(date, coordinates, Main.singlePrecision));
+  }
+
+  /**
+   * Looks up the persisted weather of the coordinates of the given frame at its date
+   *
+   * @param weather empty frame the persisted values are set to, e.g. one of an {@link
+   *     edu.ie3.tools.models.OffHeapArena}
+   * @return the given frame
+   */
+  public WeatherFrame jdbcFindWeather(WeatherFrame weather) {
+    CoordinateIndex coordinates = weather.getCoordinates();
+    ZonedDateTime date = weather.getDate();
+
+    List<Future<double[][]>> futureBlocks = new ArrayList<>();
+    List<Integer> fromSlots = new ArrayList<>();
 
-    HashMap<Integer, ICONWeatherModel> coordinateIdToWeather = new HashMap<>();
-    List<Future<Map<Integer, ICONWeatherModel>>> futureMaps = Collections.emptyList();
     try {
-      futureMaps = jdbcExecutor.invokeAll(tasks);
+      for (int i = 0, chunkSize; i < coordinates.size(); i += chunkSize) {
+        // a chunk is only sized once it may run, after the latency of the ones released before
+        long ticket = findChunking.acquire();
+        chunkSize = findChunking.getChunkSize();
+        Callable<double[][]> jdbcFindWeatherTask =
+            jdbcFindWeatherCallable(
+                coordinates, i, Math.min(i + chunkSize, coordinates.size()), date, ticket);
+        try {
+          futureBlocks.add(jdbcExecutor.submit(jdbcFindWeatherTask));
+        } catch (RejectedExecutionException e) {
+          findChunking.release(ticket, 0, false);
+          throw e;
+        }
+        fromSlots.add(i);
+      }
     } catch (InterruptedException e) {
       logger.error("Error during jdbc weather lookup: {}", e);
       Thread.currentThread().interrupt();
     }
-    for (Future<Map<Integer, ICONWeatherModel>> futureMap : futureMaps) {
+    Parameter[] parameters = Parameter.values();
+    for (int task = 0; task < futureBlocks.size(); task++) {
       try {
-        Map<Integer, ICONWeatherModel> result = futureMap.get();
-        coordinateIdToWeather.putAll(result);
+        double[][] block = futureBlocks.get(task).get();
+        int fromSlot = fromSlots.get(task);
+        for (Parameter parameter : parameters) {
+          double[] values = block[parameter.ordinal()];
+          for (int i = 0; i < values.length; i++) weather.set(parameter, fromSlot + i, values[i]);
+        }
       } catch (InterruptedException | ExecutionException e) {
         logger.error("Error during jdbc weather lookup: {}", e);
         Thread.currentThread().interrupt();
       }
     }
-    return coordinateIdToWeather;
+    return weather;
   }
 
-  private Callable<Map<Integer, ICONWeatherModel>> jdbcFindWeatherCallable(
-      final List<Integer> coordinateIds,
+  /**
+   * @param ticket ticket of the chunk, which has already been admitted by {@link #findChunking}
+   * @return values of the slots fromSlot (inclusive) to toSlot (exclusive) by parameter ordinal
+   *     and slot - fromSlot, NaN marks values that are null or not persisted
+   */
+  private Callable<double[][]> jdbcFindWeatherCallable(
+      final CoordinateIndex coordinates,
+      final int fromSlot,
+      final int toSlot,
       final ZonedDateTime date,
-      final String connectionUrl,
-      final String user,
-      final String password) {
-    return new Callable<Map<Integer, ICONWeatherModel>>() {
-
-      private Collection<ICONWeatherModel> jdbcFindWeather(
-          List<Integer> coordinateIds,
-          ZonedDateTime date,
-          String connectionUrl,
-          String user,
-          String password) {
+      final long ticket) {
+    return new Callable<double[][]>() {
+
+      /** @return true, if the query succeeded */
+      private boolean jdbcFindWeather(ZonedDateTime date, double[][] block) {
+        Parameter[] parameters = Parameter.values();
+        Integer[] coordinateIds = new Integer[toSlot - fromSlot];
+        for (int slot = fromSlot; slot < toSlot; slot++)
+          coordinateIds[slot - fromSlot] = coordinates.get(slot).getId();
+
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet rs;
-        Collection<ICONWeatherModel> weatherEntities = new LinkedList<>();
         try {
-          connection = DriverManager.getConnection(connectionUrl, user, password);
+          connection = dataSource.getConnection();
           statement =
               connection.prepareStatement(ICONWeatherModel.getPSQLFindString(Main.database_schema));
           Array coordinateIdArray =
-              statement.getConnection().createArrayOf("INTEGER", coordinateIds.toArray());
-          Timestamp timestamp = Timestamp.valueOf(LocalDateTime.from(date));
-          statement.setTimestamp(1, timestamp);
+              statement.getConnection().createArrayOf("INTEGER", coordinateIds);
+          statement.setObject(1, date.toLocalDateTime());
           statement.setArray(2, coordinateIdArray);
           rs = statement.executeQuery();
           while (rs.next()) {
-            CoordinateModel coordinateModel = new CoordinateModel(rs.getInt("coordinate_id"));
-            coordinateModel.setCoordinate_type(
-                CoordinateType.valueOf(rs.getString("coordinate_type")));
-            coordinateModel.setLatitude(rs.getDouble("latitude"));
-            coordinateModel.setLongitude(rs.getDouble("longitude"));
-            ICONWeatherModel weather =
-                new ICONWeatherModel(
-                    ZonedDateTime.of(rs.getTimestamp("datum").toLocalDateTime(), ZoneId.of("UTC")),
-                    coordinateModel);
-
-            for (Parameter parameter : Parameter.values()) {
-              String columnName = parameter.toString().toLowerCase();
-              Double paramToBeSet =
-                  rs.getBigDecimal(columnName) == null
-                      ? null
-                      : rs.getBigDecimal(columnName).doubleValue();
-              weather.setParameter(parameter, paramToBeSet);
+            int slot = coordinates.slotOf(rs.getInt("coordinate_id"));
+            if (slot < fromSlot || slot >= toSlot) continue;
+            for (Parameter parameter : parameters) {
+              double value = rs.getDouble(parameter.toString().toLowerCase());
+              if (!rs.wasNull()) block[parameter.ordinal()][slot - fromSlot] = value;
             }
-            weatherEntities.add(weather);
           }
+          return true;
         } catch (SQLException e) {
           logger.error("Exception occurred during PSQL find weather query execution: {}", e);
+          return false;
         } finally {
           if (statement != null) {
             try {
@@ -231,23 +387,58 @@ public class DatabaseController {
             }
           }
         }
-        return weatherEntities;
       }
 
       @Override
-      public Map<Integer, ICONWeatherModel> call() throws Exception {
-        Collection<ICONWeatherModel> weatherEntities =
-            jdbcFindWeather(coordinateIds, date, connectionUrl, user, password);
-        return weatherEntities.stream()
-            .collect(Collectors.toMap(w -> w.getCoordinate().getId(), w -> w));
+      public double[][] call() throws Exception {
+        double[][] block = new double[Parameter.values().length][toSlot - fromSlot];
+        for (double[] values : block) Arrays.fill(values, Double.NaN);
+        findChunking.run(ticket, () -> jdbcFindWeather(date, block));
+        return block;
       }
     };
   }
 
+  /**
+   * Creates the connection pool of the JDBC paths, which Hibernate uses as well. Url, user and
+   * password are taken from the JPA properties passed to the constructor, falling back to the
+   * program arguments. Its size defaults to the JDBC threads plus the connections of the entity
+   * manager and a COPY upsert.
+   */
+  private void createDataSource() {
+    int poolSize = Main.connectionPoolSize > 0 ? Main.connectionPoolSize : jdbcThreads + 2;
+    poolStatistics = new ConnectionPoolStatistics(poolSize);
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("dwdtools");
+    config.setJdbcUrl(getProperty("javax.persistence.jdbc.url", Main.connectionUrl));
+    config.setUsername(getProperty("javax.persistence.jdbc.user", Main.databaseUser));
+    config.setPassword(getProperty("javax.persistence.jdbc.password", Main.databasePassword));
+    config.setMaximumPoolSize(poolSize);
+    config.setMinimumIdle(0);
+    config.setIdleTimeout(Main.connectionIdleTimeout * 1000);
+    // connections idle for more than 500ms are validated with Connection.isValid when borrowed
+    config.setValidationTimeout(5000);
+    config.setMetricsTrackerFactory(poolStatistics);
+    config.setRegisterMbeans(true);
+    // lets the driver send batches as multi-row INSERTs instead of one statement per row
+    config.addDataSourceProperty("reWriteBatchedInserts", "true");
+    // unreachable databases are reported when a connection is needed, as without the pool
+    config.setInitializationFailTimeout(-1);
+    dataSource = new HikariDataSource(config);
+  }
+
+  private String getProperty(String key, String defaultValue) {
+    return properties != null ? properties.getProperty(key, defaultValue) : defaultValue;
+  }
+
   private EntityManagerFactory getEntityManagerFactory() {
     if (factory == null) {
       try {
-        factory = Persistence.createEntityManagerFactory(persistence_unit_name, properties);
+        Map<Object, Object> integration = new HashMap<>();
+        if (properties != null) integration.putAll(properties);
+        // Hibernate draws its connections from the pool of the JDBC paths
+        integration.put("hibernate.connection.datasource", dataSource);
+        factory = Persistence.createEntityManagerFactory(persistence_unit_name, integration);
       } catch (Exception e) {
         logger.error(e);
       }
@@ -275,6 +466,21 @@ public class DatabaseController {
     manager.joinTransaction();
   }
 
+  /**
+   * Copies the state of the given entity into the one of the current manager, e.g. after it has
+   * been detached by {@link #renewManager()}
+   *
+   * @return the managed entity or the given one, if it could not be merged
+   */
+  public <C extends Serializable> C merge(C entity) {
+    try {
+      return manager.contains(entity) ? entity : manager.merge(entity);
+    } catch (Exception ex) {
+      logger.error("Errors while merging " + entity + " using Hibernate: ", ex);
+      return entity;
+    }
+  }
+
   public <C extends Serializable> C find(Class<C> clazz, Object id) {
     C entity = null;
     try {
@@ -338,6 +544,14 @@ public class DatabaseController {
     return manager;
   }
 
+  /**
+   * @return a summary of the connections acquired from the pool since the last call or null, if
+   *     none were acquired
+   */
+  public String drainStatistics() {
+    return poolStatistics.drainStatistics();
+  }
+
   public void shutdown() {
     if (factory != null) {
       factory.close();
@@ -352,6 +566,10 @@ public class DatabaseController {
     } finally {
       jdbcExecutor.shutdownNow();
     }
+
+    if (dataSource != null) {
+      dataSource.close();
+    }
   }
 
   public void flush() {
@@ -0,0 +1,202 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.ExtractorResult;
+import edu.ie3.tools.models.persistence.FileModel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Directory of decoded fields, which allows to skip decompressing and decoding an archive, if it
+ * is converted again, e.g. after a crash or with another interpolation ratio. Each entry holds the
+ * extracted values of one archive aligned to the slots of the {@link CoordinateIndex} as float32
+ * values. Entries are keyed by the name of the file and a hash of the archive content, hence a
+ * re-downloaded archive is decoded again. If the directory exceeds its maximum size, the least
+ * recently used entries are evicted.
+ */
+public class DecodedFieldCache {
+  private static final Logger logger = LogManager.getLogger(DecodedFieldCache.class);
+
+  private static final int MAGIC = 0x44574446; // "DWDF"
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 4 + 4 + 8 + 4;
+  private static final String SUFFIX = ".f32";
+  private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+  private final Path directory;
+  private final long maxBytes;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param directory directory of the cache entries, which is created if necessary
+   * @param maxBytes maximum total size of the entries
+   */
+  public DecodedFieldCache(String directory, long maxBytes) throws IOException {
+    this.directory = Files.createDirectories(Paths.get(directory));
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return the key of the given file, consisting of its name and a hash of its archive, or null if
+   *     the archive does not exist (anymore)
+   */
+  public String key(FileModel file, String folderpath) throws IOException {
+    File archive = file.getBZ2File(folderpath);
+    if (!archive.exists()) return null;
+    return file.getName() + "." + hash(archive.toPath());
+  }
+
+  /** @return CRC32C and length of the given file as hexadecimal string */
+  static String hash(Path path) throws IOException {
+    CRC32C crc = new CRC32C();
+    long length = 0;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+      int read;
+      while ((read = channel.read(buffer)) >= 0) {
+        buffer.flip();
+        crc.update(buffer);
+        buffer.clear();
+        length += read;
+      }
+    }
+    return Long.toHexString(length) + Long.toHexString(crc.getValue());
+  }
+
+  /**
+   * @return the cached values of the given key as valid extractor result or null, if there are
+   *     none for the given coordinates
+   */
+  public ExtractorResult load(String key, FileModel file, CoordinateIndex coordinates) {
+    Path path = directory.resolve(key + SUFFIX);
+    if (!Files.exists(path)) {
+      misses.increment();
+      return null;
+    }
+    try {
+      ByteBuffer buffer;
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+          // read the whole entry
+        }
+        buffer.flip();
+      }
+      if (buffer.remaining() < HEADER_LENGTH
+          || buffer.getInt() != MAGIC
+          || buffer.getInt() != VERSION
+          || buffer.getLong() != coordinates.getFingerprint()
+          || buffer.getInt() != coordinates.size()
+          || buffer.remaining() != coordinates.size() * Float.BYTES) {
+        // written by another version or for other coordinates, hence useless
+        logger.debug("Discarding cached field " + path.getFileName());
+        Files.deleteIfExists(path);
+        misses.increment();
+        return null;
+      }
+      FloatBuffer floats = buffer.asFloatBuffer();
+      double[] values = new double[coordinates.size()];
+      for (int slot = 0; slot < values.length; slot++) values[slot] = floats.get(slot);
+      // the modification time orders the entries for the LRU eviction
+      Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+      hits.increment();
+      return new ExtractorResult(file.getParameter(), values, true);
+    } catch (IOException e) {
+      logger.warn("Could not read cached field " + path.getFileName() + " (" + e + ")");
+      misses.increment();
+      return null;
+    }
+  }
+
+  /**
+   * Stores the values of the given valid result under the given key, replaces older entries of
+   * the same file and evicts the least recently used entries, if the cache exceeds its size
+   */
+  public void store(
+      String key, FileModel file, ExtractorResult result, CoordinateIndex coordinates) {
+    if (key == null || !result.isValidFile() || result.getValues() == null) return;
+    double[] values = result.getValues();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + values.length * Float.BYTES);
+    buffer.putInt(MAGIC).putInt(VERSION);
+    buffer.putLong(coordinates.getFingerprint()).putInt(values.length);
+    for (double value : values) buffer.putFloat((float) value);
+    buffer.flip();
+
+    Path path = directory.resolve(key + SUFFIX);
+    try {
+      // written to a temporary file first, so that readers never see incomplete entries
+      Path temporary = Files.createTempFile(directory, key, ".tmp");
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) channel.write(buffer);
+      }
+      Files.move(
+          temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      try (DirectoryStream<Path> stale =
+          Files.newDirectoryStream(directory, file.getName() + ".*" + SUFFIX)) {
+        for (Path entry : stale) if (!entry.equals(path)) Files.deleteIfExists(entry);
+      }
+      evict();
+    } catch (IOException e) {
+      logger.warn("Could not cache field " + path.getFileName() + " (" + e + ")");
+    }
+  }
+
+  /** Deletes the least recently used entries until the cache does not exceed its size */
+  private synchronized void evict() throws IOException {
+    List<Path> entries = new ArrayList<>();
+    long size = 0;
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path entry : (Iterable<Path>) files::iterator) {
+        if (!entry.getFileName().toString().endsWith(SUFFIX)) continue;
+        entries.add(entry);
+        size += Files.size(entry);
+      }
+    }
+    if (size <= maxBytes) return;
+    entries.sort(Comparator.comparing(DecodedFieldCache::lastModified));
+    for (Path entry : entries) {
+      if (size <= maxBytes) break;
+      long entrySize = Files.size(entry);
+      if (Files.deleteIfExists(entry)) size -= entrySize;
+    }
+  }
+
+  private static FileTime lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  /**
+   * @return a summary of the cache hits and misses since the last call or null, if the cache has
+   *     not been consulted
+   */
+  public String drainStatistics() {
+    long hitCount = hits.sumThenReset();
+    long missCount = misses.sumThenReset();
+    if (hitCount + missCount == 0) return null;
+    return "Field cache: " + hitCount + " hits, " + missCount + " misses";
+  }
+}
@@ -41,8 +41,8 @@ public class FileEraser {
     String modelrunFolderPath = FILENAME_DATE_FORMATTER.format(file.getModelrun()) + File.separator;
     String fullDirectoryPath = folderpath + modelrunFolderPath;
 
-    // delete archive file
-    if (file.isDecompressed()) {
+    // delete archive file, the one of a file decoded in memory only once it has been persisted
+    if (file.isDecompressed() || file.isPersisted()) {
       String filename = file.getBZ2FileName();
       file.setArchivefile_deleted(eraseFile(fullDirectoryPath + filename));
       filestatusLogger.trace(
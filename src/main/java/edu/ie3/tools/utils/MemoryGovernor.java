@@ -0,0 +1,148 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import edu.ie3.tools.models.FramePool;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Admits extraction tasks only as long as their estimated memory fits into a budget, so that many
+ * cores with a small heap lead to fewer files being decoded at once instead of an {@link
+ * OutOfMemoryError}. A task exceeding the budget on its own is admitted as soon as no other task is
+ * running, hence the conversion never gets stuck.
+ */
+public class MemoryGovernor implements MemoryGovernorMXBean {
+
+  /** name of the governor at the platform MBean server */
+  public static final String OBJECT_NAME = "edu.ie3.tools:type=MemoryGovernor";
+
+  /** points of the regular ICON-EU grid (1377 x 657), used until the first grid has been mapped */
+  public static final int ICON_EU_GRID_POINTS = 1377 * 657;
+
+  private final long budgetBytes;
+
+  private long usedBytes;
+  private long peakBytes;
+  private long admittedTasks;
+  private long waitingTasks;
+
+  /** @param budgetBytes bytes that may be used by running tasks at the same time */
+  public MemoryGovernor(long budgetBytes) {
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * Estimates the memory needed to extract one file: the decoded values of the whole grid (the
+   * window of the coordinates might be smaller), the decompressed GRIB2 file if it is streamed and
+   * the values mapped to the slots of the coordinate index
+   *
+   * @param gridPoints number of points of the grid, e.g. {@link #ICON_EU_GRID_POINTS}
+   * @param slots number of coordinates
+   * @param streaming true, if archives are decompressed into memory
+   */
+  public static long estimateBytesPerFile(int gridPoints, int slots, boolean streaming) {
+    // GRIB2 files of ICON-EU pack 16 bits per value
+    long packedBytes = streaming ? 2L * gridPoints : 0;
+    return (long) Double.BYTES * gridPoints + packedBytes + (long) Double.BYTES * slots;
+  }
+
+  /**
+   * @return memory of the {@link edu.ie3.tools.models.WeatherFrame WeatherFrames} of one timestep
+   *     in flight with all parameters
+   */
+  public static long estimateFrameBytes(int slots, boolean singlePrecision) {
+    long bytesPerValue = singlePrecision ? Float.BYTES : Double.BYTES;
+    return FramePool.FRAMES_PER_TIMESTEP * Parameter.values().length * bytesPerValue * slots;
+  }
+
+  /** Blocks until the given bytes fit into the budget */
+  public synchronized void acquire(long bytes) throws InterruptedException {
+    if (usedBytes > 0 && usedBytes + bytes > budgetBytes) {
+      waitingTasks++;
+      while (usedBytes > 0 && usedBytes + bytes > budgetBytes) wait();
+    }
+    usedBytes += bytes;
+    admittedTasks++;
+    peakBytes = Math.max(peakBytes, usedBytes);
+  }
+
+  public synchronized void release(long bytes) {
+    usedBytes -= bytes;
+    notifyAll();
+  }
+
+  /** Runs the given task once the given bytes fit into the budget */
+  public <T> T admit(long bytes, Callable<T> task) throws Exception {
+    acquire(bytes);
+    try {
+      return task.call();
+    } finally {
+      release(bytes);
+    }
+  }
+
+  /**
+   * Registers this governor at the platform MBean server, replacing the governor of a previous run
+   */
+  public void registerMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) server.unregisterMBean(name);
+    server.registerMBean(this, name);
+  }
+
+  /** Removes the governor from the platform MBean server, if one is registered */
+  public static void unregisterMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) server.unregisterMBean(name);
+  }
+
+  @Override
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  @Override
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  @Override
+  public synchronized long getPeakBytes() {
+    return peakBytes;
+  }
+
+  @Override
+  public synchronized long getWaitingTasks() {
+    return waitingTasks;
+  }
+
+  /**
+   * @return a summary of the peak usage and the tasks that had to wait since the last call or null,
+   *     if no task has been admitted
+   */
+  public synchronized String drainStatistics() {
+    if (admittedTasks == 0) return null;
+    String statistics =
+        "Memory governor: at most "
+            + peakBytes / (1024 * 1024)
+            + " of "
+            + budgetBytes / (1024 * 1024)
+            + " MB in use, "
+            + waitingTasks
+            + " extractions waited";
+    peakBytes = usedBytes;
+    admittedTasks = waitingTasks = 0;
+    return statistics;
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+/**
+ * Memory usage of the extraction tasks admitted by the {@link MemoryGovernor}, which is registered
+ * as {@value MemoryGovernor#OBJECT_NAME} next to the MBeans of the connection pool
+ */
+public interface MemoryGovernorMXBean {
+
+  /** @return bytes that may be used by running tasks at the same time */
+  long getBudgetBytes();
+
+  /** @return estimated bytes used by the running tasks */
+  long getUsedBytes();
+
+  /** @return estimated bytes used at most since the statistics of the last timestep */
+  long getPeakBytes();
+
+  /** @return tasks that had to wait for memory since the statistics of the last timestep */
+  long getWaitingTasks();
+}
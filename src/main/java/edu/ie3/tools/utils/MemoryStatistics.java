@@ -0,0 +1,87 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Snapshot of the heap allocations and garbage collections of the JVM, two snapshots give the
+ * allocation rate and GC time in between. Allocations are summed over the live threads, the
+ * allocations of threads that have ended are missing, which does not matter for the fixed thread
+ * pools of the converter.
+ */
+public class MemoryStatistics {
+
+  private final long nanos;
+  private final long allocatedBytes;
+  private final long collections;
+  private final long collectionMillis;
+
+  private MemoryStatistics(
+      long nanos, long allocatedBytes, long collections, long collectionMillis) {
+    this.nanos = nanos;
+    this.allocatedBytes = allocatedBytes;
+    this.collections = collections;
+    this.collectionMillis = collectionMillis;
+  }
+
+  /** @return the current statistics */
+  public static MemoryStatistics snapshot() {
+    long collections = 0;
+    long collectionMillis = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      // -1, if undefined
+      collections += Math.max(0, collector.getCollectionCount());
+      collectionMillis += Math.max(0, collector.getCollectionTime());
+    }
+    return new MemoryStatistics(
+        System.nanoTime(), allocatedBytes(), collections, collectionMillis);
+  }
+
+  /** @return bytes allocated by all live threads or -1, if this is not supported by the JVM */
+  private static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+    com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+    if (!hotspotThreads.isThreadAllocatedMemoryEnabled()) return -1;
+    long allocatedBytes = 0;
+    for (long bytes : hotspotThreads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+      allocatedBytes += Math.max(0, bytes); // -1 for threads that have ended in the meantime
+    return allocatedBytes;
+  }
+
+  /**
+   * @return a summary of the allocations and garbage collections since the given earlier snapshot,
+   *     e.g. "Allocated 1024 MB (85 MB/s), 12 garbage collections took 340ms (2.8% of 12.1s)"
+   */
+  public String since(MemoryStatistics earlier) {
+    long millis = Math.max(1, (nanos - earlier.nanos) / 1_000_000);
+    StringBuilder summary = new StringBuilder();
+    if (allocatedBytes >= 0 && earlier.allocatedBytes >= 0) {
+      long megabytes = Math.max(0, allocatedBytes - earlier.allocatedBytes) / (1024 * 1024);
+      summary
+          .append("Allocated ")
+          .append(megabytes)
+          .append(" MB (")
+          .append(megabytes * 1000 / millis)
+          .append(" MB/s), ");
+    }
+    long gcMillis = collectionMillis - earlier.collectionMillis;
+    summary
+        .append(collections - earlier.collections)
+        .append(" garbage collections took ")
+        .append(gcMillis)
+        .append("ms (")
+        .append(String.format("%.1f", 100d * gcMillis / millis))
+        .append("% of ")
+        .append(String.format("%.1f", millis / 1000d))
+        .append("s)");
+    return summary.toString();
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import edu.ie3.tools.models.WeatherFrame;
+import edu.ie3.tools.models.persistence.ICONWeatherModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Upserts the weather of a timestep by streaming its frame in the binary COPY format into a
+ * temporary staging table and inserting all rows from there with a single {@code INSERT ... SELECT
+ * ... ON CONFLICT DO UPDATE}. Compared to the literal upsert statements, nothing has to be
+ * formatted as text or parsed by the server and the whole timestep is written in one transaction.
+ */
+public class WeatherCopyLoader {
+
+  public static final String STAGING_TABLE = "weather_staging";
+
+  private static final String[] COLUMNS = ICONWeatherModel.SQL_COLUMNS.split(", ");
+
+  private static final byte[] SIGNATURE =
+      "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+
+  /** seconds from the unix epoch to the postgres epoch 2000-01-01 */
+  private static final long POSTGRES_EPOCH_SECONDS =
+      LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final String database_schema;
+  private final Double interpolationRatio;
+
+  public WeatherCopyLoader(String database_schema) {
+    this(database_schema, null);
+  }
+
+  /**
+   * @param interpolationRatio ratio to interpolate the values with the persisted ones on conflict
+   *     or null to overwrite them
+   */
+  public WeatherCopyLoader(String database_schema, Double interpolationRatio) {
+    this.database_schema = database_schema;
+    this.interpolationRatio = interpolationRatio;
+  }
+
+  /** @return statement creating the staging table, which is dropped at the end of a transaction */
+  static String getCreateStagingTableStatement() {
+    StringBuilder statement =
+        new StringBuilder("CREATE TEMPORARY TABLE IF NOT EXISTS " + STAGING_TABLE + " (");
+    for (String column : COLUMNS) {
+      statement.append(column);
+      if (column.equals("datum")) statement.append(" timestamp without time zone, ");
+      else if (column.equals("coordinate_id")) statement.append(" integer, ");
+      else statement.append(" double precision, ");
+    }
+    statement.setLength(statement.length() - 2);
+    return statement.append(") ON COMMIT DROP").toString();
+  }
+
+  /**
+   * Upserts all slots of the given frame within a single transaction of the given connection
+   *
+   * @return number of inserted or updated rows
+   */
+  public long load(Connection connection, WeatherFrame frame) throws SQLException, IOException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(getCreateStagingTableStatement());
+      copy(connection, frame);
+      long rows =
+          statement.executeUpdate(
+              ICONWeatherModel.getSQLUpsertFromStatement(
+                  STAGING_TABLE, database_schema, interpolationRatio));
+      connection.commit();
+      return rows;
+    } catch (SQLException | IOException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  /** Streams the rows of the given frame into the staging table */
+  private void copy(Connection connection, WeatherFrame frame) throws SQLException, IOException {
+    PGCopyOutputStream copy =
+        new PGCopyOutputStream(
+            connection.unwrap(PGConnection.class),
+            "COPY "
+                + STAGING_TABLE
+                + " ("
+                + ICONWeatherModel.SQL_COLUMNS
+                + ") FROM STDIN (FORMAT BINARY)",
+            BUFFER_SIZE);
+    try {
+      write(frame, copy);
+      copy.endCopy();
+    } finally {
+      if (copy.isActive()) copy.cancelCopy();
+    }
+  }
+
+  /** Writes the given frame in the binary COPY format */
+  static void write(WeatherFrame frame, OutputStream out) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE); // big endian, as required
+    buffer.put(SIGNATURE).putInt(0).putInt(0); // flags, header extension length
+
+    LocalDateTime date = LocalDateTime.from(frame.getDate());
+    long micros =
+        (date.toEpochSecond(ZoneOffset.UTC) - POSTGRES_EPOCH_SECONDS) * 1_000_000
+            + date.getNano() / 1000;
+    int rowBytes =
+        Short.BYTES
+            + (Integer.BYTES + Long.BYTES)
+            + ICONWeatherModel.SQL_COLUMN_ORDER.length * (Integer.BYTES + Double.BYTES)
+            + (Integer.BYTES + Integer.BYTES);
+
+    for (int slot = 0; slot < frame.size(); slot++) {
+      if (buffer.remaining() < rowBytes) flush(buffer, out);
+      buffer.putShort((short) COLUMNS.length);
+      buffer.putInt(Long.BYTES).putLong(micros);
+      for (Parameter parameter : ICONWeatherModel.SQL_COLUMN_ORDER) {
+        if (!frame.isPresent(parameter, slot)) {
+          buffer.putInt(-1); // null
+          continue;
+        }
+        buffer.putInt(Double.BYTES).putDouble(frame.getSQLDouble(parameter, slot));
+      }
+      buffer.putInt(Integer.BYTES).putInt(frame.getCoordinates().get(slot).getId());
+    }
+
+    if (buffer.remaining() < Short.BYTES) flush(buffer, out);
+    buffer.putShort((short) -1); // trailer
+    flush(buffer, out);
+  }
+
+  private static void flush(ByteBuffer buffer, OutputStream out) throws IOException {
+    out.write(buffer.array(), 0, buffer.position());
+    buffer.clear();
+  }
+}
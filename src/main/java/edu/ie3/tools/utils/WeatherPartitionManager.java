@@ -0,0 +1,101 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the monthly partitions of a weather table, which is range-partitioned by datum (see
+ * sql/weather_partitioned.sql), ahead of the timesteps to be persisted. Rows are routed to their
+ * partition by the database, hence the upsert and find statements stay the same. Partitions of
+ * past months can be detached and archived without touching the index of the recent weather.
+ */
+public class WeatherPartitionManager {
+
+  private static final DateTimeFormatter PARTITION_SUFFIX =
+      DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+  private final String database_schema;
+  private final int partitionsAhead;
+
+  /** months whose partitions are known to exist */
+  private final Set<YearMonth> partitions = new HashSet<>();
+
+  /**
+   * @param partitionsAhead number of months after the month of a timestep, whose partitions are
+   *     created along with it
+   */
+  public WeatherPartitionManager(String database_schema, int partitionsAhead) {
+    this.database_schema = database_schema;
+    this.partitionsAhead = Math.max(0, partitionsAhead);
+  }
+
+  /** @return name of the partition of the given month, e.g. weather_y2019m08 */
+  public static String getPartitionName(YearMonth month) {
+    return "weather_" + PARTITION_SUFFIX.format(month);
+  }
+
+  /** @return statement creating the partition of the given month, if it does not exist */
+  public static String getCreatePartitionStatement(String database_schema, YearMonth month) {
+    return "CREATE TABLE IF NOT EXISTS "
+        + database_schema
+        + "."
+        + getPartitionName(month)
+        + " PARTITION OF "
+        + database_schema
+        + ".weather FOR VALUES FROM ('"
+        + month.atDay(1).atStartOfDay()
+        + "') TO ('"
+        + month.plusMonths(1).atDay(1).atStartOfDay()
+        + "');";
+  }
+
+  /**
+   * @return statement detaching the partition of the given month, which becomes a table of its own
+   *     that can be archived or dropped
+   */
+  public static String getDetachPartitionStatement(String database_schema, YearMonth month) {
+    return "ALTER TABLE "
+        + database_schema
+        + ".weather DETACH PARTITION "
+        + database_schema
+        + "."
+        + getPartitionName(month)
+        + ";";
+  }
+
+  /**
+   * Creates the partitions of the month of the given date and the months ahead, unless they have
+   * been created before
+   *
+   * @return the months whose partitions have been created, if they did not exist
+   */
+  public synchronized List<YearMonth> ensurePartitions(Connection connection, ZonedDateTime date)
+      throws SQLException {
+    YearMonth month = YearMonth.from(date.toLocalDateTime());
+    List<YearMonth> created = new ArrayList<>();
+    try (Statement statement = connection.createStatement()) {
+      for (int i = 0; i <= partitionsAhead; i++) {
+        YearMonth partition = month.plusMonths(i);
+        if (partitions.contains(partition)) continue;
+        statement.execute(getCreatePartitionStatement(database_schema, partition));
+        partitions.add(partition);
+        created.add(partition);
+      }
+    }
+    return created;
+  }
+}
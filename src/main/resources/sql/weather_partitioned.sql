@@ -0,0 +1,33 @@
+-- Migrates icon.weather to a table range-partitioned by the month of datum (PostgreSQL 11 or later),
+-- to be used with -partitioned. The converter creates the partitions of upcoming months ahead of time
+-- (--partitions_ahead), partitions of past months can be detached and archived without bloating the
+-- index of the recent weather, e.g.
+--   ALTER TABLE icon.weather DETACH PARTITION icon.weather_y2019m08;
+ALTER TABLE icon.weather RENAME TO weather_unpartitioned;
+ALTER TABLE icon.weather_unpartitioned RENAME CONSTRAINT pk_weather TO pk_weather_unpartitioned;
+ALTER TABLE icon.weather_unpartitioned
+    RENAME CONSTRAINT fk_weather_coordinates TO fk_weather_unpartitioned_coordinates;
+
+-- keeps the column types, e.g. real after weather_single_precision.sql
+CREATE TABLE icon.weather (
+    LIKE icon.weather_unpartitioned INCLUDING DEFAULTS,
+    CONSTRAINT pk_weather PRIMARY KEY (coordinate_id, datum),
+    CONSTRAINT fk_weather_coordinates FOREIGN KEY (coordinate_id) REFERENCES icon.icon_coordinates (id)
+        MATCH SIMPLE ON UPDATE NO ACTION ON DELETE NO ACTION)
+    PARTITION BY RANGE (datum);
+
+-- partitions of the months already persisted, named like the ones of the converter
+DO $$
+DECLARE
+    month timestamp;
+BEGIN
+    FOR month IN SELECT DISTINCT date_trunc('month', datum) FROM icon.weather_unpartitioned LOOP
+        EXECUTE format('CREATE TABLE icon.%I PARTITION OF icon.weather FOR VALUES FROM (%L) TO (%L)',
+            to_char(month, '"weather_y"YYYY"m"MM'), month, month + interval '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO icon.weather SELECT * FROM icon.weather_unpartitioned;
+
+-- once the migration has been verified:
+-- DROP TABLE icon.weather_unpartitioned;
@@ -0,0 +1,14 @@
+-- Migrates the weather columns to single precision (real), to be used with -float32.
+-- Values written in single precision are stored exactly, the value columns take half the space.
+ALTER TABLE icon.weather
+    ALTER COLUMN alb_rad TYPE real, ALTER COLUMN asob_s TYPE real,
+    ALTER COLUMN aswdifd_s TYPE real, ALTER COLUMN aswdifu_s TYPE real,
+    ALTER COLUMN aswdir_s TYPE real, ALTER COLUMN sobs_rad TYPE real,
+    ALTER COLUMN p_20m TYPE real, ALTER COLUMN p_65m TYPE real, ALTER COLUMN p_131m TYPE real,
+    ALTER COLUMN t_131m TYPE real, ALTER COLUMN t_2m TYPE real, ALTER COLUMN t_g TYPE real,
+    ALTER COLUMN u_10m TYPE real, ALTER COLUMN u_131m TYPE real, ALTER COLUMN u_20m TYPE real,
+    ALTER COLUMN u_216m TYPE real, ALTER COLUMN u_65m TYPE real,
+    ALTER COLUMN v_10m TYPE real, ALTER COLUMN v_131m TYPE real, ALTER COLUMN v_20m TYPE real,
+    ALTER COLUMN v_216m TYPE real, ALTER COLUMN v_65m TYPE real,
+    ALTER COLUMN w_131m TYPE real, ALTER COLUMN w_20m TYPE real, ALTER COLUMN w_216m TYPE real,
+    ALTER COLUMN w_65m TYPE real, ALTER COLUMN z0 TYPE real;
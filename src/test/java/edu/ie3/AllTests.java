@@ -9,7 +9,22 @@ package edu.ie3;
 import edu.ie3.tools.ConverterTest;
 import edu.ie3.tools.DecompressorTest;
 import edu.ie3.tools.ExtractorTest;
+import edu.ie3.tools.grib.EccodesProcessDecoderTest;
+import edu.ie3.tools.grib.GribDecoderCrossCheckTest;
+import edu.ie3.tools.grib.GribTextReaderTest;
+import edu.ie3.tools.grib.JavaGribDecoderTest;
+import edu.ie3.tools.grib.SimpleUnpackerTest;
+import edu.ie3.tools.models.CoordinateIndexTest;
+import edu.ie3.tools.models.FramePoolTest;
+import edu.ie3.tools.models.SinglePrecisionTest;
+import edu.ie3.tools.models.WeatherFrameTest;
 import edu.ie3.tools.models.persistence.ICONWeatherModelTest;
+import edu.ie3.tools.utils.AdaptiveChunkingTest;
+import edu.ie3.tools.utils.ConnectionPoolStatisticsTest;
+import edu.ie3.tools.utils.DecodedFieldCacheTest;
+import edu.ie3.tools.utils.MemoryGovernorTest;
+import edu.ie3.tools.utils.WeatherCopyLoaderTest;
+import edu.ie3.tools.utils.WeatherPartitionManagerTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -18,8 +33,23 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
   DecompressorTest.class,
   ExtractorTest.class,
+  JavaGribDecoderTest.class,
+  EccodesProcessDecoderTest.class,
+  GribDecoderCrossCheckTest.class,
+  GribTextReaderTest.class,
+  SimpleUnpackerTest.class,
   ConverterTest.class,
-  ICONWeatherModelTest.class
+  ICONWeatherModelTest.class,
+  CoordinateIndexTest.class,
+  WeatherFrameTest.class,
+  SinglePrecisionTest.class,
+  DecodedFieldCacheTest.class,
+  FramePoolTest.class,
+  MemoryGovernorTest.class,
+  WeatherCopyLoaderTest.class,
+  ConnectionPoolStatisticsTest.class,
+  WeatherPartitionManagerTest.class,
+  AdaptiveChunkingTest.class
 })
 public class AllTests {
   // define all test cases in @SuiteClasses
@@ -6,12 +6,13 @@
 
 package edu.ie3.tools;
 
-import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.*;
 
 import edu.ie3.tools.models.persistence.FileModel;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -68,6 +69,39 @@ public class DecompressorTest {
     assertTrue(gribFile.getTotalSpace() > 128);
   }
 
+  @Test
+  public void testDecompressionToBuffer() {
+    System.out.println("DecompressorTest.testDecompressionToBuffer-------------");
+    FileModel file =
+        new FileModel(
+            ZonedDateTime.of(LocalDateTime.of(2018, 11, 25, 9, 0), ZoneId.of("UTC")),
+            7,
+            Parameter.U_216M);
+    File gribFile =
+        new File(
+            decompresserFilesPath
+                + File.separator
+                + "icon-eu_europe_regular-lat-lon_model-level_2018112509_007_57_U.grib2");
+    boolean gribFileExisted = gribFile.exists();
+    ByteBuffer buffer =
+        Decompressor.decompressToBuffer(file, decompresserFilesPath + File.separator);
+    assertNotNull(buffer);
+    assertEquals(0x47524942, buffer.getInt(0)); // "GRIB"
+    // keeps the archive, which is the only copy
+    assertFalse(file.isDecompressed());
+    assertTrue(file.isGribfile_deleted());
+    assertEquals(gribFileExisted, gribFile.exists());
+
+    file =
+        new FileModel(
+            ZonedDateTime.of(LocalDateTime.of(2018, 11, 25, 9, 0), ZoneId.of("UTC")),
+            8,
+            Parameter.U_216M);
+    assertNull(Decompressor.decompressToBuffer(file, decompresserFilesPath + File.separator));
+    assertFalse(file.isDecompressed());
+    assertTrue(file.isArchivefile_deleted());
+  }
+
   @AfterClass
   public static void tearDown() throws Exception {
     File gribFile =
@@ -8,18 +8,17 @@ package edu.ie3.tools;
 
 import static org.junit.Assert.*;
 
+import edu.ie3.tools.models.CoordinateIndex;
 import edu.ie3.tools.models.ExtractorResult;
 import edu.ie3.tools.models.enums.CoordinateType;
 import edu.ie3.tools.models.persistence.CoordinateModel;
 import edu.ie3.tools.models.persistence.FileModel;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -38,8 +37,6 @@ public class ExtractorTest {
           + File.separator;
   private static final String extractorPath = resourcesPath + "extractorFiles";
 
-  private final FileModel dummyFileModel = new FileModel(ZonedDateTime.now(), 1, Parameter.ASOB_S);
-
   @BeforeClass
   public static void setUp() throws IOException {
     File extractorFiles = new File(extractorPath);
@@ -65,73 +62,6 @@ public class ExtractorTest {
             extractorFiles
                 + File.separator
                 + "icon-eu_europe_regular-lat-lon_single-level_2018031417_042_U_10M.grib2"));
-
-    FileUtils.copyFile(
-        new File(resourcesPath + "testFiles" + File.separator + "gribTextFileWithoutHeader.txt"),
-        new File(extractorFiles + File.separator + "gribTextFileWithoutHeader.txt"));
-
-    FileUtils.copyFile(
-        new File(resourcesPath + "testFiles" + File.separator + "unsplittableGribTextFile.txt"),
-        new File(extractorFiles + File.separator + "unsplittableGribTextFile.txt"));
-
-    FileUtils.copyFile(
-        new File(resourcesPath + "testFiles" + File.separator + "validGribTextFile.txt"),
-        new File(extractorFiles + File.separator + "validGribTextFile.txt"));
-  }
-
-  @Test
-  public void testValidParse() throws IOException {
-    System.out.println("ExtractorTest.testValidParse---------------------------");
-    String path = extractorPath + "/validGribTextFile.txt";
-    InputStreamReader input =
-        new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8);
-    BufferedReader bufferedReader = new BufferedReader(input);
-    Map<CoordinateModel, Double> result =
-        new Extractor(path, dummyFileModel, Collections.emptyList(), "").parse(bufferedReader);
-
-    assertEquals(1098, result.size());
-
-    Set<Double> latitudes =
-        result.keySet().stream().map(CoordinateModel::getLatitude).collect(Collectors.toSet());
-    assertEquals(2, latitudes.size());
-    assertTrue(latitudes.contains(29.5));
-    assertTrue(latitudes.contains(29.562));
-
-    Set<Double> longitudes =
-        result.keySet().stream().map(CoordinateModel::getLongitude).collect(Collectors.toSet());
-    assertEquals(1097, longitudes.size());
-
-    CoordinateModel coordinate = new CoordinateModel(29.5, -23.5, CoordinateType.ICON);
-    assertEquals(1.2936019897e-01, result.get(coordinate), 0);
-    coordinate = new CoordinateModel(29.562, -23.5, CoordinateType.ICON);
-    assertEquals(2.5045394897e-01, result.get(coordinate), 0);
-  }
-
-  @Test(expected = IOException.class)
-  public void testParseWithoutHeader() throws IOException {
-    System.out.println("ExtractorTest.testParseWithoutHeader-------------------");
-    String path = extractorPath + File.separator + "gribTextFileWithoutHeader.txt";
-    InputStreamReader input =
-        new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8);
-    BufferedReader bufferedReader = new BufferedReader(input);
-    new Extractor(path, dummyFileModel, Collections.emptyList(), "").parse(bufferedReader);
-  }
-
-  @Test
-  public void testParseWithUnsplittableLines() throws IOException {
-    System.out.println("ExtractorTest.testParseWithUnsplittableLines-----------");
-    String path = extractorPath + File.separator + "unsplittableGribTextFile.txt";
-    InputStreamReader input =
-        new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8);
-    BufferedReader bufferedReader = new BufferedReader(input);
-    Map<CoordinateModel, Double> result =
-        new Extractor(path, dummyFileModel, Collections.emptyList(), "").parse(bufferedReader);
-    assertEquals(2, result.size());
-
-    CoordinateModel coordinate = new CoordinateModel(29.5, -18.375, CoordinateType.ICON);
-    assertEquals(-1.5698585510e+00, result.get(coordinate), 0);
-    coordinate = new CoordinateModel(29.5, -23.125, CoordinateType.ICON);
-    assertEquals(4.1061019897e-01, result.get(coordinate), 0);
   }
 
   @Test
@@ -144,24 +74,9 @@ public class ExtractorTest {
             42,
             Parameter.U_20M);
 
-    List<CoordinateModel> coordinatesWithIds = new ArrayList<>();
-    // read the coordinates file
-    String pathToCoordinatesCsv =
-        resourcesPath + File.separator + "sql" + File.separator + "coordinates.csv";
-    BufferedReader csvReader = new BufferedReader(new FileReader(pathToCoordinatesCsv));
-    String row;
-    csvReader.readLine(); // jump over headline
-    while ((row = csvReader.readLine()) != null) {
-      String[] data = row.split(",");
-      double latitude = Double.parseDouble(data[1]);
-      double longitude = Double.parseDouble(data[2]);
-      Integer id = Integer.parseInt(data[0]);
-      CoordinateModel coordinateModel = new CoordinateModel(latitude, longitude);
-      coordinateModel.setId(id);
-      coordinateModel.setCoordinate_type(CoordinateType.ICON);
-      coordinatesWithIds.add(coordinateModel);
-    }
-    csvReader.close();
+    CoordinateIndex coordinatesWithIds = new CoordinateIndex(readCoordinates());
+    // the first slot belongs to coordinate 473694 (29.5, -23.5)
+    assertEquals(473694, (int) coordinatesWithIds.get(0).getId());
 
     ExtractorResult parameterValues = null;
     try {
@@ -180,11 +95,9 @@ public class ExtractorTest {
     }
     assertEquals(Parameter.U_20M, parameterValues.getParameter());
 
-    assertEquals(720729, parameterValues.getCoordinatesToValues().size());
+    assertEquals(720729, parameterValues.getValues().length);
 
-    CoordinateModel coordinate = new CoordinateModel(29.5, -23.5, CoordinateType.ICON);
-    coordinate.setId(473694);
-    Double value = parameterValues.getValue(coordinate);
+    Double value = parameterValues.getValue(0);
     assertNotNull(value);
     assertEquals(1.3074111938e-01, value, 0);
 
@@ -208,10 +121,141 @@ public class ExtractorTest {
     }
     assertEquals(Parameter.U_10M, parameterValues.getParameter());
 
-    value = parameterValues.getValue(coordinate);
+    value = parameterValues.getValue(0);
     assertEquals(1.3074111938e-01, value, 0);
   }
 
+  @Test
+  public void testExtractWithJavaDecoder() throws IOException {
+    System.out.println("ExtractorTest.testExtractWithJavaDecoder---------------");
+    Main.directory = extractorPath;
+    FileModel file =
+        new FileModel(
+            ZonedDateTime.of(LocalDateTime.of(2018, 3, 14, 17, 0), ZoneId.of("UTC")),
+            42,
+            Parameter.U_20M);
+    CoordinateIndex coordinatesWithIds = new CoordinateIndex(readCoordinates());
+
+    Main.gribDecoder = "java";
+    ExtractorResult parameterValues;
+    try {
+      // no eccodes location, as the java decoder must not need it
+      parameterValues =
+          new Extractor(extractorPath + File.separator, file, coordinatesWithIds, "").call();
+    } finally {
+      Main.gribDecoder = "eccodes";
+    }
+    assertTrue(parameterValues.isValidFile());
+    assertEquals(Parameter.U_20M, parameterValues.getParameter());
+    assertEquals(720729, parameterValues.getValues().length);
+    assertEquals(1.3074111938e-01, parameterValues.getValue(0), 1e-11);
+  }
+
+  @Test
+  public void testExtractFromArchive() throws IOException {
+    System.out.println("ExtractorTest.testExtractFromArchive-------------------");
+    Main.directory = extractorPath;
+    String archiveName = "icon-eu_europe_regular-lat-lon_single-level_2019082300_003_Z0.grib2.bz2";
+    FileUtils.copyFile(
+        new File(resourcesPath + "testFiles" + File.separator + archiveName),
+        new File(extractorPath + File.separator + archiveName));
+    FileModel file =
+        new FileModel(
+            ZonedDateTime.of(LocalDateTime.of(2019, 8, 23, 0, 0), ZoneId.of("UTC")),
+            3,
+            Parameter.Z0);
+    CoordinateIndex coordinatesWithIds = new CoordinateIndex(readCoordinates());
+
+    Main.gribDecoder = "java";
+    Main.streamArchives = true;
+    ExtractorResult parameterValues;
+    try {
+      parameterValues =
+          new Extractor(extractorPath + File.separator, file, coordinatesWithIds, "").call();
+    } finally {
+      Main.gribDecoder = "eccodes";
+      Main.streamArchives = false;
+    }
+    assertTrue(parameterValues.isValidFile());
+    assertEquals(Parameter.Z0, parameterValues.getParameter());
+    assertFalse(file.getGRIB22File(extractorPath).exists());
+    // the archive is the only copy until the file has been persisted
+    assertFalse(file.isDecompressed());
+    assertTrue(file.isGribfile_deleted());
+
+    // reference values printed by grib_get_data (see resources/test_values_overview.txt)
+    assertEquals(
+        1.0629452213e-01, valueAt(parameterValues, coordinatesWithIds, 45.75, 4.312), 1e-11);
+    assertEquals(
+        7.8091463365e-05, valueAt(parameterValues, coordinatesWithIds, 57.625, 18.938), 1e-15);
+  }
+
+  private static double valueAt(
+      ExtractorResult result, CoordinateIndex coordinates, double latitude, double longitude) {
+    for (int slot = 0; slot < coordinates.size(); slot++) {
+      CoordinateModel coordinate = coordinates.get(slot);
+      if (coordinate.getLatitude() == latitude && coordinate.getLongitude() == longitude)
+        return result.getValue(slot);
+    }
+    throw new AssertionError("No coordinate " + latitude + ", " + longitude);
+  }
+
+  @Test
+  public void testBatchExtract() throws IOException {
+    System.out.println("ExtractorTest.testBatchExtract-------------------------");
+    Main.directory = extractorPath;
+    ZonedDateTime modelrun =
+        ZonedDateTime.of(LocalDateTime.of(2018, 3, 14, 17, 0), ZoneId.of("UTC"));
+    List<FileModel> files =
+        Arrays.asList(
+            new FileModel(modelrun, 42, Parameter.U_20M),
+            new FileModel(modelrun, 42, Parameter.U_10M));
+    CoordinateIndex coordinatesWithIds = new CoordinateIndex(readCoordinates());
+
+    List<ExtractorResult> results;
+    try {
+      results =
+          new BatchExtractor(
+                  extractorPath + File.separator, files, coordinatesWithIds, "grib_get_data")
+              .call();
+    } catch (IOException e) {
+      fail("Unable to use BatchExtractor to get data. Exception that has been thrown: " + e);
+      return;
+    }
+    assertEquals(2, results.size());
+    assertEquals(Parameter.U_20M, results.get(0).getParameter());
+    assertEquals(Parameter.U_10M, results.get(1).getParameter());
+    for (ExtractorResult result : results) {
+      assertTrue(result.isValidFile());
+      assertEquals(720729, result.getValues().length);
+      assertEquals(1.3074111938e-01, result.getValue(0), 0);
+    }
+    assertNotNull(BatchExtractor.drainSavings());
+    assertNull(BatchExtractor.drainSavings());
+  }
+
+  private static List<CoordinateModel> readCoordinates() throws IOException {
+    List<CoordinateModel> coordinatesWithIds = new ArrayList<>();
+    // read the coordinates file
+    String pathToCoordinatesCsv =
+        resourcesPath + File.separator + "sql" + File.separator + "coordinates.csv";
+    BufferedReader csvReader = new BufferedReader(new FileReader(pathToCoordinatesCsv));
+    String row;
+    csvReader.readLine(); // jump over headline
+    while ((row = csvReader.readLine()) != null) {
+      String[] data = row.split(",");
+      double latitude = Double.parseDouble(data[1]);
+      double longitude = Double.parseDouble(data[2]);
+      Integer id = Integer.parseInt(data[0]);
+      CoordinateModel coordinateModel = new CoordinateModel(latitude, longitude);
+      coordinateModel.setId(id);
+      coordinateModel.setCoordinate_type(CoordinateType.ICON);
+      coordinatesWithIds.add(coordinateModel);
+    }
+    csvReader.close();
+    return coordinatesWithIds;
+  }
+
   @AfterClass
   public static void tearDown() throws IOException {
     FileUtils.deleteDirectory(new File(extractorPath));
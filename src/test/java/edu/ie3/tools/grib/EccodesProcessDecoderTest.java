@@ -0,0 +1,163 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class EccodesProcessDecoderTest {
+
+  private static final String testFilesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator
+          + "testFiles"
+          + File.separator;
+
+  private static final String U_60_FILE =
+      "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2";
+  private static final String U_10M_FILE =
+      "icon-eu_europe_regular-lat-lon_single-level_2018031417_042_U_10M.grib2";
+
+  private final EccodesProcessDecoder decoder = new EccodesProcessDecoder("grib_get_data", "null");
+
+  @Test
+  public void testValidParse() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testValidParse---------------");
+    GridDefinition grid = readGrid();
+    List<GribField> fields;
+    try (InputStream input = new FileInputStream(testFilesPath + "validGribTextFile.txt")) {
+      fields = decoder.parse(input, Collections.singletonList(grid), null);
+    }
+    assertEquals(1, fields.size());
+    double[] values = fields.get(0).getValues();
+    assertEquals(720729, values.length);
+    // the text file contains the first row of the grid and the first point of the second one
+    assertEquals(1098, Arrays.stream(values).filter(value -> !Double.isNaN(value)).count());
+    assertEquals(1.2936019897e-01, values[0], 0); // 29.5, -23.5
+    assertEquals(2.5045394897e-01, values[1097], 0); // 29.562, -23.5
+    assertTrue(Double.isNaN(values[1098])); // 29.562, -23.438
+  }
+
+  @Test
+  public void testParseSkipsLinesOutsideOfBox() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseSkipsLinesOutsideOfBox");
+    BoundingBox box = new BoundingBox(29.5, 29.5, -23.5, -23.125);
+    GribField field;
+    try (InputStream input = new FileInputStream(testFilesPath + "validGribTextFile.txt")) {
+      field = decoder.parse(input, Collections.singletonList(readGrid()), box).get(0);
+    }
+    assertEquals(7, field.size());
+    assertEquals(1.2936019897e-01, field.getValues()[0], 0); // 29.5, -23.5
+    assertEquals(4.1061019897e-01, field.getValues()[6], 0); // 29.5, -23.125
+  }
+
+  @Test(expected = IOException.class)
+  public void testParseWithoutHeader() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseWithoutHeader-------");
+    try (InputStream input =
+        new FileInputStream(testFilesPath + "gribTextFileWithoutHeader.txt")) {
+      decoder.parse(input, Collections.singletonList(readGrid()), null);
+    }
+  }
+
+  @Test
+  public void testParseWithUnsplittableLines() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseWithUnsplittableLines");
+    GridDefinition grid = readGrid();
+    GribField field;
+    try (InputStream input = new FileInputStream(testFilesPath + "unsplittableGribTextFile.txt")) {
+      field = decoder.parse(input, Collections.singletonList(grid), null).get(0);
+    }
+    assertEquals(-1.5698585510e+00, field.getValues()[grid.indexOf(29.5, -18.375)], 0);
+    assertEquals(4.1061019897e-01, field.getValues()[grid.indexOf(29.5, -23.125)], 0);
+    // line could not be split
+    assertTrue(Double.isNaN(field.getValues()[grid.indexOf(29.5, -23.5)]));
+  }
+
+  @Test
+  public void testParseByCoordinates() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseByCoordinates-------");
+    // e.g. for grids the GribIndex cannot read
+    double[] values = new double[3];
+    EccodesProcessDecoder.SlotLookup lookup =
+        (latitude, longitude) -> {
+          if (latitude == 29.5 && longitude == -23.5) return 0;
+          if (latitude == 29.5 && longitude == -23.125) return 2;
+          return -1;
+        };
+    try (InputStream input = new FileInputStream(testFilesPath + "validGribTextFile.txt")) {
+      decoder.parse(input, values, lookup);
+    }
+    assertEquals(1.2936019897e-01, values[0], 0);
+    assertTrue(Double.isNaN(values[1]));
+    assertEquals(4.1061019897e-01, values[2], 0);
+  }
+
+  @Test(expected = IOException.class)
+  public void testParseByCoordinatesWithoutMatch() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseByCoordinatesWithoutMatch");
+    try (InputStream input = new FileInputStream(testFilesPath + "validGribTextFile.txt")) {
+      decoder.parse(input, new double[1], (latitude, longitude) -> -1);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testParseMissingMessage() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testParseMissingMessage------");
+    GridDefinition grid = readGrid();
+    try (InputStream input = new FileInputStream(testFilesPath + "validGribTextFile.txt")) {
+      decoder.parse(input, Arrays.asList(grid, grid), null);
+    }
+  }
+
+  @Test
+  public void testDecodeSeveralFiles() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testDecodeSeveralFiles-------");
+    List<List<GribField>> fields =
+        decoder.decode(
+            Arrays.asList(
+                new File(testFilesPath + U_60_FILE), new File(testFilesPath + U_10M_FILE)),
+            null);
+    assertEquals(2, fields.size());
+    for (List<GribField> fileFields : fields) {
+      assertEquals(1, fileFields.size());
+      assertEquals(720729, fileFields.get(0).size());
+      assertEquals(1.3074111938e-01, fileFields.get(0).getValues()[0], 0);
+    }
+    assertTrue(decoder.getStartupNanos() > 0);
+  }
+
+  @Test(expected = UnsupportedGribException.class)
+  public void testDecodeBuffer() throws IOException {
+    System.out.println("EccodesProcessDecoderTest.testDecodeBuffer-------------");
+    assertFalse(decoder.decodesBuffers());
+    try (GribIndex index = GribIndex.map(new File(testFilesPath + U_60_FILE))) {
+      decoder.decode(index, null);
+    }
+  }
+
+  /** @return the grid of the ICON-EU test files */
+  private static GridDefinition readGrid() throws IOException {
+    try (GribIndex index = GribIndex.map(new File(testFilesPath + U_60_FILE))) {
+      return index.getGridDefinition(index.getEntries().get(0));
+    }
+  }
+}
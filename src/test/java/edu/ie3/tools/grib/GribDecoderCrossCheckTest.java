@@ -0,0 +1,145 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Cross-checks the {@link GribDecoder} backends against the pure Java decoder using the bundled
+ * test files. Backends that are not available (no eccodes installed or the foreign function API
+ * not enabled) are skipped.
+ */
+public class GribDecoderCrossCheckTest {
+
+  private static final String testFilesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator
+          + "testFiles"
+          + File.separator;
+
+  private static final BoundingBox GERMANY = new BoundingBox(45.71457, 57.65129, 4.29694, 18.98635);
+
+  // %.10e as printed by grib_get_data
+  private static final double TEXT_PRECISION = 5e-11;
+
+  private static File[] testFiles;
+  private static File z0File;
+
+  private final GribDecoder reference = new JavaGribDecoder();
+
+  @BeforeClass
+  public static void setUp() throws IOException {
+    // the Z0 file is only bundled as archive
+    z0File = File.createTempFile("icon-eu_Z0", ".grib2");
+    ByteBuffer z0 =
+        JavaGribDecoderTest.decompress(
+            testFilesPath
+                + "icon-eu_europe_regular-lat-lon_single-level_2019082300_003_Z0.grib2.bz2");
+    try (FileChannel channel = FileChannel.open(z0File.toPath(), StandardOpenOption.WRITE)) {
+      while (z0.hasRemaining()) channel.write(z0);
+    }
+    testFiles =
+        new File[] {
+          new File(
+              testFilesPath
+                  + "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2"),
+          new File(
+              testFilesPath
+                  + "icon-eu_europe_regular-lat-lon_single-level_2018031417_042_U_10M.grib2"),
+          z0File
+        };
+  }
+
+  @Test
+  public void testFactory() {
+    System.out.println("GribDecoderCrossCheckTest.testFactory------------------");
+    assertEquals(GribDecoder.ECCODES, GribDecoder.of("eccodes", "", "", "null").getName());
+    assertEquals(GribDecoder.JAVA, GribDecoder.of("java", "", "", "null").getName());
+    assertThrows(IllegalArgumentException.class, () -> GribDecoder.of("wgrib2", "", "", "null"));
+  }
+
+  @Test
+  public void testEccodesProcessDecoder() throws IOException {
+    System.out.println("GribDecoderCrossCheckTest.testEccodesProcessDecoder----");
+    try {
+      new ProcessBuilder("grib_get_data").start().waitFor();
+    } catch (IOException e) {
+      Assume.assumeNoException(e); // eccodes not installed
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    crossCheck(new EccodesProcessDecoder("grib_get_data", "null"), TEXT_PRECISION);
+  }
+
+  @Test
+  public void testForeignEccodesDecoder() throws IOException {
+    System.out.println("GribDecoderCrossCheckTest.testForeignEccodesDecoder----");
+    GribDecoder decoder;
+    try {
+      decoder = GribDecoder.of(GribDecoder.ECCODES_FFM, "", "eccodes", "null");
+    } catch (IllegalArgumentException e) {
+      Assume.assumeNoException(e); // libeccodes or the foreign function API not available
+      return;
+    }
+    // eccodes uses the same arithmetic, hence the values have to be identical
+    crossCheck(decoder, 0);
+
+    // messages decompressed into the heap are decoded as well
+    GribIndex heapIndex = GribIndex.of(ByteBuffer.wrap(Files.readAllBytes(z0File.toPath())));
+    assertFieldsEqual(reference.decode(heapIndex, GERMANY), decoder.decode(heapIndex, GERMANY), 0);
+  }
+
+  private void crossCheck(GribDecoder decoder, double relativeDelta) throws IOException {
+    for (File file : testFiles) {
+      assertFieldsEqual(reference.decode(file), decoder.decode(file), relativeDelta);
+      assertFieldsEqual(
+          reference.decode(file, GERMANY), decoder.decode(file, GERMANY), relativeDelta);
+    }
+  }
+
+  private static void assertFieldsEqual(
+      List<GribField> expected, List<GribField> actual, double relativeDelta) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      GribField expectedField = expected.get(i);
+      GribField actualField = actual.get(i);
+      assertEquals(expectedField.getGrid(), actualField.getGrid());
+      assertEquals(expectedField.getWindow().toString(), actualField.getWindow().toString());
+      double[] expectedValues = expectedField.getValues();
+      double[] actualValues = actualField.getValues();
+      for (int index = 0; index < expectedValues.length; index++)
+        assertEquals(
+            "value " + index,
+            expectedValues[index],
+            actualValues[index],
+            Math.abs(expectedValues[index]) * relativeDelta);
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() throws IOException {
+    Files.deleteIfExists(z0File.toPath());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+
+public class GribTextReaderTest {
+
+  @Test
+  public void testReadLines() throws IOException {
+    System.out.println("GribTextReaderTest.testReadLines-----------------------");
+    String text =
+        "Latitude Longitude Value\n"
+            + "   29.500  -23.500 1.2936019897e-01\r\n"
+            + "29.500-23.4382.3385238647e-01\n"
+            + "\t29.500 \t -23.375  NULL \n"
+            + "   29.500  -23.312 -3.8131332397e+02";
+    // a tiny buffer to cover lines spanning several reads
+    try (GribTextReader reader = reader(text, 8)) {
+      assertEquals("Latitude Longitude Value", reader.readHeadline());
+
+      assertTrue(reader.nextLine());
+      assertTrue(reader.splitLine());
+      assertEquals(29.5, reader.getLatitude(), 0);
+      assertEquals(-23.5, reader.getLongitude(), 0);
+      assertEquals(1.2936019897e-01, reader.getValue(), 0);
+
+      assertTrue(reader.nextLine());
+      assertFalse(reader.splitLine());
+      assertEquals("29.500-23.4382.3385238647e-01", reader.currentLine());
+
+      assertTrue(reader.nextLine());
+      assertTrue(reader.splitLine());
+      assertEquals(-23.375, reader.getLongitude(), 0);
+      assertTrue(Double.isNaN(reader.getValue()));
+
+      assertTrue(reader.nextLine());
+      assertTrue(reader.splitLine());
+      assertEquals(-3.8131332397e+02, reader.getValue(), 0);
+
+      assertFalse(reader.nextLine());
+    }
+  }
+
+  @Test
+  public void testReadMessages() throws IOException {
+    System.out.println("GribTextReaderTest.testReadMessages--------------------");
+    String text =
+        "Latitude Longitude Value\n"
+            + "   29.500  -23.500 1.0\n"
+            + "   29.500  -23.438 2.0\n"
+            + "Latitude Longitude Value\n"
+            + "   29.500  -23.500 3.0\n";
+    try (GribTextReader reader = reader(text, 16)) {
+      assertEquals("Latitude Longitude Value", reader.readHeadline());
+      assertTrue(reader.nextLine());
+      assertTrue(reader.nextLine());
+      assertFalse(reader.nextLine()); // stops at the headline of the next message
+      assertFalse(reader.nextLine());
+
+      assertEquals("Latitude Longitude Value", reader.readHeadline());
+      assertTrue(reader.nextLine());
+      assertTrue(reader.splitLine());
+      assertEquals(3.0, reader.getValue(), 0);
+      assertFalse(reader.nextLine());
+      assertNull(reader.readHeadline());
+    }
+  }
+
+  @Test
+  public void testOldHeadline() throws IOException {
+    System.out.println("GribTextReaderTest.testOldHeadline---------------------");
+    try (GribTextReader reader = reader("Latitude, Longitude, Value\n", 4)) {
+      assertEquals("Latitude, Longitude, Value", reader.readHeadline());
+      assertFalse(reader.nextLine());
+    }
+    try (GribTextReader reader = reader("", 4)) {
+      assertNull(reader.readHeadline());
+    }
+  }
+
+  @Test
+  public void testParseDoubleEqualsJdk() {
+    System.out.println("GribTextReaderTest.testParseDoubleEqualsJdk------------");
+    String[] numbers = {
+      "0", "-0.000", "29.562", "-23.438", "1.0629452213e-01", "7.8091463365e-05", "1E5", "+.5",
+      "5.", "123456789012345678901234567890", "1.7976931348623157e308", "4.9e-324", "1e-400",
+      "0.1234567890123456789", "NaN", "-Infinity"
+    };
+    for (String number : numbers) assertParsedLikeJdk(number);
+
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+      assertParsedLikeJdk(String.format(Locale.ROOT, "%.10e", value));
+      assertParsedLikeJdk(String.format(Locale.ROOT, "%9.3f", value).trim());
+      assertParsedLikeJdk(Double.toString(value));
+    }
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testParseInvalidDouble() {
+    byte[] bytes = "1.2e".getBytes(StandardCharsets.US_ASCII);
+    GribTextReader.parseDouble(bytes, 0, bytes.length);
+  }
+
+  private static void assertParsedLikeJdk(String number) {
+    byte[] bytes = number.getBytes(StandardCharsets.US_ASCII);
+    assertEquals(
+        number,
+        Double.doubleToRawLongBits(Double.parseDouble(number)),
+        Double.doubleToRawLongBits(GribTextReader.parseDouble(bytes, 0, bytes.length)));
+  }
+
+  private static GribTextReader reader(String text, int bufferSize) {
+    return new GribTextReader(
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), "null", bufferSize);
+  }
+}
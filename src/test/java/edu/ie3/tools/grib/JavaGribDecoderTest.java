@@ -0,0 +1,223 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class JavaGribDecoderTest {
+
+  private static final String testFilesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator
+          + "testFiles"
+          + File.separator;
+
+  private static final String U_60_FILE =
+      "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2";
+  private static final String Z0_FILE =
+      "icon-eu_europe_regular-lat-lon_single-level_2019082300_003_Z0.grib2.bz2";
+
+  // %.10e as printed by grib_get_data, which rounds the exact binary value half even
+  private static final MathContext ECCODES_PRECISION = new MathContext(11, RoundingMode.HALF_EVEN);
+
+  private final JavaGribDecoder decoder = new JavaGribDecoder();
+
+  @Test
+  public void testGridDefinition() throws IOException {
+    System.out.println("JavaGribDecoderTest.testGridDefinition-----------------");
+    List<GribField> fields = decoder.decode(new File(testFilesPath + U_60_FILE));
+    assertEquals(1, fields.size());
+
+    GridDefinition grid = fields.get(0).getGrid();
+    assertEquals(1097, grid.getNi());
+    assertEquals(657, grid.getNj());
+    assertEquals(720729, fields.get(0).size());
+
+    assertEquals(29.5, grid.latitude(0), 0);
+    assertEquals(-23.5, grid.longitude(0), 0);
+    assertEquals(29.562, grid.latitude(1097), 0); // 29.5625, rounded half even like eccodes
+    assertEquals(-23.438, grid.longitude(1), 0); // -23.4375
+    assertEquals(70.5, grid.latitude(720728), 0);
+    assertEquals(45.0, grid.longitude(720728), 0);
+
+    // inverse mapping of rounded coordinates to grid indices
+    for (int index : new int[] {0, 1, 1097, 1098, 358912, 720728})
+      assertEquals(index, grid.indexOf(grid.latitude(index), grid.longitude(index)));
+    assertEquals(-1, grid.indexOf(29.5, -23.49));
+    assertEquals(-1, grid.indexOf(10.0, 10.0));
+  }
+
+  @Test
+  public void testValuesEqualEccodesOutput() throws IOException {
+    System.out.println("JavaGribDecoderTest.testValuesEqualEccodesOutput-------");
+    // reference values printed by grib_get_data (see resources/test_values_overview.txt)
+    GribField field = decoder.decode(new File(testFilesPath + U_60_FILE)).get(0);
+    assertEccodesValue("1.3074111938e-01", field, 29.5, -23.5);
+    assertEccodesValue("2.7225494385e-02", field, 45.75, 4.312);
+    assertEccodesValue("7.0867958069e+00", field, 57.625, 18.938);
+    assertEccodesValue("9.8132705688e-01", field, 51.688, 11.625);
+
+    field = decoder.decode(decompress(testFilesPath + Z0_FILE)).get(0);
+    assertEccodesValue("1.0629452213e-01", field, 45.75, 4.312);
+    assertEccodesValue("7.8091463365e-05", field, 57.625, 18.938);
+    assertEccodesValue("8.4794888338e-02", field, 51.688, 11.625);
+  }
+
+  @Test
+  public void testAllValuesEqualGribGetData() throws IOException, InterruptedException {
+    System.out.println("JavaGribDecoderTest.testAllValuesEqualGribGetData------");
+    Process process;
+    try {
+      process = new ProcessBuilder("grib_get_data", testFilesPath + U_60_FILE).start();
+    } catch (IOException e) {
+      Assume.assumeNoException(e); // eccodes not installed
+      return;
+    }
+    GribField field = decoder.decode(new File(testFilesPath + U_60_FILE)).get(0);
+    GridDefinition grid = field.getGrid();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      reader.readLine(); // headline
+      String line;
+      int index = 0;
+      while ((line = reader.readLine()) != null) {
+        String[] split = line.trim().split("\\s+");
+        assertEquals(Double.parseDouble(split[0]), grid.latitude(index), 0);
+        assertEquals(Double.parseDouble(split[1]), grid.longitude(index), 0);
+        assertEquals(
+            split[2],
+            0,
+            toEccodesPrecision(field.getValues()[index]).compareTo(new BigDecimal(split[2])));
+        index++;
+      }
+      assertEquals(field.size(), index);
+    }
+    assertEquals(0, process.waitFor());
+  }
+
+  @Test
+  public void testIndex() throws IOException {
+    System.out.println("JavaGribDecoderTest.testIndex--------------------------");
+    try (GribIndex index = GribIndex.map(new File(testFilesPath + U_60_FILE))) {
+      assertEquals(1, index.getEntries().size());
+
+      GribIndex.Entry entry = index.getEntries().get(0);
+      assertEquals(0, entry.getMessageOffset());
+      assertEquals(64, entry.getGridDefinitionOffset());
+      assertEquals(136, entry.getProductDefinitionOffset());
+      assertEquals(170, entry.getDataRepresentationOffset());
+      assertFalse(entry.hasBitmap());
+      assertEquals(202, entry.getDataOffset());
+      assertEquals(720729 * 2, entry.getDataLength());
+
+      // decoding from the mapping equals decoding from a heap buffer
+      GribField mapped = decoder.decode(index.getBuffer(), entry);
+      byte[] bytes = Files.readAllBytes(new File(testFilesPath + U_60_FILE).toPath());
+      GribField heap = decoder.decode(ByteBuffer.wrap(bytes)).get(0);
+      assertArrayEquals(heap.getValues(), mapped.getValues(), 0);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCloseIndex() throws IOException {
+    System.out.println("JavaGribDecoderTest.testCloseIndex---------------------");
+    GribIndex index = GribIndex.map(new File(testFilesPath + U_60_FILE));
+    ByteBuffer buffer = index.getBuffer();
+    index.close();
+    index.close();
+    // the mapping has been released
+    buffer.get(0);
+  }
+
+  @Test
+  public void testDecodeWindow() throws IOException {
+    System.out.println("JavaGribDecoderTest.testDecodeWindow-------------------");
+    BoundingBox box = new BoundingBox(45.71457, 57.65129, 4.29694, 18.98635);
+    GribField field = decoder.decode(new File(testFilesPath + U_60_FILE), box).get(0);
+    GridWindow window = field.getWindow();
+    assertEquals(260, window.getFirstRow());
+    assertEquals(191, window.getRows());
+    assertEquals(445, window.getFirstColumn());
+    assertEquals(235, window.getColumns());
+    assertEquals(44885, field.size());
+    assertEquals(45.75, window.latitude(0), 0);
+    assertEquals(4.312, window.longitude(0), 0);
+    assertEquals(57.625, window.latitude(44884), 0);
+    assertEquals(18.938, window.longitude(44884), 0);
+    assertEquals(235, window.runLength(0));
+    assertEquals(1, window.runLength(234));
+
+    GribField fullField = decoder.decode(new File(testFilesPath + U_60_FILE)).get(0);
+    for (int index = 0; index < field.size(); index++)
+      assertEquals(fullField.getValues()[window.gridIndex(index)], field.getValues()[index], 0);
+    assertEccodesValue("2.7225494385e-02", field, 45.75, 4.312);
+    assertEccodesValue("7.0867958069e+00", field, 57.625, 18.938);
+    assertEccodesValue("9.8132705688e-01", field, 51.688, 11.625);
+
+    // a box outside of the grid yields an empty field
+    box = new BoundingBox(-10, -5, 0, 10);
+    assertEquals(0, decoder.decode(new File(testFilesPath + U_60_FILE), box).get(0).size());
+  }
+
+  @Test(expected = IOException.class)
+  public void testNoGribFile() throws IOException {
+    System.out.println("JavaGribDecoderTest.testNoGribFile---------------------");
+    decoder.decode(new File(testFilesPath + "validGribTextFile.txt"));
+  }
+
+  @Test
+  public void testPower() {
+    assertEquals(1.0, JavaGribDecoder.power(0, 10), 0);
+    assertEquals(Math.pow(2, -10), JavaGribDecoder.power(-10, 2), 0);
+    assertEquals(100.0, JavaGribDecoder.power(2, 10), 0);
+  }
+
+  private static void assertEccodesValue(
+      String expected, GribField field, double latitude, double longitude) {
+    GridWindow window = field.getWindow();
+    for (int index = 0; index < field.size(); index++) {
+      if (window.latitude(index) == latitude && window.longitude(index) == longitude) {
+        assertEquals(
+            expected,
+            0,
+            toEccodesPrecision(field.getValues()[index]).compareTo(new BigDecimal(expected)));
+        return;
+      }
+    }
+    fail("Coordinate " + latitude + ", " + longitude + " is not part of the grid");
+  }
+
+  private static BigDecimal toEccodesPrecision(double value) {
+    return new BigDecimal(value).round(ECCODES_PRECISION);
+  }
+
+  static ByteBuffer decompress(String bz2File) throws IOException {
+    try (InputStream in = new BZip2CompressorInputStream(new FileInputStream(bz2File))) {
+      return ByteBuffer.wrap(IOUtils.toByteArray(in));
+    }
+  }
+}
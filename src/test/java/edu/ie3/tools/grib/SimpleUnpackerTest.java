@@ -0,0 +1,83 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.grib;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SimpleUnpackerTest {
+
+  private static final String testFilesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator
+          + "testFiles"
+          + File.separator;
+
+  private final SimpleUnpacker scalar = new ScalarSimpleUnpacker();
+  private SimpleUnpacker vector;
+
+  @Before
+  public void setUp() {
+    vector = SimpleUnpacker.create();
+    // the Vector API is not available without --add-modules jdk.incubator.vector
+    Assume.assumeTrue(vector instanceof VectorSimpleUnpacker);
+  }
+
+  @Test
+  public void testVectorEqualsScalar() {
+    System.out.println("SimpleUnpackerTest.testVectorEqualsScalar--------------");
+    Random random = new Random(42);
+    byte[] bytes = new byte[4096];
+    random.nextBytes(bytes);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    double s = JavaGribDecoder.power(-7, 2);
+    double r = -271.3f;
+    double d = JavaGribDecoder.power(-2, 10);
+    for (int bits : new int[] {0, 1, 7, 12, 16, 24, 31, 32}) {
+      // aligned and unaligned starts, counts below and above the vector length and chunk size
+      for (long firstBit : new long[] {0, 8, 3, 16 * 5}) {
+        for (int count : new int[] {0, 1, 3, 17, 235, 1000}) {
+          double[] expected = new double[count + 2];
+          double[] actual = new double[count + 2];
+          scalar.unpack(buffer, firstBit, bits, count, s, r, d, expected, 1);
+          vector.unpack(buffer, firstBit, bits, count, s, r, d, actual, 1);
+          assertArrayEquals(expected, actual, 0);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDecodeWithBothUnpackers() throws IOException {
+    System.out.println("SimpleUnpackerTest.testDecodeWithBothUnpackers---------");
+    File file =
+        new File(
+            testFilesPath + "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2");
+    BoundingBox box = new BoundingBox(45.71457, 57.65129, 4.29694, 18.98635);
+    assertArrayEquals(
+        new JavaGribDecoder(scalar).decode(file).get(0).getValues(),
+        new JavaGribDecoder(vector).decode(file).get(0).getValues(),
+        0);
+    assertArrayEquals(
+        new JavaGribDecoder(scalar).decode(file, box).get(0).getValues(),
+        new JavaGribDecoder(vector).decode(file, box).get(0).getValues(),
+        0);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import org.junit.Test;
+
+public class CoordinateIndexTest {
+
+  @Test
+  public void testSlotOf() {
+    System.out.println("CoordinateIndexTest.testSlotOf-------------------------");
+    CoordinateModel first = new CoordinateModel(51.5, 7.5);
+    first.setId(1000);
+    CoordinateModel second = new CoordinateModel(51.5, 7.562);
+    second.setId(17);
+    CoordinateModel withoutId = new CoordinateModel(51.562, 7.5);
+    CoordinateIndex coordinates = new CoordinateIndex(Arrays.asList(first, withoutId, second));
+    assertEquals(0, coordinates.slotOf(1000));
+    assertEquals(2, coordinates.slotOf(17));
+    assertEquals(-1, coordinates.slotOf(18));
+    assertEquals(-1, coordinates.slotOf(16));
+    assertEquals(-1, coordinates.slotOf(1001));
+    assertEquals(-1, coordinates.slotOf(Integer.MIN_VALUE));
+    assertEquals(-1, coordinates.slotOf(Integer.MAX_VALUE));
+    assertEquals(-1, new CoordinateIndex(Collections.emptyList()).slotOf(17));
+  }
+
+  @Test
+  public void testSlotOfSparseIds() {
+    System.out.println("CoordinateIndexTest.testSlotOfSparseIds----------------");
+    CoordinateModel first = new CoordinateModel(51.5, 7.5);
+    first.setId(Integer.MAX_VALUE);
+    CoordinateModel second = new CoordinateModel(51.5, 7.562);
+    second.setId(Integer.MIN_VALUE + 1);
+    CoordinateModel third = new CoordinateModel(51.562, 7.5);
+    third.setId(0);
+    CoordinateIndex coordinates = new CoordinateIndex(Arrays.asList(first, second, third));
+    assertEquals(0, coordinates.slotOf(Integer.MAX_VALUE));
+    assertEquals(1, coordinates.slotOf(Integer.MIN_VALUE + 1));
+    assertEquals(2, coordinates.slotOf(0));
+    assertEquals(-1, coordinates.slotOf(Integer.MIN_VALUE));
+    assertEquals(-1, coordinates.slotOf(1));
+  }
+
+  @Test
+  public void testSlotOfCoordinate() {
+    System.out.println("CoordinateIndexTest.testSlotOfCoordinate---------------");
+    CoordinateIndex coordinates =
+        new CoordinateIndex(
+            Arrays.asList(
+                new CoordinateModel(51.5, 7.5),
+                new CoordinateModel(51.5, 7.562),
+                new CoordinateModel(-29.5, -23.5)));
+    assertEquals(0, coordinates.slotOf(51.5, 7.5));
+    assertEquals(1, coordinates.slotOf(51.5, 7.562));
+    assertEquals(2, coordinates.slotOf(-29.5, -23.5));
+    assertEquals(-1, coordinates.slotOf(51.562, 7.5));
+    assertEquals(-1, coordinates.slotOf(7.5, 51.5));
+  }
+
+  @Test
+  public void testHashCodeWithoutId() {
+    System.out.println("CoordinateIndexTest.testHashCodeWithoutId--------------");
+    CoordinateModel coordinate = new CoordinateModel(51.5, 7.562);
+    assertEquals(Objects.hash(51.5, 7.562), coordinate.hashCode());
+    coordinate.setId(17);
+    assertEquals(new CoordinateModel(51.5, 7.562).hashCode(), coordinate.hashCode());
+  }
+}
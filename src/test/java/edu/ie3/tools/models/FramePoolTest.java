@@ -0,0 +1,78 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class FramePoolTest {
+
+  private final ZonedDateTime date = ZonedDateTime.of(2019, 7, 3, 3, 0, 0, 0, ZoneId.of("UTC"));
+
+  private final CoordinateIndex coordinates =
+      new CoordinateIndex(
+          Arrays.asList(
+              new CoordinateModel(51.5, 7.5),
+              new CoordinateModel(51.5, 7.562),
+              new CoordinateModel(51.562, 7.5)));
+
+  @Test
+  public void testFramesAreReset() {
+    System.out.println("FramePoolTest.testFramesAreReset-----------------------");
+    FramePool pool = new FramePool(coordinates, false, null, 1);
+    WeatherFrame frame = pool.frame(date);
+    frame.set(Parameter.U_10M, 1, 2.5);
+    frame.release();
+
+    WeatherFrame reused = pool.frame(date.plusHours(1));
+    assertSame(frame, reused);
+    assertEquals(date.plusHours(1), reused.getDate());
+    assertFalse(reused.isPresent(Parameter.U_10M, 1));
+    reused.set(Parameter.U_10M, 2, 1.0);
+    assertNull(reused.get(Parameter.U_10M, 1));
+    assertEquals(1.0, reused.get(Parameter.U_10M, 2), 0);
+    assertEquals("Frame pool: reused 1 of 2 frames and 0 of 0 buffers", pool.drainStatistics());
+    assertNull(pool.drainStatistics());
+  }
+
+  @Test
+  public void testPoolSize() {
+    System.out.println("FramePoolTest.testPoolSize-----------------------------");
+    FramePool pool = new FramePool(coordinates, false, null, 1);
+    WeatherFrame[] frames = new WeatherFrame[FramePool.FRAMES_PER_TIMESTEP + 1];
+    for (int i = 0; i < frames.length; i++) frames[i] = pool.frame(date);
+    for (WeatherFrame frame : frames) frame.release();
+    // the pool only keeps the frames of one timestep in flight
+    for (int i = 0; i < frames.length; i++) pool.frame(date);
+    assertEquals(
+        "Frame pool: reused "
+            + FramePool.FRAMES_PER_TIMESTEP
+            + " of "
+            + 2 * frames.length
+            + " frames and 0 of 0 buffers",
+        pool.drainStatistics());
+
+    double[] buffer = pool.buffer();
+    assertEquals(coordinates.size(), buffer.length);
+    pool.recycle(buffer);
+    pool.recycle(new double[coordinates.size() + 1]); // buffers of other sizes are not kept
+    assertSame(buffer, pool.buffer());
+    assertEquals(coordinates.size(), pool.buffer().length);
+
+    // nothing is reused without timesteps in flight
+    pool = new FramePool(coordinates, false, null, 0);
+    WeatherFrame frame = pool.frame(date);
+    frame.release();
+    assertNotSame(frame, pool.frame(date));
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.grib.BoundingBox;
+import edu.ie3.tools.grib.GribField;
+import edu.ie3.tools.grib.GribIndex;
+import edu.ie3.tools.grib.JavaGribDecoder;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/** Quantifies the data loss of the single precision mode using the bundled test files */
+public class SinglePrecisionTest {
+
+  private static final String testFilesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator
+          + "testFiles"
+          + File.separator;
+
+  private static final BoundingBox GERMANY = new BoundingBox(45.71457, 57.65129, 4.29694, 18.98635);
+
+  // unit roundoff of float32
+  private static final double FLOAT_EPSILON = Math.pow(2, -24);
+
+  private final JavaGribDecoder decoder = new JavaGribDecoder();
+
+  @Test
+  public void testRoundingLosesNoPackedInformation() throws IOException {
+    System.out.println("SinglePrecisionTest.testRoundingLosesNoPackedInformation");
+    for (GribField field : fixtureFields(null)) {
+      double maxRelativeError = 0;
+      double maxAbsoluteError = 0;
+      Set<Double> distinctValues = new HashSet<>();
+      Set<Float> distinctFloats = new HashSet<>();
+      for (double value : field.getValues()) {
+        if (Double.isNaN(value)) continue;
+        float rounded = (float) value;
+        double error = Math.abs(rounded - value);
+        maxAbsoluteError = Math.max(maxAbsoluteError, error);
+        if (value != 0) maxRelativeError = Math.max(maxRelativeError, error / Math.abs(value));
+        distinctValues.add(value);
+        distinctFloats.add(rounded);
+      }
+      System.out.println(
+          "   "
+              + distinctValues.size()
+              + " packed values, max. absolute error "
+              + maxAbsoluteError
+              + ", max. relative error "
+              + maxRelativeError);
+      assertTrue(maxRelativeError <= FLOAT_EPSILON);
+      // no two packed values collapse into the same float, hence the packed field is preserved
+      assertEquals(distinctValues.size(), distinctFloats.size());
+    }
+  }
+
+  @Test
+  public void testFrameInSinglePrecision() throws IOException {
+    System.out.println("SinglePrecisionTest.testFrameInSinglePrecision---------");
+    // U at 20m (model level 60) and Z0, both on the same grid
+    List<GribField> fields = fixtureFields(GERMANY);
+    GribField field = fields.get(0);
+    List<CoordinateModel> coordinateModels = new ArrayList<>(field.size());
+    for (int index = 0; index < field.size(); index++) {
+      CoordinateModel coordinate =
+          new CoordinateModel(
+              field.getWindow().latitude(index), field.getWindow().longitude(index));
+      coordinate.setId(index);
+      coordinateModels.add(coordinate);
+    }
+    CoordinateIndex coordinates = new CoordinateIndex(coordinateModels);
+    ZonedDateTime date = ZonedDateTime.of(2019, 8, 23, 3, 0, 0, 0, ZoneId.of("UTC"));
+
+    WeatherFrame doubles = new WeatherFrame(date, coordinates);
+    WeatherFrame floats = new WeatherFrame(date, coordinates, true);
+    WeatherFrame previousDoubles = new WeatherFrame(date, coordinates);
+    WeatherFrame previousFloats = new WeatherFrame(date, coordinates, true);
+    doubles.set(Parameter.U_20M, fields.get(0).getValues());
+    floats.set(Parameter.U_20M, fields.get(0).getValues());
+    previousDoubles.set(Parameter.U_20M, fields.get(2).getValues());
+    previousFloats.set(Parameter.U_20M, fields.get(2).getValues());
+    assertTrue(floats.isSinglePrecision());
+    for (int slot = 0; slot < field.size(); slot++)
+      assertEquals(
+          (float) doubles.getDouble(Parameter.U_20M, slot),
+          floats.getDouble(Parameter.U_20M, slot),
+          0);
+
+    doubles.interpolate(previousDoubles, 0.3);
+    floats.interpolate(previousFloats, 0.3);
+    double maxAbsoluteError = 0;
+    for (int slot = 0; slot < field.size(); slot++) {
+      double expected = doubles.getDouble(Parameter.U_20M, slot);
+      double actual = floats.getDouble(Parameter.U_20M, slot);
+      // rounding of both operands, the products and the sum
+      assertEquals(expected, actual, 4 * FLOAT_EPSILON * Math.max(1, Math.abs(expected)));
+      maxAbsoluteError = Math.max(maxAbsoluteError, Math.abs(actual - expected));
+    }
+    System.out.println("   max. absolute error after interpolation " + maxAbsoluteError);
+
+    // values are written with the shortest representation of their float
+    String insertValues = floats.getSQLInsertValuesString(0);
+    assertTrue(insertValues.contains(Float.toString((float) floats.getDouble(Parameter.U_20M, 0))));
+    // and bound to prepared statements with the same value
+    assertEquals(
+        Float.toString((float) floats.getDouble(Parameter.U_20M, 0)),
+        Float.toString((float) floats.getSQLDouble(Parameter.U_20M, 0)));
+    assertEquals(
+        Double.parseDouble(Float.toString((float) floats.getDouble(Parameter.U_20M, 0))),
+        floats.getSQLDouble(Parameter.U_20M, 0),
+        0);
+  }
+
+  /** @return the fields of the U and Z0 test files */
+  private List<GribField> fixtureFields(BoundingBox box) throws IOException {
+    List<GribField> fields = new ArrayList<>();
+    fields.addAll(
+        decoder.decode(
+            new File(
+                testFilesPath
+                    + "icon-eu_europe_regular-lat-lon_model-level_2018031417_042_60_U.grib2"),
+            box));
+    fields.addAll(
+        decoder.decode(
+            new File(
+                testFilesPath
+                    + "icon-eu_europe_regular-lat-lon_single-level_2018031417_042_U_10M.grib2"),
+            box));
+    try (InputStream in =
+        new BZip2CompressorInputStream(
+            new FileInputStream(
+                testFilesPath
+                    + "icon-eu_europe_regular-lat-lon_single-level_2019082300_003_Z0.grib2.bz2"))) {
+      ByteBuffer z0 = ByteBuffer.wrap(IOUtils.toByteArray(in));
+      fields.addAll(decoder.decode(GribIndex.of(z0), box));
+    }
+    return fields;
+  }
+}
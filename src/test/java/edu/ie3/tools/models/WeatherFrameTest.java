@@ -0,0 +1,167 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.models;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.models.persistence.ICONWeatherModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WeatherFrameTest {
+
+  private static final int SIZE = 10;
+
+  private final ZonedDateTime date = ZonedDateTime.of(2019, 7, 3, 3, 0, 0, 0, ZoneId.of("UTC"));
+  private final Random random = new Random(42);
+
+  private CoordinateIndex coordinates;
+
+  @Before
+  public void setUp() {
+    List<CoordinateModel> coordinateModels = new ArrayList<>(SIZE);
+    for (int id = 0; id < SIZE; id++) {
+      CoordinateModel coordinate = new CoordinateModel(50 + id * 0.0625, 7.0);
+      coordinate.setId(100 + id);
+      coordinateModels.add(coordinate);
+    }
+    coordinates = new CoordinateIndex(coordinateModels);
+  }
+
+  @Test
+  public void testSetAndGet() {
+    System.out.println("WeatherFrameTest.testSetAndGet-------------------------");
+    WeatherFrame frame = new WeatherFrame(date, coordinates);
+    assertEquals(SIZE, frame.size());
+    assertFalse(frame.isPresent(Parameter.U_10M, 0));
+    assertNull(frame.get(Parameter.U_10M, 0));
+    assertTrue(Double.isNaN(frame.getDouble(Parameter.U_10M, 0)));
+
+    double[] values = new double[SIZE];
+    for (int slot = 0; slot < SIZE; slot++) values[slot] = slot % 3 == 0 ? Double.NaN : slot;
+    frame.set(Parameter.U_10M, values);
+    for (int slot = 0; slot < SIZE; slot++) {
+      assertEquals(slot % 3 != 0, frame.isPresent(Parameter.U_10M, slot));
+      if (slot % 3 != 0) assertEquals(slot, frame.getDouble(Parameter.U_10M, slot), 0);
+    }
+
+    // missing values do not overwrite present ones, just like ICONWeatherModel.setParameter
+    values = new double[SIZE];
+    Arrays.fill(values, Double.NaN);
+    values[0] = 0.5;
+    frame.set(Parameter.U_10M, values);
+    assertEquals(0.5, frame.get(Parameter.U_10M, 0), 0);
+    assertEquals(1.0, frame.get(Parameter.U_10M, 1), 0);
+    assertFalse(frame.isPresent(Parameter.V_10M, 1));
+  }
+
+  @Test
+  public void testEntitiesAreViews() {
+    System.out.println("WeatherFrameTest.testEntitiesAreViews------------------");
+    WeatherFrame frame = randomFrame();
+    List<ICONWeatherModel> entities = frame.getEntities();
+    assertEquals(SIZE, entities.size());
+    for (int slot = 0; slot < SIZE; slot++) {
+      ICONWeatherModel entity = entities.get(slot);
+      assertEquals(date, entity.getDate());
+      assertSame(coordinates.get(slot), entity.getCoordinate());
+      for (Parameter parameter : Parameter.values())
+        assertEquals(frame.get(parameter, slot), entity.getParameter(parameter));
+      assertEquals(entity.getSQLInsertValuesString(), frame.getSQLInsertValuesString(slot));
+    }
+    String upsertStatement = ICONWeatherModel.getSQLUpsertStatement(frame, 2, 7, "icon");
+    StringBuilder values = new StringBuilder();
+    for (ICONWeatherModel entity : entities.subList(2, 7))
+      values.append(entity.getSQLInsertValuesString()).append(", ");
+    values.setLength(values.length() - 2);
+    assertTrue(upsertStatement.contains(" VALUES " + values + " ON CONFLICT"));
+  }
+
+  @Test
+  public void testInterpolateEqualsEntityInterpolation() {
+    System.out.println("WeatherFrameTest.testInterpolateEqualsEntityInterpolation");
+    WeatherFrame frame = randomFrame();
+    // previous values with gaps, too
+    WeatherFrame previous = randomFrame();
+    List<ICONWeatherModel> expected = previous.getEntities();
+    for (int slot = 0; slot < SIZE; slot++)
+      expected.get(slot).interpolateValues(frame.getEntity(slot), 0.3);
+
+    frame.interpolate(previous, 0.3);
+    for (int slot = 0; slot < SIZE; slot++)
+      for (Parameter parameter : Parameter.values())
+        assertEquals(
+            parameter + " at " + slot,
+            expected.get(slot).getParameter(parameter),
+            frame.get(parameter, slot));
+  }
+
+  @Test
+  public void testOffHeapFrames() {
+    System.out.println("WeatherFrameTest.testOffHeapFrames---------------------");
+    OffHeapArena arena;
+    try {
+      arena = new OffHeapArena();
+    } catch (LinkageError e) {
+      Assume.assumeNoException("jdk.incubator.foreign is not available", e);
+      return;
+    }
+    try (arena) {
+      for (boolean singlePrecision : new boolean[] {false, true}) {
+        WeatherFrame onHeap = new WeatherFrame(date, coordinates, singlePrecision);
+        WeatherFrame offHeap = new WeatherFrame(date, coordinates, singlePrecision, arena);
+        WeatherFrame previous = new WeatherFrame(date, coordinates, singlePrecision, arena);
+        for (Parameter parameter : Parameter.values()) {
+          for (int slot = 0; slot < SIZE; slot++) {
+            if (random.nextInt(4) > 0) {
+              double value = random.nextGaussian() * 10;
+              onHeap.set(parameter, slot, value);
+              offHeap.set(parameter, slot, value);
+            }
+            if (random.nextInt(4) > 0) previous.set(parameter, slot, random.nextGaussian());
+          }
+        }
+        onHeap.interpolate(previous, 0.3);
+        offHeap.interpolate(previous, 0.3);
+        for (int slot = 0; slot < SIZE; slot++)
+          assertEquals(
+              onHeap.getSQLInsertValuesString(slot), offHeap.getSQLInsertValuesString(slot));
+
+        // released columns back the next frames, released frames are empty
+        long allocatedBytes = arena.getAllocatedBytes();
+        offHeap.release();
+        previous.release();
+        assertNull(offHeap.get(Parameter.U_10M, 0));
+        WeatherFrame next = new WeatherFrame(date, coordinates, singlePrecision, arena);
+        next.set(Parameter.U_10M, 0, 1);
+        assertEquals(1, next.getDouble(Parameter.U_10M, 0), 0);
+        assertEquals(allocatedBytes, arena.getAllocatedBytes());
+        next.release();
+      }
+      assertTrue(arena.getReusedSegments() > 0);
+    }
+  }
+
+  /** @return a frame with random values, about a quarter of them is null */
+  private WeatherFrame randomFrame() {
+    WeatherFrame frame = new WeatherFrame(date, coordinates);
+    for (Parameter parameter : Parameter.values()) {
+      for (int slot = 0; slot < SIZE; slot++)
+        if (random.nextInt(4) > 0) frame.set(parameter, slot, random.nextGaussian() * 10);
+    }
+    return frame;
+  }
+}
@@ -8,6 +8,8 @@ package edu.ie3.tools.models.persistence;
 
 import static junit.framework.TestCase.*;
 
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.WeatherFrame;
 import edu.ie3.tools.utils.ConfigurationParameters;
 import edu.ie3.tools.utils.enums.Parameter;
 import java.time.ZoneId;
@@ -122,8 +124,16 @@ public class ICONWeatherModelTest {
     ICONWeatherModel randWeather2 = generateRandomWeatherEntity();
     randWeather2.setDate(date);
     randWeather2.setCoordinate(coordinate);
-    Collection<ICONWeatherModel> entities = Arrays.asList(weather, randWeather1, randWeather2);
-    String generatedUpsertStatement = ICONWeatherModel.getSQLUpsertStatement(entities, "test");
+    List<ICONWeatherModel> entities = Arrays.asList(weather, randWeather1, randWeather2);
+    WeatherFrame frame =
+        new WeatherFrame(
+            date, new CoordinateIndex(Arrays.asList(coordinate, coordinate, coordinate)));
+    for (int slot = 0; slot < entities.size(); slot++)
+      for (Parameter parameter : Parameter.values()) {
+        Double value = entities.get(slot).getParameter(parameter);
+        if (value != null) frame.set(parameter, slot, value);
+      }
+    String generatedUpsertStatement = ICONWeatherModel.getSQLUpsertStatement(frame, 0, 3, "test");
     String sqlInsertInto =
         "INSERT INTO test.weather(\n\tdatum, alb_rad, asob_s, aswdifd_s, aswdifu_s, aswdir_s, sobs_rad, p_20m, p_65m, p_131m, t_131m, t_2m, t_g, "
             + "u_10m, u_131m, u_20m, u_216m, u_65m, v_10m, v_131m, v_20m, v_216m, v_65m, w_131m, w_20m, w_216m, w_65m, "
@@ -150,6 +160,42 @@ public class ICONWeatherModelTest {
     assertEquals(expectedUpsertStatement, generatedUpsertStatement);
   }
 
+  @Test
+  public void getSQLUpsertFromStatementWithInterpolation() {
+    String upsertStatement =
+        ICONWeatherModel.getSQLUpsertFromStatement("weather_staging", "test", 0.75);
+    assertTrue(
+        upsertStatement.startsWith(
+            "INSERT INTO test.weather(\n\t"
+                + ICONWeatherModel.SQL_COLUMNS
+                + ")\n\t SELECT "
+                + ICONWeatherModel.SQL_COLUMNS
+                + " FROM weather_staging ON CONFLICT (coordinate_id, datum) DO UPDATE \n  SET "
+                + "datum=excluded.datum,\n"));
+    // null values keep the other one, like interpolationCalculation
+    assertTrue(
+        upsertStatement.contains(
+            " alb_rad=COALESCE(weather.alb_rad * CAST(0.25 AS double precision)"
+                + " + excluded.alb_rad * CAST(0.75 AS double precision),"
+                + " excluded.alb_rad, weather.alb_rad),\n"));
+    assertTrue(upsertStatement.contains(" z0=COALESCE(weather.z0 * "));
+    assertTrue(upsertStatement.endsWith(",\n coordinate_id=excluded.coordinate_id;"));
+    assertEquals(
+        ICONWeatherModel.getSQLUpsertFromStatement("weather_staging", "test"),
+        ICONWeatherModel.getSQLUpsertFromStatement("weather_staging", "test", null));
+  }
+
+  @Test
+  public void getPSQLUpsertString() {
+    String upsertStatement = ICONWeatherModel.getPSQLUpsertString("test");
+    assertTrue(
+        upsertStatement.startsWith(
+            "INSERT INTO test.weather(\n\t" + ICONWeatherModel.SQL_COLUMNS + ")\n\t VALUES (?, "));
+    assertEquals(29, upsertStatement.split("\\?").length - 1); // one parameter per column
+    assertTrue(upsertStatement.contains("?) ON CONFLICT (coordinate_id, datum) DO UPDATE"));
+    assertTrue(upsertStatement.endsWith("coordinate_id=excluded.coordinate_id;"));
+  }
+
   @Test
   public void setParameter() {
     weather.setParameter(Parameter.ASOB_S, 1.337);
@@ -187,6 +233,17 @@ public class ICONWeatherModelTest {
     assertEquals(z0 * (1 - 0.67) + 100 * 0.67, weather.getZ0()); // 33% old value, 66% new value
   }
 
+  @Test
+  public void setNullValues() {
+    weather.setParameter(Parameter.U_10M, null);
+    assertEquals(u_10m, weather.getU_10m()); // setParameter ignores null values
+    weather.setU_10m(null); // setters, e.g. used by hibernate, clear them
+    assertNull(weather.getParameter(Parameter.U_10M));
+    assertFalse(weather.equals(generateWeatherEntity()));
+    weather.interpolateValues(generateWeatherEntity(), 0.5);
+    assertEquals(generateWeatherEntity(), weather);
+  }
+
   @Test
   public void interpolateValues() {
     ICONWeatherModel randWeather = generateRandomWeatherEntity();
@@ -0,0 +1,132 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AdaptiveChunkingTest {
+
+  private static final long FAST = 10_000_000; // 10ms
+  private static final long SLOW = 2_000_000_000; // 2s
+
+  @Test
+  public void testAdditiveIncrease() throws Exception {
+    System.out.println("AdaptiveChunkingTest.testAdditiveIncrease--------------");
+    AdaptiveChunking chunking = new AdaptiveChunking("Upsert", 500, 100, 650, 2, 1000);
+    assertEquals(500, chunking.getChunkSize());
+    assertEquals(2, chunking.getParallelism());
+    assertNull(chunking.getSummary());
+
+    // grows once per window of as many chunks as may run at once
+    chunking.release(chunking.acquire(), FAST, true);
+    assertEquals(500, chunking.getChunkSize());
+    chunking.release(chunking.acquire(), FAST, true);
+    assertEquals(600, chunking.getChunkSize());
+    assertEquals(2, chunking.getParallelism());
+
+    // up to the bounds
+    for (int i = 0; i < 4; i++) chunking.release(chunking.acquire(), FAST, true);
+    assertEquals(650, chunking.getChunkSize());
+    assertEquals(2, chunking.getParallelism());
+  }
+
+  @Test
+  public void testMultiplicativeDecrease() throws Exception {
+    System.out.println("AdaptiveChunkingTest.testMultiplicativeDecrease--------");
+    AdaptiveChunking chunking = new AdaptiveChunking("Upsert", 500, 100, 5000, 4, 1000);
+    long first = chunking.acquire();
+    long second = chunking.acquire();
+    long third = chunking.acquire();
+
+    chunking.release(first, FAST, false);
+    assertEquals(250, chunking.getChunkSize());
+    assertEquals(2, chunking.getParallelism());
+    // started before the decrease, hence not decreasing again
+    chunking.release(second, SLOW, true);
+    chunking.release(third, FAST, true);
+    assertEquals(250, chunking.getChunkSize());
+
+    chunking.release(chunking.acquire(), SLOW, true);
+    assertEquals(125, chunking.getChunkSize());
+    assertEquals(1, chunking.getParallelism());
+    // down to the bounds
+    chunking.release(chunking.acquire(), SLOW, true);
+    assertEquals(100, chunking.getChunkSize());
+    assertEquals(1, chunking.getParallelism());
+
+    assertEquals(
+        "Upsert chunks: 5 chunks after 1204.0ms on average (at most 2000ms), 1 failed, 100 to 500 rows (finally 100), 1 to 4 at once (finally 1), 3 decreases",
+        chunking.getSummary());
+  }
+
+  @Test
+  public void testDecreaseShrinksRemainingChunks() throws Exception {
+    System.out.println("AdaptiveChunkingTest.testDecreaseShrinksRemainingChunks");
+    AdaptiveChunking chunking = new AdaptiveChunking("Upsert", 500, 100, 5000, 1, 1000);
+    // chunks of one timestep, sized just before they run, the first one exceeds the target
+    List<Integer> chunkSizes = new ArrayList<>();
+    for (int i = 0, chunkSize; i < 1500; i += chunkSize) {
+      long ticket = chunking.acquire();
+      chunkSize = chunking.getChunkSize();
+      chunkSizes.add(chunkSize);
+      chunking.release(ticket, chunkSizes.size() == 1 ? SLOW : FAST, true);
+    }
+    assertEquals(Arrays.asList(500, 250, 350, 450), chunkSizes);
+  }
+
+  @Test
+  public void testRunAdmittedChunk() throws Exception {
+    System.out.println("AdaptiveChunkingTest.testRunAdmittedChunk--------------");
+    AdaptiveChunking chunking = new AdaptiveChunking("Weather lookup", 500, 100, 5000, 2, 1000);
+    long ticket = chunking.acquire();
+    assertFalse(chunking.run(ticket, () -> false));
+    assertEquals(250, chunking.getChunkSize());
+    assertEquals(1, chunking.getParallelism());
+    // released despite the failure
+    assertTrue(chunking.admit(() -> true));
+  }
+
+  @Test
+  public void testParallelism() throws Exception {
+    System.out.println("AdaptiveChunkingTest.testParallelism-------------------");
+    AdaptiveChunking chunking = new AdaptiveChunking("Weather lookup", 500, 100, 5000, 1, 1000);
+    long ticket = chunking.acquire();
+
+    // a chunk waits for the running one
+    CountDownLatch admitted = new CountDownLatch(1);
+    Thread chunk =
+        new Thread(
+            () -> {
+              try {
+                chunking.admit(
+                    () -> {
+                      admitted.countDown();
+                      return true;
+                    });
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    chunk.start();
+    assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+    chunking.release(ticket, FAST, true);
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+    chunk.join();
+    assertEquals(700, chunking.getChunkSize());
+
+    // failed chunks
+    assertFalse(chunking.admit(() -> false));
+    assertEquals(350, chunking.getChunkSize());
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.Test;
+
+public class ConnectionPoolStatisticsTest {
+
+  @Test
+  public void testStatistics() {
+    System.out.println("ConnectionPoolStatisticsTest.testStatistics------------");
+    ConnectionPoolStatistics statistics = new ConnectionPoolStatistics(4);
+    assertNull(statistics.drainStatistics());
+
+    IMetricsTracker tracker = statistics.create("test", null);
+    tracker.recordConnectionAcquiredNanos(1_000_000);
+    tracker.recordConnectionAcquiredNanos(3_000_000);
+    tracker.recordConnectionUsageMillis(10);
+    tracker.recordConnectionAcquiredNanos(2_000_000);
+    tracker.recordConnectionTimeout();
+    assertEquals(
+        "Connection pool: 3 connections acquired after "
+            + String.format("%.1f", 2.0)
+            + "ms on average (at most 3ms), at most 2 of 4 in use, 1 timeouts",
+        statistics.drainStatistics());
+    assertNull(statistics.drainStatistics());
+
+    // connections still in use count towards the next peak
+    tracker.recordConnectionAcquiredNanos(0);
+    assertTrue(statistics.drainStatistics().contains("at most 3 of 4 in use"));
+  }
+}
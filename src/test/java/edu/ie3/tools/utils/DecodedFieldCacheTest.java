@@ -0,0 +1,160 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.ExtractorResult;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.models.persistence.FileModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DecodedFieldCacheTest {
+
+  private static final ZonedDateTime MODELRUN =
+      ZonedDateTime.of(2019, 8, 23, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+  private final CoordinateIndex coordinates =
+      new CoordinateIndex(
+          Arrays.asList(
+              new CoordinateModel(51.5, 7.5),
+              new CoordinateModel(51.5, 7.562),
+              new CoordinateModel(51.562, 7.5)));
+
+  private Path directory;
+  private String folderpath;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("fieldCache");
+    folderpath = directory.resolve("archives").toString();
+    Files.createDirectories(directory.resolve("archives"));
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    System.out.println("DecodedFieldCacheTest.testRoundTrip--------------------");
+    DecodedFieldCache cache = cache(1 << 20);
+    FileModel file = archive(Parameter.U_10M, "archive");
+    String key = cache.key(file, folderpath);
+    assertNull(cache.load(key, file, coordinates));
+
+    double[] values = {1.3074111938e-01, Double.NaN, -2.5};
+    cache.store(key, file, new ExtractorResult(Parameter.U_10M, values, true), coordinates);
+    ExtractorResult result = cache.load(key, file, coordinates);
+    assertNotNull(result);
+    assertTrue(result.isValidFile());
+    assertEquals(Parameter.U_10M, result.getParameter());
+    // values are cached as float32
+    assertEquals((float) values[0], result.getValue(0), 0);
+    assertNull(result.getValue(1)); // missing
+    assertEquals(-2.5, result.getValue(2), 0);
+    assertEquals("Field cache: 1 hits, 1 misses", cache.drainStatistics());
+    assertNull(cache.drainStatistics());
+
+    // invalid results are not cached
+    FileModel invalid = archive(Parameter.U_20M, "invalid");
+    String invalidKey = cache.key(invalid, folderpath);
+    cache.store(invalidKey, invalid, new ExtractorResult(Parameter.U_20M, null, false), coordinates);
+    assertNull(cache.load(invalidKey, invalid, coordinates));
+  }
+
+  @Test
+  public void testChangedArchiveOrCoordinates() throws IOException {
+    System.out.println("DecodedFieldCacheTest.testChangedArchiveOrCoordinates--");
+    DecodedFieldCache cache = cache(1 << 20);
+    FileModel file = archive(Parameter.U_10M, "archive");
+    assertNull(cache.key(new FileModel(MODELRUN, 0, Parameter.Z0), folderpath));
+    String key = cache.key(file, folderpath);
+    double[] values = {1, 2, 3};
+    cache.store(key, file, new ExtractorResult(Parameter.U_10M, values, true), coordinates);
+
+    // other coordinates do not fit the slots of the cached values
+    CoordinateIndex otherCoordinates =
+        new CoordinateIndex(
+            Arrays.asList(coordinates.get(1), coordinates.get(0), coordinates.get(2)));
+    assertNull(cache.load(key, file, otherCoordinates));
+    assertNull(cache.load(key, file, coordinates));
+
+    // a re-downloaded archive gets a new key and replaces the old entry
+    cache.store(key, file, new ExtractorResult(Parameter.U_10M, values, true), coordinates);
+    file = archive(Parameter.U_10M, "another archive");
+    String newKey = cache.key(file, folderpath);
+    assertFalse(key.equals(newKey));
+    assertNull(cache.load(newKey, file, coordinates));
+    cache.store(newKey, file, new ExtractorResult(Parameter.U_10M, values, true), coordinates);
+    assertNull(cache.load(key, file, coordinates));
+    assertNotNull(cache.load(newKey, file, coordinates));
+
+    // the entries of U_10M must not be confused with the ones of U_20M and vice versa
+    FileModel otherFile = archive(Parameter.U_20M, "archive");
+    String otherKey = cache.key(otherFile, folderpath);
+    cache.store(otherKey, otherFile, result(otherFile, values), coordinates);
+    assertNotNull(cache.load(newKey, file, coordinates));
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    System.out.println("DecodedFieldCacheTest.testEviction---------------------");
+    // header and three float values
+    long entrySize = 20 + 3 * Float.BYTES;
+    DecodedFieldCache cache = cache(2 * entrySize);
+    double[] values = {1, 2, 3};
+    FileModel[] files = {
+      archive(Parameter.U_10M, "first"),
+      archive(Parameter.V_10M, "second"),
+      archive(Parameter.T_2M, "third")
+    };
+    String[] keys = new String[files.length];
+    for (int i = 0; i < files.length; i++) keys[i] = cache.key(files[i], folderpath);
+
+    cache.store(keys[0], files[0], result(files[0], values), coordinates);
+    cache.store(keys[1], files[1], result(files[1], values), coordinates);
+    // the first entry was used more recently than the second one
+    Files.setLastModifiedTime(
+        directory.resolve("cache").resolve(keys[1] + ".f32"), FileTime.fromMillis(1000));
+    assertNotNull(cache.load(keys[0], files[0], coordinates));
+
+    cache.store(keys[2], files[2], result(files[2], values), coordinates);
+    assertNotNull(cache.load(keys[0], files[0], coordinates));
+    assertNull(cache.load(keys[1], files[1], coordinates));
+    assertNotNull(cache.load(keys[2], files[2], coordinates));
+  }
+
+  private DecodedFieldCache cache(long maxBytes) throws IOException {
+    return new DecodedFieldCache(directory.resolve("cache").toString(), maxBytes);
+  }
+
+  private static ExtractorResult result(FileModel file, double[] values) {
+    return new ExtractorResult(file.getParameter(), values, true);
+  }
+
+  /** @return a file of the given parameter with an archive of the given content */
+  private FileModel archive(Parameter parameter, String content) throws IOException {
+    FileModel file = new FileModel(MODELRUN, 0, parameter);
+    Files.write(file.getBZ2File(folderpath).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory.toFile());
+  }
+}
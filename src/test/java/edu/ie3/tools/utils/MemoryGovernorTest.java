@@ -0,0 +1,92 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+public class MemoryGovernorTest {
+
+  @Test
+  public void testBudget() throws Exception {
+    System.out.println("MemoryGovernorTest.testBudget--------------------------");
+    MemoryGovernor governor = new MemoryGovernor(100);
+    governor.acquire(60);
+    governor.acquire(40);
+    assertEquals(100, governor.getUsedBytes());
+
+    // a task exceeding the budget waits for the running ones
+    CountDownLatch admitted = new CountDownLatch(1);
+    Thread task =
+        new Thread(
+            () -> {
+              try {
+                governor.admit(
+                    30,
+                    () -> {
+                      admitted.countDown();
+                      return null;
+                    });
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    task.start();
+    assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+    governor.release(40);
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+    task.join();
+    assertEquals(60, governor.getUsedBytes());
+    assertEquals(
+        "Memory governor: at most 0 of 0 MB in use, 1 extractions waited",
+        governor.drainStatistics());
+    governor.release(60);
+    assertNull(governor.drainStatistics());
+  }
+
+  @Test
+  public void testTaskExceedingTheBudget() throws Exception {
+    System.out.println("MemoryGovernorTest.testTaskExceedingTheBudget----------");
+    MemoryGovernor governor = new MemoryGovernor(100);
+    // runs on its own instead of failing
+    assertEquals("done", governor.admit(1000, () -> "done"));
+    assertEquals(0, governor.getUsedBytes());
+
+    long bytesPerFile = MemoryGovernor.estimateBytesPerFile(1000, 10, true);
+    assertEquals(8 * 1000 + 2 * 1000 + 8 * 10, bytesPerFile);
+    assertEquals(2 * 27 * 4 * 10, MemoryGovernor.estimateFrameBytes(10, true));
+  }
+
+  @Test
+  public void testMBean() throws Exception {
+    System.out.println("MemoryGovernorTest.testMBean---------------------------");
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(MemoryGovernor.OBJECT_NAME);
+    new MemoryGovernor(50).registerMBean();
+    // replaces the governor of a previous run
+    MemoryGovernor governor = new MemoryGovernor(100);
+    governor.registerMBean();
+    try {
+      governor.acquire(60);
+      assertEquals(100L, server.getAttribute(name, "BudgetBytes"));
+      assertEquals(60L, server.getAttribute(name, "UsedBytes"));
+      governor.release(60);
+      assertEquals(0L, server.getAttribute(name, "UsedBytes"));
+      assertEquals(60L, server.getAttribute(name, "PeakBytes"));
+      assertEquals(0L, server.getAttribute(name, "WaitingTasks"));
+    } finally {
+      MemoryGovernor.unregisterMBean();
+    }
+    assertFalse(server.isRegistered(name));
+  }
+}
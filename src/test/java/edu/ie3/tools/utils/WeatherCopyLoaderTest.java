@@ -0,0 +1,78 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.WeatherFrame;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.models.persistence.ICONWeatherModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class WeatherCopyLoaderTest {
+
+  private static CoordinateModel coordinate(int id, double latitude, double longitude) {
+    CoordinateModel coordinate = new CoordinateModel(latitude, longitude);
+    coordinate.setId(id);
+    return coordinate;
+  }
+
+  @Test
+  public void testBinaryFormat() throws Exception {
+    System.out.println("WeatherCopyLoaderTest.testBinaryFormat-----------------");
+    CoordinateIndex coordinates =
+        new CoordinateIndex(Arrays.asList(coordinate(7, 51.5, 7.5), coordinate(8, 51.5, 7.562)));
+    // 2000-01-02 01:00 is 25 hours after the postgres epoch
+    WeatherFrame frame =
+        new WeatherFrame(ZonedDateTime.of(2000, 1, 2, 1, 0, 0, 0, ZoneId.of("UTC")), coordinates);
+    frame.set(Parameter.ALBEDO, 0, 0.25);
+    frame.set(Parameter.Z0, 1, 0.1);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    WeatherCopyLoader.write(frame, out);
+    ByteBuffer copy = ByteBuffer.wrap(out.toByteArray());
+
+    byte[] signature = new byte[11];
+    copy.get(signature);
+    assertEquals("PGCOPY\n\377\r\n\0", new String(signature, "ISO-8859-1"));
+    assertEquals(0, copy.getInt());
+    assertEquals(0, copy.getInt());
+    for (int slot = 0; slot < 2; slot++) {
+      assertEquals(29, copy.getShort());
+      assertEquals(8, copy.getInt());
+      assertEquals(25 * 3600 * 1_000_000L, copy.getLong());
+      for (Parameter parameter : ICONWeatherModel.SQL_COLUMN_ORDER) {
+        Double expected = frame.get(parameter, slot);
+        if (expected == null) assertEquals(-1, copy.getInt());
+        else {
+          assertEquals(8, copy.getInt());
+          assertEquals(expected, copy.getDouble(), 0);
+        }
+      }
+      assertEquals(4, copy.getInt());
+      assertEquals(7 + slot, copy.getInt());
+    }
+    assertEquals(-1, copy.getShort());
+    assertFalse(copy.hasRemaining());
+  }
+
+  @Test
+  public void testStagingTable() {
+    System.out.println("WeatherCopyLoaderTest.testStagingTable-----------------");
+    String statement = WeatherCopyLoader.getCreateStagingTableStatement();
+    assertTrue(statement.startsWith("CREATE TEMPORARY TABLE IF NOT EXISTS weather_staging ("));
+    assertTrue(statement.contains("datum timestamp without time zone, alb_rad double precision"));
+    assertTrue(statement.endsWith("z0 double precision, coordinate_id integer) ON COMMIT DROP"));
+  }
+}
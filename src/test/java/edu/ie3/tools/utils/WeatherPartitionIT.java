@@ -0,0 +1,177 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.Main;
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.WeatherFrame;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.commons.io.FileUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Migrates the weather table to monthly partitions with sql/weather_partitioned.sql and persists
+ * timesteps of two months into it with all upsert methods
+ */
+public class WeatherPartitionIT {
+
+  static final String sqlPath =
+      String.join(File.separator, System.getProperty("user.dir"), "src", "%s", "resources", "sql")
+          + File.separator;
+
+  static final int numberOfCoordinates = 1000;
+
+  @ClassRule
+  public static final PostgreSQLContainer postgres =
+      new PostgreSQLContainer("postgres:11.4-alpine").withDatabaseName("test");
+
+  private static DatabaseController dbController;
+  private static CoordinateIndex coordinates;
+
+  // one row persisted before the migration
+  private static final ZonedDateTime migratedDate =
+      ZonedDateTime.of(2019, 7, 31, 23, 0, 0, 0, ZoneId.of("UTC"));
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    postgres.start();
+    Main.connectionUrl = postgres.getJdbcUrl();
+    Main.databaseUser = postgres.getUsername();
+    Main.databasePassword = postgres.getPassword();
+    Main.partitionedWeather = true;
+
+    String initDatabase =
+        FileUtils.readFileToString(
+            new File(String.format(sqlPath, "test") + "initDatabase.sql"), StandardCharsets.UTF_8);
+    String migration =
+        FileUtils.readFileToString(
+            new File(String.format(sqlPath, "main") + "weather_partitioned.sql"),
+            StandardCharsets.UTF_8);
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement()) {
+      statement.execute(initDatabase);
+      statement.execute(
+          "INSERT INTO icon.icon_coordinates (id, latitude, longitude, coordinate_type) "
+              + "SELECT id, 45 + (id / 250) * 0.0625, 4 + (id % 250) * 0.0625, 'ICON' "
+              + "FROM generate_series(1, "
+              + numberOfCoordinates
+              + ") id;");
+      statement.execute(
+          "INSERT INTO icon.weather (datum, u_10m, coordinate_id) VALUES ('"
+              + migratedDate.toLocalDateTime()
+              + "', 1.5, 1);");
+      statement.execute(migration);
+    }
+
+    List<CoordinateModel> models = new ArrayList<>();
+    for (int id = 1; id <= numberOfCoordinates; id++) {
+      CoordinateModel coordinate =
+          new CoordinateModel(45 + (id / 250) * 0.0625, 4 + (id % 250) * 0.0625);
+      coordinate.setId(id);
+      models.add(coordinate);
+    }
+    coordinates = new CoordinateIndex(models);
+
+    Properties properties = new Properties();
+    properties.setProperty("javax.persistence.jdbc.url", Main.connectionUrl);
+    properties.setProperty("javax.persistence.jdbc.user", Main.databaseUser);
+    properties.setProperty("javax.persistence.jdbc.password", Main.databasePassword);
+    dbController =
+        new DatabaseController(ConfigurationParameters.PERSISTENCE_UNIT_NAME, properties);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    Main.partitionedWeather = false;
+    Main.upsertMethod = DatabaseController.UPSERT_INSERT;
+    Main.serverSideInterpolation = false;
+    if (dbController != null) dbController.shutdown();
+    postgres.stop();
+  }
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        Main.connectionUrl, Main.databaseUser, Main.databasePassword);
+  }
+
+  private static int count(String sql) throws SQLException {
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(sql)) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  /** @return number of rows of the given partition */
+  private static int countPartition(YearMonth month) throws SQLException {
+    return count(
+        "SELECT count(*) FROM icon." + WeatherPartitionManager.getPartitionName(month) + ";");
+  }
+
+  private static WeatherFrame frame(ZonedDateTime date, double value) {
+    WeatherFrame frame = new WeatherFrame(date, coordinates);
+    for (int slot = 0; slot < frame.size(); slot++) frame.set(Parameter.U_10M, slot, value);
+    return frame;
+  }
+
+  @Test
+  public void testPartitionedUpserts() throws SQLException {
+    System.out.println("WeatherPartitionIT.testPartitionedUpserts--------------");
+    assertEquals(1, countPartition(YearMonth.of(2019, 7)));
+
+    ZonedDateTime august = ZonedDateTime.of(2019, 8, 31, 22, 0, 0, 0, ZoneId.of("UTC"));
+    List<String> upsertMethods = DatabaseController.UPSERT_METHODS;
+    for (int i = 0; i < upsertMethods.size(); i++) {
+      Main.upsertMethod = upsertMethods.get(i);
+      // the timesteps of a model run cross the end of the month
+      ZonedDateTime date = august.plusHours(i);
+      dbController.ensureWeatherPartitions(date);
+      dbController.jdbcUpsert(frame(date, 2.0));
+
+      Main.serverSideInterpolation = true;
+      dbController.jdbcUpsert(frame(date, 4.0));
+      Main.serverSideInterpolation = false;
+
+      WeatherFrame persisted = dbController.jdbcFindWeather(coordinates, date);
+      for (int slot = 0; slot < persisted.size(); slot++)
+        assertEquals(
+            2.0 * (1 - Main.interpolationRatio) + 4.0 * Main.interpolationRatio,
+            persisted.getDouble(Parameter.U_10M, slot),
+            0);
+    }
+    assertEquals(2 * numberOfCoordinates, countPartition(YearMonth.of(2019, 8)));
+    assertEquals(numberOfCoordinates, countPartition(YearMonth.of(2019, 9)));
+    // created ahead of time
+    assertEquals(0, countPartition(YearMonth.of(2019, 10)));
+
+    // past months can be detached
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement()) {
+      statement.execute(
+          WeatherPartitionManager.getDetachPartitionStatement("icon", YearMonth.of(2019, 7)));
+    }
+    assertEquals(3 * numberOfCoordinates, count("SELECT count(*) FROM icon.weather;"));
+    assertEquals(1, countPartition(YearMonth.of(2019, 7)));
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import java.time.YearMonth;
+import org.junit.Test;
+
+public class WeatherPartitionManagerTest {
+
+  @Test
+  public void testStatements() {
+    System.out.println("WeatherPartitionManagerTest.testStatements-------------");
+    YearMonth december = YearMonth.of(2019, 12);
+    assertEquals("weather_y2019m12", WeatherPartitionManager.getPartitionName(december));
+    assertEquals(
+        "CREATE TABLE IF NOT EXISTS icon.weather_y2019m12 PARTITION OF icon.weather "
+            + "FOR VALUES FROM ('2019-12-01T00:00') TO ('2020-01-01T00:00');",
+        WeatherPartitionManager.getCreatePartitionStatement("icon", december));
+    assertEquals(
+        "ALTER TABLE icon.weather DETACH PARTITION icon.weather_y2019m12;",
+        WeatherPartitionManager.getDetachPartitionStatement("icon", december));
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * © 2026. TU Dortmund University,
+ * Institute of Energy Systems, Energy Efficiency and Energy Economics,
+ * Research group Distribution grid planning and operation
+ */
+
+package edu.ie3.tools.utils;
+
+import static org.junit.Assert.*;
+
+import edu.ie3.tools.Main;
+import edu.ie3.tools.models.CoordinateIndex;
+import edu.ie3.tools.models.WeatherFrame;
+import edu.ie3.tools.models.persistence.CoordinateModel;
+import edu.ie3.tools.utils.enums.Parameter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TimeZone;
+import org.apache.commons.io.FileUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Benchmarks the upsert methods of the {@link DatabaseController} against each other with a
+ * timestep of the size of the German ICON-EU window and checks that they persist the same values
+ */
+public class WeatherUpsertIT {
+
+  static final String resourcesPath =
+      System.getProperty("user.dir")
+          + File.separator
+          + "src"
+          + File.separator
+          + "test"
+          + File.separator
+          + "resources"
+          + File.separator;
+
+  static final int numberOfCoordinates = 44885;
+  static final int repetitions = 3;
+
+  @ClassRule
+  public static final PostgreSQLContainer postgres =
+      new PostgreSQLContainer("postgres:11.4-alpine").withDatabaseName("test");
+
+  private static DatabaseController dbController;
+  private static CoordinateIndex coordinates;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    postgres.start();
+    Main.connectionUrl = postgres.getJdbcUrl();
+    Main.databaseUser = postgres.getUsername();
+    Main.databasePassword = postgres.getPassword();
+
+    File file = new File(resourcesPath + "sql" + File.separator + "initDatabase.sql");
+    String initDatabase = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement()) {
+      statement.execute(initDatabase);
+      // synthetic coordinates on a 0.0625° grid, as the real ones are not needed here
+      statement.execute(
+          "INSERT INTO icon.icon_coordinates (id, latitude, longitude, coordinate_type) "
+              + "SELECT id, 45 + (id / 250) * 0.0625, 4 + (id % 250) * 0.0625, 'ICON' "
+              + "FROM generate_series(1, "
+              + numberOfCoordinates
+              + ") id;");
+    }
+
+    List<CoordinateModel> models = new ArrayList<>();
+    for (int id = 1; id <= numberOfCoordinates; id++) {
+      CoordinateModel coordinate =
+          new CoordinateModel(45 + (id / 250) * 0.0625, 4 + (id % 250) * 0.0625);
+      coordinate.setId(id);
+      models.add(coordinate);
+    }
+    coordinates = new CoordinateIndex(models);
+
+    Properties properties = new Properties();
+    properties.setProperty("javax.persistence.jdbc.url", Main.connectionUrl);
+    properties.setProperty("javax.persistence.jdbc.user", Main.databaseUser);
+    properties.setProperty("javax.persistence.jdbc.password", Main.databasePassword);
+    dbController =
+        new DatabaseController(ConfigurationParameters.PERSISTENCE_UNIT_NAME, properties);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    Main.upsertMethod = DatabaseController.UPSERT_INSERT;
+    if (dbController != null) dbController.shutdown();
+    postgres.stop();
+  }
+
+  private static Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        Main.connectionUrl, Main.databaseUser, Main.databasePassword);
+  }
+
+  /** @return a frame of random values, some of which are missing */
+  private static WeatherFrame randomFrame(ZonedDateTime date, long seed) {
+    Random random = new Random(seed);
+    WeatherFrame frame = new WeatherFrame(date, coordinates);
+    for (Parameter parameter : Parameter.values())
+      for (int slot = 0; slot < frame.size(); slot++)
+        if (random.nextInt(20) > 0) frame.set(parameter, slot, random.nextGaussian() * 100);
+    return frame;
+  }
+
+  /** Upserts the given frames one after another and prints the duration of each */
+  private static void benchmark(String upsertMethod, WeatherFrame... frames) {
+    Main.upsertMethod = upsertMethod;
+    for (WeatherFrame frame : frames) {
+      long tic = System.nanoTime();
+      dbController.jdbcUpsert(frame);
+      long toc = System.nanoTime();
+      System.out.println(
+          "WeatherUpsertIT: "
+              + upsertMethod
+              + " of "
+              + frame.size()
+              + " coordinates took "
+              + (toc - tic) / 1_000_000
+              + "ms");
+    }
+  }
+
+  private static int count(String sql) throws SQLException {
+    try (Connection connection = connect();
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(sql)) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  /** Asserts that all coordinates have a row at both dates with the same values */
+  private static void assertSameWeather(ZonedDateTime expectedDate, ZonedDateTime actualDate)
+      throws SQLException {
+    for (ZonedDateTime date : Arrays.asList(expectedDate, actualDate))
+      assertEquals(
+          numberOfCoordinates,
+          count(
+              "SELECT count(*) FROM icon.weather WHERE datum = '"
+                  + date.toLocalDateTime()
+                  + "';"));
+
+    StringBuilder distinct = new StringBuilder();
+    for (Parameter parameter : Parameter.values()) {
+      String column = parameter.toString().toLowerCase();
+      distinct.append(distinct.length() == 0 ? "" : " OR ");
+      distinct.append("e.").append(column).append(" IS DISTINCT FROM a.").append(column);
+    }
+    assertEquals(
+        0,
+        count(
+            "SELECT count(*) FROM icon.weather e JOIN icon.weather a "
+                + "ON e.coordinate_id = a.coordinate_id "
+                + "WHERE e.datum = '"
+                + expectedDate.toLocalDateTime()
+                + "' AND a.datum = '"
+                + actualDate.toLocalDateTime()
+                + "' AND ("
+                + distinct
+                + ");"));
+  }
+
+  @Test
+  public void testUpsertMethods() throws SQLException {
+    System.out.println("WeatherUpsertIT.testUpsertMethods----------------------");
+    ZonedDateTime insertDate = ZonedDateTime.of(2019, 8, 23, 0, 0, 0, 0, ZoneId.of("UTC"));
+    ZonedDateTime batchDate = insertDate.plusHours(1);
+    ZonedDateTime copyDate = insertDate.plusHours(2);
+
+    // the first upsert inserts, all further ones update the rows of the date
+    for (int i = 0; i < repetitions; i++) {
+      benchmark(DatabaseController.UPSERT_INSERT, randomFrame(insertDate, i));
+      benchmark(DatabaseController.UPSERT_BATCH, randomFrame(batchDate, i));
+      benchmark(DatabaseController.UPSERT_COPY, randomFrame(copyDate, i));
+    }
+
+    assertSameWeather(insertDate, batchDate);
+    assertSameWeather(insertDate, copyDate);
+  }
+
+  @Test
+  public void testServerSideInterpolation() throws SQLException {
+    System.out.println("WeatherUpsertIT.testServerSideInterpolation------------");
+    ZonedDateTime javaDate = ZonedDateTime.of(2019, 8, 24, 0, 0, 0, 0, ZoneId.of("UTC"));
+    List<String> upsertMethods = DatabaseController.UPSERT_METHODS;
+
+    // interpolation after reading back the persisted weather
+    benchmark(DatabaseController.UPSERT_INSERT, randomFrame(javaDate, 10));
+    long tic = System.nanoTime();
+    WeatherFrame frame = randomFrame(javaDate, 11);
+    frame.interpolate(dbController.jdbcFindWeather(coordinates, javaDate), Main.interpolationRatio);
+    dbController.jdbcUpsert(frame);
+    long toc = System.nanoTime();
+    System.out.println(
+        "WeatherUpsertIT: lookup and interpolation in Java took " + (toc - tic) / 1_000_000 + "ms");
+
+    try {
+      for (int i = 0; i < upsertMethods.size(); i++) {
+        ZonedDateTime serverDate = javaDate.plusHours(i + 1);
+        Main.serverSideInterpolation = false;
+        benchmark(DatabaseController.UPSERT_INSERT, randomFrame(serverDate, 10));
+        Main.serverSideInterpolation = true;
+        benchmark(upsertMethods.get(i), randomFrame(serverDate, 11));
+        assertSameWeather(javaDate, serverDate);
+      }
+    } finally {
+      Main.serverSideInterpolation = false;
+    }
+  }
+
+  @Test
+  public void testUpsertInDaylightSavingGap() throws SQLException {
+    System.out.println("WeatherUpsertIT.testUpsertInDaylightSavingGap----------");
+    // 02:00 does not exist in Berlin on that day, but all dates are UTC
+    ZonedDateTime gapDate = ZonedDateTime.of(2024, 3, 31, 2, 0, 0, 0, ZoneId.of("UTC"));
+    ZonedDateTime expectedDate = gapDate.minusDays(1);
+    TimeZone defaultZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+    try {
+      benchmark(DatabaseController.UPSERT_INSERT, randomFrame(expectedDate, 20));
+      for (String upsertMethod : DatabaseController.UPSERT_METHODS) {
+        try (Connection connection = connect();
+            Statement statement = connection.createStatement()) {
+          statement.execute("DELETE FROM icon.weather WHERE datum >= '2024-03-31';");
+        }
+        benchmark(upsertMethod, randomFrame(gapDate, 20));
+        assertSameWeather(expectedDate, gapDate);
+        assertEquals(
+            0,
+            count(
+                "SELECT count(*) FROM icon.weather WHERE datum = '"
+                    + gapDate.plusHours(1).toLocalDateTime()
+                    + "';"));
+
+        // the persisted weather is looked up at the same date
+        WeatherFrame persisted = dbController.jdbcFindWeather(coordinates, gapDate);
+        WeatherFrame expected = randomFrame(gapDate, 20);
+        for (int slot = 0; slot < expected.size(); slot++)
+          assertEquals(
+              expected.get(Parameter.U_10M, slot), persisted.get(Parameter.U_10M, slot));
+      }
+    } finally {
+      TimeZone.setDefault(defaultZone);
+    }
+  }
+
+  @Test
+  public void testFailedUpsertIsRolledBack() throws SQLException {
+    System.out.println("WeatherUpsertIT.testFailedUpsertIsRolledBack-----------");
+    ZonedDateTime date = ZonedDateTime.of(2019, 8, 25, 0, 0, 0, 0, ZoneId.of("UTC"));
+    // the last coordinate violates the foreign key, after many chunks have been upserted
+    List<CoordinateModel> models = new ArrayList<>(coordinates.size() + 1);
+    for (int slot = 0; slot < coordinates.size(); slot++) models.add(coordinates.get(slot));
+    CoordinateModel unknown = new CoordinateModel(60, 20);
+    unknown.setId(numberOfCoordinates + 1);
+    models.add(unknown);
+    WeatherFrame frame = new WeatherFrame(date, new CoordinateIndex(models));
+    for (int slot = 0; slot < frame.size(); slot++) frame.set(Parameter.U_10M, slot, 1.0);
+
+    for (String upsertMethod : DatabaseController.UPSERT_METHODS) {
+      Main.upsertMethod = upsertMethod;
+      assertFalse(dbController.jdbcUpsert(frame));
+      assertEquals(
+          0,
+          count(
+              "SELECT count(*) FROM icon.weather WHERE datum = '"
+                  + date.toLocalDateTime()
+                  + "';"));
+    }
+  }
+}